@@ -0,0 +1,96 @@
+package br.com.eucaria.benchmark;
+
+import br.com.eucaria.model.Board;
+import br.com.eucaria.model.MicrobeColorEnum;
+import br.com.eucaria.model.MicrobeInfo;
+import jade.core.AID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({"7", "64", "512"})
+    public int size;
+
+    @Param({"0.25", "0.75"})
+    public double occupancy;
+
+    private Board board;
+    private AID[] agents;
+    private int[] cells;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        List<AID> placed = new ArrayList<>();
+        board = BoardFixtures.randomBoard(size, occupancy, 42, placed);
+        if (placed.isEmpty()) {
+            placed.add(BoardFixtures.aid(0));
+            board.placeMicrobe(placed.get(0), 0, 0, MicrobeColorEnum.RED);
+        }
+        agents = new AID[SAMPLES];
+        int[] picks = BoardFixtures.randomIndices(placed.size(), SAMPLES, 7);
+        for (int i = 0; i < SAMPLES; i++) {
+            agents[i] = placed.get(picks[i]);
+        }
+        cells = BoardFixtures.randomCells(size, SAMPLES, 13);
+    }
+
+    private int nextCell() {
+        return cells[cursor++ & (SAMPLES - 1)];
+    }
+
+    private AID nextAgent() {
+        return agents[cursor++ & (SAMPLES - 1)];
+    }
+
+    @Benchmark
+    public List<AID> applyInfection() {
+        int cell = nextCell();
+        // Alterna a cor atacante para o tabuleiro não convergir para uma só cor.
+        MicrobeColorEnum attacker = (cursor & 1) == 0 ? MicrobeColorEnum.RED : MicrobeColorEnum.BLUE;
+        return board.applyInfection(cell % size, cell / size, attacker);
+    }
+
+    @Benchmark
+    public int countPotentialInfections() {
+        int cell = nextCell();
+        return board.countPotentialInfections(cell % size, cell / size, MicrobeColorEnum.RED);
+    }
+
+    @Benchmark
+    public Board getLocalPerception() {
+        return board.getLocalPerception(nextAgent());
+    }
+
+    @Benchmark
+    public MicrobeInfo getMicrobeInfo() {
+        return board.getMicrobeInfo(nextAgent());
+    }
+
+    @Benchmark
+    public Board copyConstructor() {
+        return new Board(board);
+    }
+}
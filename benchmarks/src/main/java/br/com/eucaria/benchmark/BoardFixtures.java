@@ -0,0 +1,55 @@
+package br.com.eucaria.benchmark;
+
+import br.com.eucaria.model.Board;
+import br.com.eucaria.model.MicrobeColorEnum;
+import jade.core.AID;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+final class BoardFixtures {
+
+    private BoardFixtures() {
+    }
+
+    // Fora de uma plataforma o JADE só aceita AIDs com nome global.
+    static AID aid(int sequence) {
+        return new AID("microbe-" + sequence + "@benchmark", AID.ISGUID);
+    }
+
+    static Board randomBoard(int size, double occupancy, long seed, List<AID> placed) {
+        Board board = new Board(size, size);
+        SplittableRandom random = new SplittableRandom(seed);
+        int sequence = 0;
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                if (random.nextDouble() < occupancy) {
+                    AID aid = aid(sequence++);
+                    board.placeMicrobe(aid, x, y, random.nextBoolean() ? MicrobeColorEnum.RED : MicrobeColorEnum.BLUE);
+                    placed.add(aid);
+                }
+            }
+        }
+        return board;
+    }
+
+    static Board randomBoard(int size, double occupancy, long seed) {
+        return randomBoard(size, occupancy, seed, new ArrayList<>());
+    }
+
+    /** Casas sorteadas de um tabuleiro {@code size}x{@code size}, como índices em ordem de linha. */
+    static int[] randomCells(int size, int count, long seed) {
+        return randomIndices(size * size, count, seed);
+    }
+
+    /** {@code count} índices sorteados em {@code [0, bound)}. */
+    static int[] randomIndices(int bound, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] indices = new int[count];
+        for (int i = 0; i < count; i++) {
+            indices[i] = random.nextInt(bound);
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.eucaria.benchmark;
+
+import br.com.eucaria.agent.MicrobeBrain;
+import br.com.eucaria.model.Board;
+import br.com.eucaria.model.MicrobeColorEnum;
+import br.com.eucaria.model.Move;
+import br.com.eucaria.model.MoveTypeEnum;
+import br.com.eucaria.strategy.GreedyMoveStrategy;
+import br.com.eucaria.strategy.RandomMoveStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecisionBenchmark {
+
+    @Param({"7", "64"})
+    public int size;
+
+    @Param({"0.25", "0.75"})
+    public double occupancy;
+
+    private Board board;
+    private MicrobeBrain brain;
+    private List<Move> copyMoves;
+    private List<Move> jumpMoves;
+
+    @Setup
+    public void setup() {
+        board = BoardFixtures.randomBoard(size, occupancy, 42);
+        int center = size / 2;
+        board.placeMicrobe(BoardFixtures.aid(-1), center, center, MicrobeColorEnum.RED);
+        brain = new MicrobeBrain("benchmark", center, center, MicrobeColorEnum.RED);
+        copyMoves = brain.findPossibleMoves(board, MoveTypeEnum.COPY);
+        jumpMoves = brain.findPossibleMoves(board, MoveTypeEnum.JUMP);
+    }
+
+    @Benchmark
+    public List<Move> findPossibleCopyMoves() {
+        return brain.findPossibleMoves(board, MoveTypeEnum.COPY);
+    }
+
+    @Benchmark
+    public List<Move> findPossibleJumpMoves() {
+        return brain.findPossibleMoves(board, MoveTypeEnum.JUMP);
+    }
+
+    @Benchmark
+    public Move findBestCopyMove() {
+        return brain.findBestInfectionMove(copyMoves, board);
+    }
+
+    @Benchmark
+    public Move findBestJumpMove() {
+        return brain.findBestInfectionMove(jumpMoves, board);
+    }
+
+    @Benchmark
+    public Move listBasedCopyMove() {
+        return brain.findBestInfectionMove(brain.findPossibleMoves(board, MoveTypeEnum.COPY), board);
+    }
+
+    @Benchmark
+    public Move greedyCopyMove() {
+        return GreedyMoveStrategy.INSTANCE.chooseMove(brain, board);
+    }
+
+    @Benchmark
+    public Move randomMove() {
+        return RandomMoveStrategy.INSTANCE.chooseMove(brain, board);
+    }
+}
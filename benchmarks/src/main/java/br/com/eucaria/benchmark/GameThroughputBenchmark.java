@@ -0,0 +1,37 @@
+package br.com.eucaria.benchmark;
+
+import br.com.eucaria.engine.HeadlessSimulation;
+import br.com.eucaria.engine.SimulationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameThroughputBenchmark {
+
+    @Param({"7", "16", "32"})
+    public int size;
+
+    private long seed;
+
+    @Benchmark
+    public SimulationResult fullGame() {
+        return new HeadlessSimulation(1, size, size, seed++)
+                .placeInitialMicrobes()
+                .run();
+    }
+}
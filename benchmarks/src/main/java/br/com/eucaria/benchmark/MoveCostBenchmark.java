@@ -0,0 +1,92 @@
+package br.com.eucaria.benchmark;
+
+import br.com.eucaria.model.Board;
+import br.com.eucaria.model.MicrobeColorEnum;
+import br.com.eucaria.model.MicrobeInfo;
+import jade.core.AID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do trabalho que o manager faz para aceitar um movimento: localizar o
+ * agente, movê-lo, aplicar a infecção e localizar cada infectado. Com o índice
+ * de posições o custo por movimento deve ficar estável ao crescer o tabuleiro.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveCostBenchmark {
+
+    @Param({"7", "64", "256", "512"})
+    public int size;
+
+    private Board board;
+    private final List<int[]> movers = new ArrayList<>();
+    private final List<AID> moverAIDs = new ArrayList<>();
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        List<AID> placed = new ArrayList<>();
+        board = BoardFixtures.randomBoard(size, 0.5, 42, placed);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int attempt = 0; attempt < 4096 && movers.size() < 256; attempt++) {
+            AID aid = placed.get(random.nextInt(placed.size()));
+            MicrobeInfo info = board.getMicrobeInfo(aid);
+            int toX = info.x() + random.nextInt(3) - 1;
+            int toY = info.y() + random.nextInt(3) - 1;
+            if (!board.isOutOfBounds(toX, toY) && board.getMicrobeAt(toX, toY) == null && !moverAIDs.contains(aid)) {
+                movers.add(new int[]{toX, toY});
+                moverAIDs.add(aid);
+            }
+        }
+    }
+
+    @Benchmark
+    public int acceptMove() {
+        int k = cursor++ % movers.size();
+        AID aid = moverAIDs.get(k);
+        int[] target = movers.get(k);
+
+        MicrobeInfo current = board.getMicrobeInfo(aid);
+        if (board.getMicrobeAt(target[0], target[1]) != null) {
+            return 0;
+        }
+        board.removeMicrobe(current.x(), current.y());
+        board.placeMicrobe(aid, target[0], target[1], current.color());
+
+        int found = 0;
+        MicrobeColorEnum color = current.color();
+        for (AID infected : board.applyInfection(target[0], target[1], color)) {
+            if (board.getMicrobeInfo(infected) != null) found++;
+        }
+        // Na próxima vez o mesmo agente volta para a casa de origem.
+        target[0] = current.x();
+        target[1] = current.y();
+        return found;
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkBoard() {
+        board.checkConsistency();
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.eucaria.benchmark;
+
+import br.com.eucaria.engine.PartitionedSimulation;
+import br.com.eucaria.engine.SimulationResult;
+import br.com.eucaria.model.MicrobeColorEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alguns ciclos de uma única partida em tabuleiro grande, com as faixas
+ * divididas entre {@code workers} threads. Um quarto das casas começa ocupado,
+ * com as cores sorteadas; o resultado é o mesmo para qualquer número de
+ * workers, só o tempo muda.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PartitionedBenchmark {
+
+    private static final int ROUNDS = 3;
+
+    @Param({"1024"})
+    public int size;
+
+    @Param({"1", "2", "4", "8"})
+    public int workers;
+
+    private PartitionedSimulation simulation;
+
+    /** Montar a população custa mais que os ciclos e fica fora da medida. */
+    @Setup(Level.Invocation)
+    public void populate() {
+        simulation = new PartitionedSimulation(1, size, size, 42, workers).withRoundLimit(ROUNDS);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                if (random.nextInt(4) == 0) {
+                    simulation.addMicrobe(x, y, random.nextBoolean() ? MicrobeColorEnum.RED : MicrobeColorEnum.BLUE);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public SimulationResult rounds() {
+        return simulation.run();
+    }
+}
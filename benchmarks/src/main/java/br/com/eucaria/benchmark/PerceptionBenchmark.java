@@ -0,0 +1,86 @@
+package br.com.eucaria.benchmark;
+
+import br.com.eucaria.model.Board;
+import br.com.eucaria.model.Perception;
+import br.com.eucaria.model.PerceptionCodec;
+import jade.core.AID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o caminho antigo de uma percepção (Board completo serializado com
+ * Java serialization, como em {@code setContentObject}) com a
+ * {@link Perception} compacta e seu codec. Rode com {@code -prof gc} para ver
+ * bytes alocados por percepção; o tamanho do payload é impresso no setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PerceptionBenchmark {
+
+    @Param({"7", "64", "512"})
+    public int size;
+
+    private Board board;
+    private AID[] agents;
+    private int cursor;
+
+    @Setup
+    public void setup() throws IOException, ClassNotFoundException {
+        List<AID> placed = new ArrayList<>();
+        board = BoardFixtures.randomBoard(size, 0.5, 42, placed);
+        agents = placed.subList(0, Math.min(256, placed.size())).toArray(new AID[0]);
+
+        byte[] serialized = serialize(board.getLocalPerception(agents[0]));
+        byte[] compact = PerceptionCodec.encode(board.perceive(agents[0]));
+        System.out.printf("%nPayload por percepção em %dx%d: Board serializado = %d bytes, Perception = %d bytes%n",
+                size, size, serialized.length, compact.length);
+    }
+
+    @Benchmark
+    public Board serializedBoardRoundTrip() throws IOException, ClassNotFoundException {
+        Board localView = board.getLocalPerception(agents[cursor++ % agents.length]);
+        return deserialize(serialize(localView));
+    }
+
+    @Benchmark
+    public Perception compactPerceptionRoundTrip() {
+        Perception localView = board.perceive(agents[cursor++ % agents.length]);
+        return PerceptionCodec.decode(PerceptionCodec.encode(localView));
+    }
+
+    private static byte[] serialize(Board localView) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(localView);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Board deserialize(byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return (Board) in.readObject();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.eucaria.benchmark;
+
+import br.com.eucaria.agent.MicrobeBrain;
+import br.com.eucaria.model.Board;
+import br.com.eucaria.model.MicrobeColorEnum;
+import br.com.eucaria.model.Move;
+import br.com.eucaria.strategy.AlphaBetaStrategy;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decisões da busca alfa-beta a frio (tabela de transposição limpa a cada
+ * decisão) em posições sorteadas no meio da partida. O contador {@code nodes}
+ * sai como nós por segundo; {@code threads} é o paralelismo do pool.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final int POSITIONS = 64;
+    private static final int SIZE = 7;
+
+    @Param({"3", "4"})
+    public int depth;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private ForkJoinPool pool;
+    private AlphaBetaStrategy strategy;
+    private Board[] boards;
+    private MicrobeBrain[] brains;
+    private int next;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Nodes {
+        public long nodes;
+    }
+
+    @Setup
+    public void setup() {
+        pool = new ForkJoinPool(threads);
+        strategy = new AlphaBetaStrategy(depth, 0, pool);
+        boards = new Board[POSITIONS];
+        brains = new MicrobeBrain[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            boards[i] = BoardFixtures.randomBoard(SIZE, 0.5, i);
+            int center = SIZE / 2;
+            boards[i].placeMicrobe(BoardFixtures.aid(-1), center, center, MicrobeColorEnum.RED);
+            brains[i] = new MicrobeBrain("benchmark", center, center, MicrobeColorEnum.RED);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        strategy.clearTable();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Move decide(Nodes counter) {
+        int i = next++ & (POSITIONS - 1);
+        long before = strategy.getStats().nodes();
+        Move move = strategy.chooseMove(brains[i], boards[i]);
+        counter.nodes += strategy.getStats().nodes() - before;
+        return move;
+    }
+}
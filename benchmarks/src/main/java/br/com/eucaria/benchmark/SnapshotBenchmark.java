@@ -0,0 +1,78 @@
+package br.com.eucaria.benchmark;
+
+import br.com.eucaria.model.BitBoard;
+import br.com.eucaria.model.Board;
+import br.com.eucaria.model.MicrobeColorEnum;
+import jade.core.AID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de tirar uma foto do tabuleiro a cada jogada, depois de uma partida
+ * de {@code runLength} jogadas. A cópia completa copia AIDs e índice de
+ * posições; o snapshot da ocupação só copia as words de cor, uma vez, na
+ * jogada seguinte. Nenhum dos dois depende do tamanho da partida.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({"64", "512"})
+    public int size;
+
+    @Param({"1000", "100000"})
+    public int runLength;
+
+    private Board board;
+    private AID[] agents;
+    private int[] cells;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        List<AID> placed = new ArrayList<>();
+        board = BoardFixtures.randomBoard(size, 0.5, 42, placed);
+        agents = placed.toArray(new AID[0]);
+        cells = BoardFixtures.randomCells(size, SAMPLES, 13);
+        for (int i = 0; i < runLength; i++) {
+            move();
+        }
+    }
+
+    private void move() {
+        int cell = cells[cursor++ & (SAMPLES - 1)];
+        AID agent = agents[cursor % agents.length];
+        board.placeMicrobe(agent, cell % size, cell / size, (cursor & 1) == 0 ? MicrobeColorEnum.RED : MicrobeColorEnum.BLUE);
+    }
+
+    @Benchmark
+    public BitBoard moveThenSnapshot() {
+        move();
+        return board.snapshotCells();
+    }
+
+    @Benchmark
+    public Board moveThenCopy() {
+        move();
+        return new Board(board);
+    }
+}
@@ -0,0 +1,179 @@
+package br.com.eucaria.benchmark;
+
+import br.com.eucaria.model.Board;
+import br.com.eucaria.model.MicrobeColorEnum;
+import br.com.eucaria.transport.Envelope;
+import br.com.eucaria.transport.MessageTransport;
+import br.com.eucaria.transport.ProtocolMessage;
+import br.com.eucaria.transport.TransportEnum;
+import jade.core.AID;
+import jade.core.Agent;
+import jade.core.Profile;
+import jade.core.ProfileImpl;
+import jade.core.Runtime;
+import jade.core.behaviours.CyclicBehaviour;
+import jade.wrapper.AgentContainer;
+import jade.wrapper.AgentController;
+import jade.wrapper.ControllerException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência de uma percepção de ida e volta entre dois agentes JADE na mesma
+ * JVM: um micróbio pede a vizinhança ({@code PerceptionRequest}) e um manager
+ * responde com a {@code Perception} do tabuleiro 7x7. Cada operação é uma
+ * volta completa, medida em lotes de {@link #ROUND_TRIPS}, com os dois
+ * transportes: {@code local} (objetos em filas sem lock) e {@code acl}
+ * (mensagens ACL com a percepção codificada).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransportBenchmark {
+
+    private static final int ROUND_TRIPS = 1000;
+    private static final String MANAGER = "bench-manager";
+    private static final String MICROBE = "bench-microbe";
+
+    @Param({"local", "acl"})
+    public String transport;
+
+    private AgentContainer container;
+    private AgentController microbe;
+
+    @Setup
+    public void startPlatform() throws ControllerException {
+        TransportEnum type = TransportEnum.fromOptionName(transport);
+        Runtime runtime = Runtime.instance();
+        runtime.setCloseVM(false);
+        Profile profile = new ProfileImpl();
+        profile.setParameter(Profile.MAIN_HOST, "localhost");
+        profile.setParameter(Profile.LOCAL_PORT, "1299");
+        profile.setParameter(Profile.GUI, "false");
+        container = runtime.createMainContainer(profile);
+
+        container.acceptNewAgent(MANAGER, new ManagerStub(type)).start();
+        microbe = container.acceptNewAgent(MICROBE, new MicrobeStub(type));
+        microbe.start();
+    }
+
+    @TearDown
+    public void stopPlatform() throws ControllerException {
+        container.getPlatformController().kill();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUND_TRIPS)
+    public void perceptionRoundTrip() throws ControllerException, InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        microbe.putO2AObject(new Batch(ROUND_TRIPS, done), AgentController.ASYNC);
+        done.await();
+    }
+
+    private record Batch(int roundTrips, CountDownLatch done) {
+    }
+
+    /** Responde a cada pedido com a percepção do micróbio no centro do tabuleiro. */
+    private static final class ManagerStub extends Agent {
+        private final TransportEnum type;
+        private MessageTransport channel;
+        private Board board;
+
+        ManagerStub(TransportEnum type) {
+            this.type = type;
+        }
+
+        @Override
+        protected void setup() {
+            board = new Board();
+            board.placeMicrobe(new AID(MICROBE, AID.ISLOCALNAME), Board.SIZE / 2, Board.SIZE / 2, MicrobeColorEnum.RED);
+            CyclicBehaviour listener = new CyclicBehaviour(this) {
+                @Override
+                public void action() {
+                    for (Envelope envelope = channel.receive(); envelope != null; envelope = channel.receive()) {
+                        if (envelope.message() instanceof ProtocolMessage.PerceptionRequest request) {
+                            channel.send(envelope.sender(), new ProtocolMessage.PerceptionReply(request.microbe(), request.sequence(),
+                                    board.perceive(new AID(request.microbe(), AID.ISLOCALNAME))));
+                        }
+                    }
+                    block();
+                }
+            };
+            channel = type.connect(this, listener);
+            addBehaviour(listener);
+        }
+
+        @Override
+        protected void takeDown() {
+            channel.close();
+        }
+    }
+
+    /** Recebe um lote pelo canal O2A e faz as voltas uma depois da outra. */
+    private static final class MicrobeStub extends Agent {
+        private final TransportEnum type;
+        private MessageTransport channel;
+        private Batch batch;
+        private int remaining;
+        private long sequence;
+
+        MicrobeStub(TransportEnum type) {
+            this.type = type;
+            // Já no construtor: o primeiro lote pode chegar antes do setup().
+            setEnabledO2ACommunication(true, 0);
+        }
+
+        @Override
+        protected void setup() {
+            CyclicBehaviour listener = new CyclicBehaviour(this) {
+                @Override
+                public void action() {
+                    if (batch == null && getO2AObject() instanceof Batch next) {
+                        batch = next;
+                        remaining = next.roundTrips();
+                        request();
+                    }
+                    for (Envelope envelope = channel.receive(); envelope != null; envelope = channel.receive()) {
+                        if (envelope.message() instanceof ProtocolMessage.PerceptionReply reply && reply.sequence() == sequence) {
+                            if (--remaining > 0) {
+                                request();
+                            } else {
+                                batch.done().countDown();
+                                batch = null;
+                            }
+                        }
+                    }
+                    block();
+                }
+            };
+            channel = type.connect(this, listener);
+            addBehaviour(listener);
+        }
+
+        private void request() {
+            channel.send(MANAGER, new ProtocolMessage.PerceptionRequest(MICROBE, ++sequence));
+        }
+
+        @Override
+        protected void takeDown() {
+            channel.close();
+        }
+    }
+}
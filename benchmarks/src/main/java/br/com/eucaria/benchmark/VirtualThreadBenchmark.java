@@ -0,0 +1,55 @@
+package br.com.eucaria.benchmark;
+
+import br.com.eucaria.engine.SimulationResult;
+import br.com.eucaria.engine.VirtualThreadSimulation;
+import br.com.eucaria.model.MicrobeColorEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Um ator por micróbio em virtual threads: cria a população inteira, joga
+ * alguns ciclos e encerra todas as threads. O tabuleiro tem o dobro de casas
+ * da população, com as cores sorteadas.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    private static final int ROUNDS = 3;
+
+    @Param({"1000", "100000"})
+    public int population;
+
+    private long seed;
+
+    @Benchmark
+    public SimulationResult rounds() throws InterruptedException {
+        int size = (int) Math.ceil(Math.sqrt(2.0 * population));
+        VirtualThreadSimulation simulation = new VirtualThreadSimulation(1, size, size, seed).withRoundLimit(ROUNDS);
+        SplittableRandom random = new SplittableRandom(seed++);
+        for (int placed = 0; placed < population; ) {
+            int x = random.nextInt(size);
+            int y = random.nextInt(size);
+            if (simulation.getBoard().isEmpty(x, y)) {
+                simulation.addMicrobe(x, y, random.nextBoolean() ? MicrobeColorEnum.RED : MicrobeColorEnum.BLUE);
+                placed++;
+            }
+        }
+        return simulation.run();
+    }
+}
@@ -0,0 +1,316 @@
+package br.com.eucaria;
+
+import br.com.eucaria.agent.SchedulingModeEnum;
+import br.com.eucaria.agent.TurnOrderEnum;
+import br.com.eucaria.history.HistoryFormatEnum;
+import br.com.eucaria.metrics.SimulationMetrics;
+import br.com.eucaria.model.Board;
+import br.com.eucaria.strategy.StrategyProfile;
+import br.com.eucaria.transport.TransportEnum;
+
+public class LaunchOptions {
+
+    public static final int DEFAULT_NUMBER_OF_SIMULATIONS = 5;
+    public static final int DEFAULT_COLONIES = 2;
+    public static final int DEFAULT_STRIPS = 4;
+    public static final int DEFAULT_PORT = 1200;
+    public static final long DEFAULT_METRICS_INTERVAL_MS = 1000;
+    public static final int DEFAULT_CONSOLE_FPS = 10;
+
+    private boolean headless = false;
+    private boolean virtualThreads = false;
+    private boolean partitioned = false;
+    private boolean distributed = false;
+    private int strips = DEFAULT_STRIPS;
+    private boolean remoteStrips = false;
+    private int port = DEFAULT_PORT;
+    private String joinAddress = null;
+    private String metricsPath = null;
+    private long metricsIntervalMillis = DEFAULT_METRICS_INTERVAL_MS;
+    private int consoleFps = DEFAULT_CONSOLE_FPS;
+    private boolean quiet = false;
+    private int runs = DEFAULT_NUMBER_OF_SIMULATIONS;
+    private int boardSize = Board.SIZE;
+    private long seed = System.nanoTime();
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private String reportPath = null;
+    private Long replaySeed = null;
+    private Long expectedTrace = null;
+    private SchedulingModeEnum schedulingMode = SchedulingModeEnum.REALTIME;
+    private TurnOrderEnum turnOrder = TurnOrderEnum.RANDOM_PERMUTATION;
+    private HistoryFormatEnum historyFormat = HistoryFormatEnum.JSON;
+    private String historyToExport = null;
+    private int colonies = 0;
+    private StrategyProfile strategies = StrategyProfile.DEFAULT;
+    private Integer decisionCacheCapacity = null;
+    private TransportEnum transport = TransportEnum.IN_PROCESS;
+
+    public static LaunchOptions parse(String[] args) {
+        LaunchOptions options = new LaunchOptions();
+        for (String arg : args) {
+            String[] parts = arg.split("=", 2);
+            String value = parts.length > 1 ? parts[1] : null;
+            switch (parts[0]) {
+                case "--headless" -> options.headless = true;
+                case "--virtual-threads" -> options.virtualThreads = true;
+                case "--partitioned" -> options.partitioned = true;
+                case "--distributed" -> options.distributed = true;
+                case "--strips" -> options.strips = parsePositive(parts[0], value);
+                case "--remote-strips" -> options.remoteStrips = true;
+                case "--port" -> options.port = parsePositive(parts[0], value);
+                case "--join" -> {
+                    options.joinAddress = requireValue(parts[0], value);
+                    if (!options.joinAddress.matches("[^:]+:\\d+")) {
+                        throw new IllegalArgumentException(parts[0] + " espera host:porta: " + value);
+                    }
+                }
+                case "--runs" -> options.runs = parsePositive(parts[0], value);
+                case "--size" -> options.boardSize = parsePositive(parts[0], value);
+                case "--seed" -> options.seed = Long.parseLong(requireValue(parts[0], value));
+                case "--threads" -> options.threads = parsePositive(parts[0], value);
+                case "--report" -> options.reportPath = requireValue(parts[0], value);
+                case "--replay" -> options.replaySeed = Long.parseLong(requireValue(parts[0], value));
+                case "--trace" -> options.expectedTrace = Long.parseUnsignedLong(requireValue(parts[0], value), 16);
+                case "--scheduler" -> options.schedulingMode = switch (requireValue(parts[0], value)) {
+                    case "realtime" -> SchedulingModeEnum.REALTIME;
+                    case "turn" -> SchedulingModeEnum.TURN_BASED;
+                    default -> throw new IllegalArgumentException("Escalonador desconhecido: " + value);
+                };
+                case "--turn-order" -> options.turnOrder = switch (requireValue(parts[0], value)) {
+                    case "round-robin" -> TurnOrderEnum.ROUND_ROBIN;
+                    case "random" -> TurnOrderEnum.RANDOM_PERMUTATION;
+                    default -> throw new IllegalArgumentException("Ordem de turnos desconhecida: " + value);
+                };
+                case "--history" -> options.historyFormat = switch (requireValue(parts[0], value)) {
+                    case "json" -> HistoryFormatEnum.JSON;
+                    case "binary" -> HistoryFormatEnum.BINARY;
+                    default -> throw new IllegalArgumentException("Formato de histórico desconhecido: " + value);
+                };
+                case "--agents" -> {
+                    switch (requireValue(parts[0], value)) {
+                        case "microbe" -> options.colonies = 0;
+                        case "colony" -> options.colonies = Math.max(options.colonies, DEFAULT_COLONIES);
+                        default -> throw new IllegalArgumentException("Modo de agentes desconhecido: " + value);
+                    }
+                }
+                case "--colonies" -> options.colonies = parsePositive(parts[0], value);
+                case "--strategy" -> options.strategies = StrategyProfile.parse(requireValue(parts[0], value));
+                case "--decision-cache" -> {
+                    options.decisionCacheCapacity = Integer.parseInt(requireValue(parts[0], value));
+                    if (options.decisionCacheCapacity < 0) {
+                        throw new IllegalArgumentException(parts[0] + " não pode ser negativo: " + value);
+                    }
+                }
+                case "--transport" -> options.transport = TransportEnum.fromOptionName(requireValue(parts[0], value));
+                case "--metrics" -> options.metricsPath = requireValue(parts[0], value);
+                case "--metrics-interval" -> options.metricsIntervalMillis = parsePositive(parts[0], value);
+                case "--fps" -> options.consoleFps = parsePositive(parts[0], value);
+                case "--quiet" -> options.quiet = true;
+                case "--export-history" -> options.historyToExport = requireValue(parts[0], value);
+                default -> throw new IllegalArgumentException("Opção desconhecida: " + arg);
+            }
+        }
+        return options;
+    }
+
+    public static String usage() {
+        return """
+                Uso: Main [--headless] [--runs=N] [--size=N] [--seed=N] [--threads=N] [--report=arquivo.csv]
+                     Main --virtual-threads [--runs=N] [--size=N] [--seed=N] [--report=arquivo.csv]
+                     Main --partitioned [--runs=N] [--size=N] [--seed=N] [--threads=N] [--report=arquivo.csv]
+                     Main --distributed [--strips=N] [--remote-strips] [--port=N] [--runs=N] [--size=N] [--seed=N]
+                     Main --join=HOST:PORTA
+                     Main [--scheduler=realtime|turn] [--turn-order=round-robin|random] [--runs=N] [--size=N] [--seed=N]
+                     Main --replay=SEMENTE [--size=N] [--trace=HEX]
+                     Main [--strategy=NOME|VERMELHA/AZUL] [--decision-cache=N] ...
+                     Main [--agents=microbe|colony] [--colonies=N] [--transport=local|acl] ...
+                     Main [--metrics=arquivo.csv|arquivo.json] [--metrics-interval=MS] ...
+                     Main [--fps=N] [--quiet] ...
+                     Main --export-history=arquivo.ihst
+                  --headless   executa as partidas sem JADE, em laço fechado
+                  --virtual-threads  sem JADE, um ator por micróbio em virtual threads com caixas em memória
+                  --partitioned  sem JADE, cada partida dividida em faixas do tabuleiro
+                               jogadas por --threads workers
+                  --distributed  com JADE, cada partida dividida em faixas, uma por contêiner
+                  --strips=N   agentes de faixa em --distributed (padrão: %d)
+                  --remote-strips  não cria os contêineres das faixas; espera --strips JVMs com --join
+                  --port=N     porta do contêiner principal em --distributed (padrão: %d)
+                  --join=H:P   entra na plataforma de um --distributed em H:P com um agente de faixa
+                  --runs=N     número de partidas (padrão: %d)
+                  --size=N     lado do tabuleiro (padrão: %d)
+                  --seed=N     semente das partidas headless
+                  --threads=N  partidas headless simultâneas, ou workers por partida em
+                               --partitioned (padrão: núcleos disponíveis)
+                  --report=F   grava o resultado de cada partida headless em CSV
+                  --replay=S   reproduz, movimento a movimento, a partida headless de semente S
+                  --trace=HEX  no replay, confere o traço final com o valor esperado
+                  --scheduler  com agentes: realtime (cada micróbio no seu relógio, padrão)
+                               ou turn (o manager concede um turno por vez)
+                  --turn-order no modo turn: random (permutação sorteada por rodada, padrão)
+                               ou round-robin (ordem de entrada)
+                  --history    com agentes: json (padrão) ou binary, histórico compacto em colunas
+                  --agents     com agentes: microbe (um agente JADE por micróbio, padrão)
+                               ou colony (micróbios leves hospedados em poucas colônias)
+                  --colonies=N número de colônias no modo colony (padrão: %d)
+                  --transport  com agentes: local (objetos em filas na mesma JVM, padrão)
+                               ou acl (mensagens ACL do JADE)
+                  --strategy   estratégia dos micróbios: greedy (padrão), random ou alphabeta;
+                               com uma barra, uma para cada colônia, ex.: random/greedy
+                  --decision-cache=N  entradas do cache de decisões das estratégias
+                               determinísticas (padrão: 65536 em alphabeta, 0 em greedy)
+                  --metrics=F  grava as métricas (também no JMX, em %s) a cada intervalo,
+                               em CSV ou, com extensão .json, um objeto JSON por linha
+                  --metrics-interval=MS  intervalo entre as gravações de --metrics (padrão: %d)
+                  --fps=N      com agentes: máximo de quadros do tabuleiro por segundo no console;
+                               os intermediários são descartados (padrão: %d)
+                  --quiet      sem tabuleiro, cabeçalhos nem logs abaixo de WARNING no console,
+                               para execuções em lote
+                  --export-history=F  converte o histórico binário F para o JSON de sempre
+                """.formatted(DEFAULT_STRIPS, DEFAULT_PORT, DEFAULT_NUMBER_OF_SIMULATIONS, Board.SIZE, DEFAULT_COLONIES,
+                SimulationMetrics.OBJECT_NAME, DEFAULT_METRICS_INTERVAL_MS, DEFAULT_CONSOLE_FPS);
+    }
+
+    private static int parsePositive(String option, String value) {
+        int parsed = Integer.parseInt(requireValue(option, value));
+        if (parsed <= 0) {
+            throw new IllegalArgumentException(option + " deve ser positivo: " + value);
+        }
+        return parsed;
+    }
+
+    private static String requireValue(String option, String value) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException(option + " exige um valor, ex.: " + option + "=10");
+        }
+        return value;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public boolean isPartitioned() {
+        return partitioned;
+    }
+
+    public boolean isDistributed() {
+        return distributed;
+    }
+
+    public int getStrips() {
+        return strips;
+    }
+
+    /** Em {@code --distributed}, se as faixas vêm de outras JVMs em vez de contêineres locais. */
+    public boolean isRemoteStrips() {
+        return remoteStrips;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public boolean isJoin() {
+        return joinAddress != null;
+    }
+
+    public String getJoinHost() {
+        return joinAddress.substring(0, joinAddress.lastIndexOf(':'));
+    }
+
+    public int getJoinPort() {
+        return Integer.parseInt(joinAddress.substring(joinAddress.lastIndexOf(':') + 1));
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public String getReportPath() {
+        return reportPath;
+    }
+
+    public boolean isReplay() {
+        return replaySeed != null;
+    }
+
+    public long getReplaySeed() {
+        return replaySeed;
+    }
+
+    public Long getExpectedTrace() {
+        return expectedTrace;
+    }
+
+    public SchedulingModeEnum getSchedulingMode() {
+        return schedulingMode;
+    }
+
+    public TurnOrderEnum getTurnOrder() {
+        return turnOrder;
+    }
+
+    public HistoryFormatEnum getHistoryFormat() {
+        return historyFormat;
+    }
+
+    /** Número de colônias; 0 mantém um agente JADE por micróbio. */
+    public int getColonies() {
+        return colonies;
+    }
+
+    public StrategyProfile getStrategies() {
+        return strategies;
+    }
+
+    /** Capacidade pedida para os caches de decisão, ou {@code null} para os padrões. */
+    public Integer getDecisionCacheCapacity() {
+        return decisionCacheCapacity;
+    }
+
+    public TransportEnum getTransport() {
+        return transport;
+    }
+
+    /** Arquivo das gravações periódicas de métricas, ou {@code null} para só publicá-las no JMX. */
+    public String getMetricsPath() {
+        return metricsPath;
+    }
+
+    public long getMetricsIntervalMillis() {
+        return metricsIntervalMillis;
+    }
+
+    /** Quadros por segundo do tabuleiro no console; 0 em {@code --quiet}, que não o desenha. */
+    public int getConsoleFps() {
+        return quiet ? 0 : consoleFps;
+    }
+
+    public boolean isQuiet() {
+        return quiet;
+    }
+
+    public boolean isHistoryExport() {
+        return historyToExport != null;
+    }
+
+    public String getHistoryToExport() {
+        return historyToExport;
+    }
+}
@@ -1,6 +1,24 @@
 package br.com.eucaria;
 
-import br.com.eucaria.model.MicrobeColorEnum;
+import br.com.eucaria.agent.StripAgent;
+import br.com.eucaria.agent.StripCoordinatorAgent;
+import br.com.eucaria.engine.HeadlessSimulation;
+import br.com.eucaria.engine.ParallelSimulationRunner;
+import br.com.eucaria.engine.PartitionedSimulation;
+import br.com.eucaria.model.PartitionedBoard;
+import br.com.eucaria.engine.ReplayPrinter;
+import br.com.eucaria.engine.SimulationReport;
+import br.com.eucaria.engine.SimulationResult;
+import br.com.eucaria.engine.StripShard;
+import br.com.eucaria.engine.VirtualThreadSimulation;
+import br.com.eucaria.history.HistoryJsonExporter;
+import br.com.eucaria.metrics.MetricsDumper;
+import br.com.eucaria.metrics.SimulationMetrics;
+import br.com.eucaria.strategy.AlphaBetaStrategy;
+import br.com.eucaria.strategy.DecisionCache;
+import br.com.eucaria.strategy.MoveStrategyEnum;
+import br.com.eucaria.strategy.StrategyProfile;
+import br.com.eucaria.transport.TransportEnum;
 import jade.core.Profile;
 import jade.core.ProfileImpl;
 import jade.core.Runtime;
@@ -8,30 +26,332 @@ import jade.wrapper.AgentContainer;
 import jade.wrapper.AgentController;
 import jade.wrapper.StaleProxyException;
 
-import java.util.UUID;
-
-import static br.com.eucaria.model.MicrobeColorEnum.BLUE;
-import static br.com.eucaria.model.MicrobeColorEnum.RED;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 public class Main {
 
     private static final System.Logger LOGGER = System.getLogger(Main.class.getName());
-    private static final int NUMBER_OF_SIMULATIONS = 5;
     private static final boolean SHOW_GUI = false;
 
     public static void main(String[] args) {
 
-        System.out.println("***************************************************");
-        System.out.println("* I N F E C T I O N - S I M U L A T I O N     *");
-        System.out.println("***************************************************");
+        LaunchOptions options;
+        try {
+            options = LaunchOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LaunchOptions.usage());
+            return;
+        }
+
+        if (options.getDecisionCacheCapacity() != null) {
+            options.getStrategies().setDecisionCacheCapacity(options.getDecisionCacheCapacity());
+        }
+
+        if (options.isHistoryExport()) {
+            exportHistory(options);
+            return;
+        }
+
+        if (options.isQuiet()) {
+            silenceConsole();
+        } else {
+            System.out.println("***************************************************");
+            System.out.println("* I N F E C T I O N - S I M U L A T I O N     *");
+            System.out.println("***************************************************");
+        }
+
+        SimulationMetrics.REGISTRY.registerMBean(SimulationMetrics.OBJECT_NAME);
+        MetricsDumper metrics = startMetricsDump(options);
+
+        boolean failed = false;
+        if (options.isReplay()) {
+            failed = !runReplay(options);
+        } else if (options.isVirtualThreads()) {
+            runVirtualThreads(options);
+        } else if (options.isJoin()) {
+            runJoinedStrip(options);
+        } else if (options.isDistributed()) {
+            runDistributed(options);
+        } else if (options.isPartitioned()) {
+            runPartitioned(options);
+        } else if (options.isHeadless()) {
+            runHeadless(options);
+        } else {
+            runWithAgents(options);
+        }
+
+        if (metrics != null) {
+            try {
+                metrics.close();
+                LOGGER.log(System.Logger.Level.INFO, "Métricas salvas em: {0}", options.getMetricsPath());
+            } catch (IOException e) {
+                LOGGER.log(System.Logger.Level.ERROR, "Erro ao salvar as métricas.", e);
+            }
+        }
+
+        if (!options.isQuiet()) {
+            System.out.println("\n***************************************************");
+            System.out.println("* TODAS AS SIMULAÇÕES FORAM CONCLUÍDAS     *");
+            System.out.println("***************************************************");
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Sobe o nível do logger raiz para WARNING: cala os logs da simulação e os
+     * do próprio JADE, que também usa o java.util.logging.
+     */
+    private static void silenceConsole() {
+        java.util.logging.Logger.getLogger("").setLevel(java.util.logging.Level.WARNING);
+    }
+
+    private static MetricsDumper startMetricsDump(LaunchOptions options) {
+        if (options.getMetricsPath() == null) return null;
+        try {
+            return new MetricsDumper(SimulationMetrics.REGISTRY, Path.of(options.getMetricsPath()), options.getMetricsIntervalMillis());
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "Erro ao abrir o arquivo de métricas; a execução seguirá só com o JMX.", e);
+            return null;
+        }
+    }
+
+    private static void runHeadless(LaunchOptions options) {
+        int size = options.getBoardSize();
+        ParallelSimulationRunner runner = new ParallelSimulationRunner(size, size, options.getSeed(), options.getThreads(), options.getStrategies());
+
+        try {
+            SimulationReport report = runner.run(options.getRuns());
+            System.out.printf("Tabuleiro %dx%d, semente %d, estratégia %s%n", size, size, options.getSeed(), options.getStrategies());
+            System.out.print(report.summary());
+            printStrategyStats(options);
+
+            if (options.getReportPath() != null) {
+                report.writeCsv(Path.of(options.getReportPath()));
+                LOGGER.log(System.Logger.Level.INFO, "Relatório das partidas salvo em: {0}", options.getReportPath());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.log(System.Logger.Level.ERROR, "Execução das partidas headless interrompida.", e);
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "Erro ao salvar o relatório das partidas.", e);
+        }
+    }
+
+    private static void runVirtualThreads(LaunchOptions options) {
+        int size = options.getBoardSize();
+        List<SimulationResult> results = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            for (int i = 1; i <= options.getRuns(); i++) {
+                VirtualThreadSimulation simulation = new VirtualThreadSimulation(i, size, size, ParallelSimulationRunner.seedFor(options.getSeed(), i))
+                        .withStrategies(options.getStrategies())
+                        .placeInitialMicrobes();
+                SimulationResult result = simulation.run();
+                results.add(result);
+                LOGGER.log(System.Logger.Level.INFO, "{0} (pico de {1} micróbios)", result, simulation.getPeakPopulation());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.log(System.Logger.Level.ERROR, "Execução em virtual threads interrompida.", e);
+            return;
+        }
+        SimulationReport report = new SimulationReport(results, 1, System.nanoTime() - start);
+        System.out.printf("Tabuleiro %dx%d, semente %d, estratégia %s, um ator por micróbio%n", size, size, options.getSeed(), options.getStrategies());
+        System.out.print(report.summary());
+        printStrategyStats(options);
+
+        if (options.getReportPath() != null) {
+            try {
+                report.writeCsv(Path.of(options.getReportPath()));
+                LOGGER.log(System.Logger.Level.INFO, "Relatório das partidas salvo em: {0}", options.getReportPath());
+            } catch (IOException e) {
+                LOGGER.log(System.Logger.Level.ERROR, "Erro ao salvar o relatório das partidas.", e);
+            }
+        }
+    }
+
+    private static void runPartitioned(LaunchOptions options) {
+        int size = options.getBoardSize();
+        List<SimulationResult> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 1; i <= options.getRuns(); i++) {
+            PartitionedSimulation simulation = new PartitionedSimulation(i, size, size, ParallelSimulationRunner.seedFor(options.getSeed(), i), options.getThreads())
+                    .withStrategies(options.getStrategies())
+                    .placeInitialMicrobes();
+            SimulationResult result = simulation.run();
+            results.add(result);
+            LOGGER.log(System.Logger.Level.INFO, "{0} ({1} micróbios)", result, simulation.getPopulation());
+        }
+        SimulationReport report = new SimulationReport(results, options.getThreads(), System.nanoTime() - start);
+        System.out.printf("Tabuleiro %dx%d, semente %d, estratégia %s, %d workers por partida%n", size, size, options.getSeed(), options.getStrategies(), options.getThreads());
+        System.out.print(report.summary());
+        printStrategyStats(options);
+
+        if (options.getReportPath() != null) {
+            try {
+                report.writeCsv(Path.of(options.getReportPath()));
+                LOGGER.log(System.Logger.Level.INFO, "Relatório das partidas salvo em: {0}", options.getReportPath());
+            } catch (IOException e) {
+                LOGGER.log(System.Logger.Level.ERROR, "Erro ao salvar o relatório das partidas.", e);
+            }
+        }
+    }
+
+    /**
+     * Contêiner principal com o coordenador e, sem {@code --remote-strips}, um
+     * contêiner periférico por faixa na mesma JVM. Com faixas remotas o
+     * transporte é sempre ACL, já que as filas do {@code local} não saem da JVM.
+     */
+    private static void runDistributed(LaunchOptions options) {
+        int size = options.getBoardSize();
+        int bandHeight = Math.max(PartitionedBoard.MIN_BAND_HEIGHT, (size + options.getStrips() - 1) / options.getStrips());
+        TransportEnum transport = options.isRemoteStrips() ? TransportEnum.ACL : options.getTransport();
+        // Tabuleiros baixos não comportam --strips faixas; o coordenador só espera as que vai usar.
+        int strips = Math.min(options.getStrips(), StripShard.stripCount(size, bandHeight));
+
+        Runtime runtime = Runtime.instance();
+        runtime.setCloseVM(false);
+        CountDownLatch platformTerminated = new CountDownLatch(1);
+        runtime.invokeOnTermination(platformTerminated::countDown);
+
+        Profile profile = new ProfileImpl();
+        profile.setParameter(Profile.MAIN_HOST, "localhost");
+        profile.setParameter(Profile.LOCAL_PORT, String.valueOf(options.getPort()));
+        profile.setParameter(Profile.GUI, "false");
+        AgentContainer mainContainer = runtime.createMainContainer(profile);
+
+        try {
+            Object[] coordinatorArgs = { options.getRuns(), size, size, options.getSeed(), options.getStrips(), bandHeight, options.getStrategies(), transport };
+            mainContainer.createNewAgent(StripCoordinatorAgent.NAME, StripCoordinatorAgent.class.getName(), coordinatorArgs).start();
+
+            if (options.isRemoteStrips()) {
+                LOGGER.log(System.Logger.Level.INFO, "Aguardando {0} faixas remotas: --join=localhost:{1}", strips, String.valueOf(options.getPort()));
+            } else {
+                for (int i = 0; i < strips; i++) {
+                    Profile stripProfile = new ProfileImpl();
+                    stripProfile.setParameter(Profile.MAIN_HOST, "localhost");
+                    stripProfile.setParameter(Profile.MAIN_PORT, String.valueOf(options.getPort()));
+                    stripProfile.setParameter(Profile.CONTAINER_NAME, "Strips-" + i);
+                    runtime.createAgentContainer(stripProfile)
+                            .createNewAgent("Strip-" + i, StripAgent.class.getName(), new Object[]{ StripCoordinatorAgent.NAME, transport })
+                            .start();
+                }
+            }
+        } catch (StaleProxyException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "Erro ao iniciar a simulação distribuída.", e);
+            killContainer(mainContainer);
+        }
+
+        awaitPlatform(platformTerminated, "simulação distribuída");
+    }
+
+    /** Contêiner periférico com um agente de faixa, ligado ao {@code --distributed} de outra JVM. */
+    private static void runJoinedStrip(LaunchOptions options) {
+        Runtime runtime = Runtime.instance();
+        runtime.setCloseVM(false);
+        CountDownLatch platformTerminated = new CountDownLatch(1);
+        runtime.invokeOnTermination(platformTerminated::countDown);
+
+        Profile profile = new ProfileImpl();
+        profile.setParameter(Profile.MAIN_HOST, options.getJoinHost());
+        profile.setParameter(Profile.MAIN_PORT, String.valueOf(options.getJoinPort()));
+        AgentContainer container = runtime.createAgentContainer(profile);
+        if (container == null) {
+            LOGGER.log(System.Logger.Level.ERROR, "Nenhuma plataforma em {0}:{1}.", options.getJoinHost(), String.valueOf(options.getJoinPort()));
+            return;
+        }
+
+        try {
+            String name = "Strip-" + ProcessHandle.current().pid();
+            container.createNewAgent(name, StripAgent.class.getName(), new Object[]{ StripCoordinatorAgent.NAME, TransportEnum.ACL }).start();
+            LOGGER.log(System.Logger.Level.INFO, "Agente {0} entrou na plataforma em {1}:{2}.", name, options.getJoinHost(), String.valueOf(options.getJoinPort()));
+        } catch (StaleProxyException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "Erro ao iniciar o agente de faixa.", e);
+            killContainer(container);
+        }
 
-        for (int i = 1; i <= NUMBER_OF_SIMULATIONS; i++) {
-            System.out.println("\n===================================================");
-            LOGGER.log(System.Logger.Level.INFO, "Iniciando ambiente para a simulação de número: {0}", i);
-            System.out.println("===================================================");
+        awaitPlatform(platformTerminated, "faixa remota");
+    }
+
+    private static void awaitPlatform(CountDownLatch platformTerminated, String description) {
+        try {
+            platformTerminated.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.log(System.Logger.Level.ERROR, "Espera pelo fim da " + description + " interrompida.", e);
+        }
+    }
+
+    private static void printStrategyStats(LaunchOptions options) {
+        StrategyProfile strategies = options.getStrategies();
+        if (strategies.uses(MoveStrategyEnum.ALPHA_BETA)) {
+            AlphaBetaStrategy.Stats stats = AlphaBetaStrategy.DEFAULT.getStats();
+            System.out.printf("Busca alfa-beta: %d decisões, profundidade média %.2f, %d nós, %.0f nós/s%n",
+                    stats.decisions(), stats.averageDepth(), stats.nodes(), stats.nodesPerSecond());
+        }
+        for (MoveStrategyEnum strategy : EnumSet.of(strategies.red(), strategies.blue())) {
+            DecisionCache cache = strategy.getDecisionCache();
+            if (cache != null && cache.isEnabled()) {
+                System.out.printf("Cache de decisões (%s): %s%n", strategy.getOptionName(), cache);
+            }
+        }
+    }
+
+    private static void exportHistory(LaunchOptions options) {
+        Path binary = Path.of(options.getHistoryToExport());
+        Path json = HistoryJsonExporter.jsonPathFor(binary);
+        try {
+            long events = HistoryJsonExporter.export(binary, json);
+            LOGGER.log(System.Logger.Level.INFO, "{0} eventos exportados para: {1}", events, json);
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "Erro ao exportar o histórico " + binary, e);
+        }
+    }
+
+    /** Devolve {@code false} se o traço divergiu do esperado em {@code --trace}. */
+    private static boolean runReplay(LaunchOptions options) {
+        int size = options.getBoardSize();
+        SimulationResult result = new HeadlessSimulation(1, size, size, options.getReplaySeed())
+                .withListener(new ReplayPrinter(System.out, true))
+                .withStrategies(options.getStrategies())
+                .placeInitialMicrobes()
+                .run();
+        System.out.println(result);
+
+        Long expected = options.getExpectedTrace();
+        if (expected != null) {
+            if (expected == result.traceHash()) {
+                System.out.println("Traço confere com o esperado.");
+            } else {
+                System.out.printf("Traço DIVERGENTE: esperado %016x, obtido %016x%n", expected, result.traceHash());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void runWithAgents(LaunchOptions options) {
+        int boardSize = options.getBoardSize();
+
+        for (int i = 1; i <= options.getRuns(); i++) {
+            if (!options.isQuiet()) {
+                System.out.println("\n===================================================");
+                LOGGER.log(System.Logger.Level.INFO, "Iniciando ambiente para a simulação de número: {0}", i);
+                System.out.println("===================================================");
+            }
 
             Runtime runtime = Runtime.instance();
-            runtime.setCloseVM(true);
+            runtime.setCloseVM(false);
+            CountDownLatch platformTerminated = new CountDownLatch(1);
+            runtime.invokeOnTermination(platformTerminated::countDown);
 
             Profile profile = new ProfileImpl();
             profile.setParameter(Profile.MAIN_HOST, "localhost");
@@ -43,7 +363,8 @@ public class Main {
             AgentContainer mainContainer = runtime.createMainContainer(profile);
 
             try {
-                Object[] managerArgs = { i };
+                long seed = ParallelSimulationRunner.seedFor(options.getSeed(), i);
+                Object[] managerArgs = { i, boardSize, boardSize, seed, options.getSchedulingMode(), options.getTurnOrder(), options.getHistoryFormat(), options.getColonies(), options.getStrategies(), options.getTransport(), options.getConsoleFps() };
                 AgentController manager = mainContainer.createNewAgent(
                         "SimulationManager_" + i,
                         "br.com.eucaria.agent.SimulationManagerAgent",
@@ -51,37 +372,29 @@ public class Main {
                 );
                 manager.start();
 
-                createMicrobeAgent(mainContainer, UUID.randomUUID().toString(), 0, 0, BLUE);
-                createMicrobeAgent(mainContainer, UUID.randomUUID().toString(), 6, 6, BLUE);
-                createMicrobeAgent(mainContainer, UUID.randomUUID().toString(), 6, 0, RED);
-                createMicrobeAgent(mainContainer, UUID.randomUUID().toString(), 0, 6, RED);
-
-                LOGGER.log(System.Logger.Level.INFO, "Agentes iniciais para a rodada {0} criados com sucesso.", i);
-
-                Thread.sleep(1000);
-            } catch (StaleProxyException | InterruptedException e) {
+                LOGGER.log(System.Logger.Level.INFO, "Manager da rodada {0} iniciado com semente {1}.", i, String.valueOf(seed));
+            } catch (StaleProxyException e) {
                 LOGGER.log(System.Logger.Level.ERROR, "Erro ao iniciar os agentes na rodada " + i, e);
+                killContainer(mainContainer);
             }
 
-        }
+            try {
+                // O manager derruba a plataforma ao fim da partida; só então a próxima começa.
+                platformTerminated.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.log(System.Logger.Level.ERROR, "Espera pelo fim da rodada " + i + " interrompida.", e);
+                return;
+            }
 
-        System.out.println("\n***************************************************");
-        System.out.println("* TODAS AS SIMULAÇÕES FORAM CONCLUÍDAS     *");
-        System.out.println("***************************************************");
+        }
     }
 
-    private static void createMicrobeAgent(
-            AgentContainer container,
-            String agentName,
-            int x,
-            int y,
-            MicrobeColorEnum color
-    ) throws StaleProxyException {
-
-        Object[] args = {x, y, color};
-        AgentController agentController = container.createNewAgent(
-                agentName, "br.com.eucaria.agent.MicrobeAgent", args
-        );
-        agentController.start();
+    private static void killContainer(AgentContainer container) {
+        try {
+            container.kill();
+        } catch (StaleProxyException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "Erro ao encerrar o contêiner principal.", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,175 @@
+package br.com.eucaria.agent;
+
+import br.com.eucaria.metrics.SimulationMetrics;
+import br.com.eucaria.model.MicrobeInfo;
+import br.com.eucaria.model.Move;
+import br.com.eucaria.model.Perception;
+import br.com.eucaria.strategy.StrategyProfile;
+import br.com.eucaria.transport.Envelope;
+import br.com.eucaria.transport.MessageTransport;
+import br.com.eucaria.transport.ProtocolMessage;
+import br.com.eucaria.transport.TransportEnum;
+import jade.core.AID;
+import jade.core.Agent;
+import jade.core.behaviours.CyclicBehaviour;
+import jade.core.behaviours.TickerBehaviour;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Um único agente JADE que hospeda muitos micróbios. Cada micróbio é só um
+ * {@link MicrobeBrain} com o seu estado de espera; toda mensagem do protocolo
+ * traz o nome do micróbio a que se refere. Assim o número de threads fica
+ * fixo, por maior que seja a população.
+ */
+public class ColonyAgent extends Agent {
+
+    private static final System.Logger LOGGER = System.getLogger(ColonyAgent.class.getName());
+    private static final long IDLE_WAIT_MS = 500;
+    private static final long CONVERSION_WAIT_MS = 1000;
+
+    private final Map<String, Entity> entities = new LinkedHashMap<>();
+    private SchedulingModeEnum schedulingMode = SchedulingModeEnum.REALTIME;
+    private StrategyProfile strategies = StrategyProfile.DEFAULT;
+    private TransportEnum transportType = TransportEnum.IN_PROCESS;
+    private MessageTransport transport;
+    private String managerName;
+    private long perceptionSequence = 0;
+
+    private static final class Entity {
+        final MicrobeBrain brain;
+        boolean waitingManager = false;
+        long awaitedPerception = -1;
+        long perceptionRequestedAt;
+        long sleepUntil = 0;
+
+        Entity(MicrobeBrain brain) {
+            this.brain = brain;
+        }
+    }
+
+    @Override
+    protected void setup() {
+        SimulationMetrics.agentStarted();
+        Object[] args = getArguments();
+        if (args != null && args.length >= 2) {
+            schedulingMode = (SchedulingModeEnum) args[0];
+            managerName = ((AID) args[1]).getLocalName();
+        }
+        if (args != null && args.length >= 3) {
+            strategies = (StrategyProfile) args[2];
+        }
+        if (args != null && args.length >= 4) {
+            transportType = (TransportEnum) args[3];
+        }
+
+        ListenForManagerCommands listener = new ListenForManagerCommands();
+        transport = transportType.connect(this, listener);
+        addBehaviour(listener);
+        if (schedulingMode == SchedulingModeEnum.REALTIME) {
+            addBehaviour(new TickerBehaviour(this, 1000) {
+                @Override
+                protected void onTick() {
+                    requestPerceptions();
+                }
+            });
+        }
+    }
+
+    private void requestPerceptions() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Entity> entry : entities.entrySet()) {
+            Entity entity = entry.getValue();
+            if (entity.waitingManager || entity.sleepUntil > now) continue;
+
+            entity.awaitedPerception = perceptionSequence++;
+            entity.perceptionRequestedAt = System.nanoTime();
+            entity.waitingManager = true;
+            transport.send(managerName, new ProtocolMessage.PerceptionRequest(entry.getKey(), entity.awaitedPerception));
+        }
+    }
+
+    private void host(MicrobeInfo info, long seed) {
+        String name = info.aid().getLocalName();
+        MicrobeBrain brain = new MicrobeBrain(name, info.x(), info.y(), info.color(), new SplittableRandom(seed));
+        brain.setStrategies(strategies);
+        entities.put(name, new Entity(brain));
+    }
+
+    private void decide(String name, Entity entity, Perception perception) {
+        Move chosenMove = entity.brain.decideMove(perception);
+        if (chosenMove != null) {
+            transport.send(managerName, new ProtocolMessage.Proposal(name, chosenMove));
+            return;
+        }
+        entity.waitingManager = false;
+        entity.sleepUntil = System.currentTimeMillis() + IDLE_WAIT_MS;
+        // No tempo real quem não joga não avisa o manager; só espera.
+        if (schedulingMode == SchedulingModeEnum.TURN_BASED) {
+            transport.send(managerName, new ProtocolMessage.Pass(name));
+        }
+    }
+
+    private class ListenForManagerCommands extends CyclicBehaviour {
+        @Override
+        public void action() {
+            Envelope envelope = transport.receive();
+            if (envelope == null) {
+                block();
+                return;
+            }
+
+            switch (envelope.message()) {
+                case ProtocolMessage.Host hosted -> host(hosted.info(), hosted.seed());
+                case ProtocolMessage.TurnGrant grant -> {
+                    Entity entity = entities.get(grant.microbe());
+                    if (entity != null) {
+                        decide(grant.microbe(), entity, grant.perception());
+                    }
+                }
+                case ProtocolMessage.PerceptionReply reply -> {
+                    Entity entity = entities.get(reply.microbe());
+                    if (entity != null && entity.awaitedPerception == reply.sequence()) {
+                        SimulationMetrics.PERCEPTION_LATENCY.recordSince(entity.perceptionRequestedAt);
+                        decide(reply.microbe(), entity, reply.perception());
+                    }
+                }
+                case ProtocolMessage.Accepted accepted -> {
+                    Entity entity = entities.get(accepted.microbe());
+                    if (entity != null) {
+                        entity.brain.updatePosition(accepted.x(), accepted.y());
+                        entity.brain.applyMoveCost(accepted.type());
+                        entity.waitingManager = false;
+                    }
+                }
+                case ProtocolMessage.Rejected rejected -> {
+                    Entity entity = entities.get(rejected.microbe());
+                    if (entity != null) {
+                        entity.waitingManager = false;
+                    }
+                }
+                case ProtocolMessage.Converted converted -> {
+                    Entity entity = entities.get(converted.microbe());
+                    if (entity != null) {
+                        entity.brain.setColor(converted.color());
+                        entity.sleepUntil = System.currentTimeMillis() + CONVERSION_WAIT_MS;
+                    }
+                }
+                case ProtocolMessage.GameOver gameOver -> myAgent.doDelete();
+                default -> {
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void takeDown() {
+        if (transport != null) {
+            transport.close();
+        }
+        SimulationMetrics.agentStopped();
+        LOGGER.log(System.Logger.Level.DEBUG, "Colônia {0} encerrando com {1} micróbios.", getLocalName(), entities.size());
+    }
+}
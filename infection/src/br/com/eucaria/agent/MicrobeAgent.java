@@ -1,6 +1,12 @@
 package br.com.eucaria.agent;
 
+import br.com.eucaria.metrics.SimulationMetrics;
 import br.com.eucaria.model.*;
+import br.com.eucaria.strategy.StrategyProfile;
+import br.com.eucaria.transport.Envelope;
+import br.com.eucaria.transport.MessageTransport;
+import br.com.eucaria.transport.ProtocolMessage;
+import br.com.eucaria.transport.TransportEnum;
 import jade.core.AID;
 import jade.core.Agent;
 import jade.core.behaviours.*;
@@ -8,48 +14,68 @@ import jade.domain.DFService;
 import jade.domain.FIPAAgentManagement.DFAgentDescription;
 import jade.domain.FIPAAgentManagement.ServiceDescription;
 import jade.domain.FIPAException;
-import jade.lang.acl.ACLMessage;
-import jade.lang.acl.MessageTemplate;
-import jade.lang.acl.UnreadableException;
 
-import java.io.IOException;
-import java.io.Serializable;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
 
 import static br.com.eucaria.model.MicrobeStatusEnum.ACTIVE;
 import static br.com.eucaria.model.MicrobeStatusEnum.PAUSED;
 
 public class MicrobeAgent extends Agent {
 
-    public record Move(MoveType type, int fromX, int fromY, int toX, int toY) implements Serializable {}
-    public enum MoveType { COPY, JUMP }
+    private static final System.Logger LOGGER = System.getLogger(MicrobeAgent.class.getName());
+    private static final long PERCEPTION_TIMEOUT_MS = 200;
+    private static final long NO_PERCEPTION = -1;
 
-    private int x, y;
-    private MicrobeColorEnum color;
+    private MicrobeBrain brain;
     private MicrobeStatusEnum state = PAUSED;
-    private AID managerAID;
-    private final Random random = new Random();
+    private String managerName;
     private boolean isAlive = true;
-
-    private double aggressiveness = 0.5; // Inicia neutro (0.0 a 1.0)
-    private int energy = 100; // Energia máxima inicial
-    private double colonyCohesion = 0.5; // Coesão inicial neutra
-
-    private static final int MAX_ENERGY = 100;
-    private static final int ENERGY_REGEN_RATE = 5;
-    private static final int COPY_COST = 10;
-    private static final int JUMP_COST = 25;
+    private SchedulingModeEnum schedulingMode = SchedulingModeEnum.REALTIME;
+    private TransportEnum transportType = TransportEnum.IN_PROCESS;
+    private MessageTransport transport;
+    private long perceptionSequence = 0;
+    private long awaitedPerception = NO_PERCEPTION;
+    private long perceptionRequestedAt;
 
     @Override
     protected void setup() {
+        SimulationMetrics.agentStarted();
+        int x = 0, y = 0;
+        MicrobeColorEnum color = MicrobeColorEnum.EMPTY;
+        SplittableRandom random = new SplittableRandom();
         Object[] args = getArguments();
-        if (args != null && args.length == 3) {
-            this.x = (int) args[0];
-            this.y = (int) args[1];
-            this.color = (MicrobeColorEnum) args[2];
+        if (args != null && args.length >= 3) {
+            x = (int) args[0];
+            y = (int) args[1];
+            color = (MicrobeColorEnum) args[2];
+        }
+        if (args != null && args.length >= 4) {
+            random = new SplittableRandom((long) args[3]);
+        }
+        if (args != null && args.length >= 6) {
+            schedulingMode = (SchedulingModeEnum) args[4];
+            managerName = ((AID) args[5]).getLocalName();
+        }
+        brain = new MicrobeBrain(getLocalName(), x, y, color, random);
+        if (args != null && args.length >= 7) {
+            brain.setStrategies((StrategyProfile) args[6]);
+        }
+        if (args != null && args.length >= 8) {
+            transportType = (TransportEnum) args[7];
+        }
+        // As falas da estratégia só valem o custo quando alguém vai lê-las.
+        brain.setVerbose(LOGGER.isLoggable(System.Logger.Level.DEBUG));
+
+        ListenForManagerCommands listener = new ListenForManagerCommands();
+        transport = transportType.connect(this, listener);
+
+        if (schedulingMode == SchedulingModeEnum.TURN_BASED) {
+            // Sem relógio próprio: o micróbio só age quando o manager concede o turno.
+            registerWithManager();
+            addBehaviour(listener);
+            return;
         }
 
         SequentialBehaviour startupSequence = new SequentialBehaviour(this);
@@ -72,6 +98,11 @@ public class MicrobeAgent extends Agent {
                     myAgent.doDelete();
                     return;
                 }
+                if (awaitedPerception != NO_PERCEPTION && System.nanoTime() - perceptionRequestedAt > TimeUnit.MILLISECONDS.toNanos(PERCEPTION_TIMEOUT_MS)) {
+                    // A percepção não chegou a tempo; a resposta atrasada será ignorada.
+                    awaitedPerception = NO_PERCEPTION;
+                    state = ACTIVE;
+                }
                 if (state == ACTIVE) {
                     myAgent.addBehaviour(new DecideAndActBehaviour());
                     state = PAUSED;
@@ -79,165 +110,68 @@ public class MicrobeAgent extends Agent {
             }
         });
         addBehaviour(startupSequence);
-        addBehaviour(new ListenForManagerCommands());
+        addBehaviour(listener);
     }
 
     private class DecideAndActBehaviour extends OneShotBehaviour {
         @Override
         public void action() {
-            if (managerAID == null) {
+            if (managerName == null) {
                 state = ACTIVE;
                 return;
             }
 
-            String conversationId = "perception-" + myAgent.getLocalName() + "-" + System.currentTimeMillis();
-
-            ACLMessage request = new ACLMessage(ACLMessage.QUERY_REF);
-            request.addReceiver(managerAID);
-            request.setContent(this.myAgent.getAID().getLocalName());
-            request.setConversationId(conversationId);
-            send(request);
-
-            MessageTemplate mt = MessageTemplate.and(
-                    MessageTemplate.MatchPerformative(ACLMessage.INFORM),
-                    MessageTemplate.MatchConversationId(conversationId)
-            );
-            ACLMessage reply = myAgent.blockingReceive(mt, 200);
-
-            if (reply != null) {
-                try {
-                    Board currentBoard = (Board) reply.getContentObject();
-                    Move chosenMove = decideMove(currentBoard);
-
-                    if (chosenMove != null) {
-                        informActionToManager(chosenMove);
-                    } else {
-                        addBehaviour(new WakerBehaviour(myAgent, 500) {
-                            @Override protected void onWake() { state = ACTIVE; }
-                        });
-                    }
-                } catch (UnreadableException e) {
-                    e.printStackTrace();
-                    state = ACTIVE;
-                }
-            } else {
-                state = ACTIVE;
-            }
+            awaitedPerception = perceptionSequence++;
+            perceptionRequestedAt = System.nanoTime();
+            transport.send(managerName, new ProtocolMessage.PerceptionRequest(getLocalName(), awaitedPerception));
         }
     }
 
-    private void updateInternalState(Board perception) {
-        int allyCount = 0;
-        int enemyCount = 0;
-
-        for (int i = -1; i <= 1; i++) {
-            for (int j = -1; j <= 1; j++) {
-                if (i == 0 && j == 0) continue;
-
-                AID neighbor = perception.getMicrobeAt(this.x + j, this.y + i);
-                if (neighbor != null) {
-                    MicrobeInfo neighborInfo = perception.getMicrobeInfo(neighbor);
-                    if (neighborInfo.color() == this.color) {
-                        allyCount++;
-                    } else {
-                        enemyCount++;
-                    }
-                }
-            }
-        }
+    private void onPerception(ProtocolMessage.PerceptionReply reply) {
+        if (reply.sequence() != awaitedPerception) return;
+        awaitedPerception = NO_PERCEPTION;
+        SimulationMetrics.PERCEPTION_LATENCY.recordSince(perceptionRequestedAt);
 
-        int totalNeighbors = allyCount + enemyCount;
-        if (totalNeighbors > 0) {
-            this.colonyCohesion = (double) allyCount / totalNeighbors;
-            this.aggressiveness = (double) enemyCount / totalNeighbors;
+        Move chosenMove = brain.decideMove(reply.perception());
+        if (chosenMove != null) {
+            informActionToManager(chosenMove);
         } else {
-            this.aggressiveness = 0.5;
-            this.colonyCohesion = 0.5;
-        }
-
-        if (this.energy < MAX_ENERGY) {
-            this.energy += ENERGY_REGEN_RATE;
-        }
-    }
-
-    private Move decideMove(Board perception) {
-        updateInternalState(perception);
-
-        if (this.energy < COPY_COST) {
-            state = PAUSED;
-            return null;
-        }
-
-        List<Move> copyMoves = findPossibleMoves(perception, MoveType.COPY);
-        List<Move> jumpMoves = findPossibleMoves(perception, MoveType.JUMP);
-
-        if (this.colonyCohesion < 0.3 && this.energy >= JUMP_COST && !jumpMoves.isEmpty()) {
-            System.out.println(getLocalName() + " está isolado, tentando SALTAR.");
-            return findBestInfectionMove(jumpMoves, perception);
-        }
-
-        if (this.aggressiveness > 0.6 && this.energy >= COPY_COST && !copyMoves.isEmpty()) {
-            System.out.println(getLocalName() + " está agressivo, tentando COPIAR.");
-            return findBestInfectionMove(copyMoves, perception);
-        }
-
-        if (this.energy >= COPY_COST && !copyMoves.isEmpty()){
-            return findBestInfectionMove(copyMoves, perception);
-        }
-
-        return null;
-    }
-
-    private Move findBestInfectionMove(List<Move> moves, Board board) {
-        Move bestMove = null;
-        int maxInfections = -1;
-
-        for (Move move : moves) {
-            int potentialInfections = board.countPotentialInfections(move.toX(), move.toY(), this.color);
-            if (potentialInfections > maxInfections) {
-                maxInfections = potentialInfections;
-                bestMove = move;
-            }
-        }
-        return bestMove;
-    }
-
-    private List<Move> findPossibleMoves(Board board, MoveType type) {
-        List<Move> moves = new ArrayList<>();
-        int d = (type == MoveType.COPY) ? 1 : 2;
-
-        for (int i = -d; i <= d; i++) {
-            for (int j = -d; j <= d; j++) {
-                if (i == 0 && j == 0) continue;
-                if (type == MoveType.COPY && (Math.abs(i) > 1 || Math.abs(j) > 1)) continue;
-                if (type == MoveType.JUMP && (Math.abs(i) < 2 && Math.abs(j) < 2)) continue;
-
-                int targetX = this.x + j;
-                int targetY = this.y + i;
-                if (!board.isOutOfBounds(targetX, targetY) && board.getMicrobeAt(targetX, targetY) == null) {
-                    moves.add(new Move(type, this.x, this.y, targetX, targetY));
-                }
-            }
+            addBehaviour(new WakerBehaviour(this, 500) {
+                @Override protected void onWake() { state = ACTIVE; }
+            });
         }
-        return moves;
     }
 
     public void updatePosition(int newX, int newY) {
-        this.x = newX;
-        this.y = newY;
+        brain.updatePosition(newX, newY);
     }
 
     public void beConverted(MicrobeColorEnum newColor) {
-        System.out.println("Agente " + getLocalName() + " foi convertido de " + this.color + " para " + newColor);
-        this.color = newColor;
+        LOGGER.log(System.Logger.Level.DEBUG, "Agente {0} foi convertido de {1} para {2}", getLocalName(), brain.getColor(), newColor);
+        brain.setColor(newColor);
         this.state = PAUSED;
+        if (schedulingMode == SchedulingModeEnum.TURN_BASED) return;
         addBehaviour(new WakerBehaviour(this, 1000) {
             @Override protected void onWake() { state = ACTIVE; }
         });
     }
+
+    private void playTurn(ProtocolMessage.TurnGrant grant) {
+        Move chosenMove = brain.decideMove(grant.perception());
+        if (chosenMove != null) {
+            transport.send(managerName, new ProtocolMessage.Proposal(getLocalName(), chosenMove));
+        } else {
+            transport.send(managerName, new ProtocolMessage.Pass(getLocalName()));
+        }
+    }
+
     @Override
     protected void takeDown() {
-        System.out.println("Agente " + getLocalName() + " morrendo.");
+        if (transport != null) {
+            transport.close();
+        }
+        SimulationMetrics.agentStopped();
+        LOGGER.log(System.Logger.Level.DEBUG, "Agente {0} morrendo.", getLocalName());
     }
 
 
@@ -251,29 +185,11 @@ public class MicrobeAgent extends Agent {
             DFAgentDescription[] result = DFService.search(this, template);
 
             if (result.length > 0) {
-                managerAID = result[0].getName();
-                System.out.println("Agente " + getLocalName() + " encontrou o Manager: " + managerAID.getLocalName());
-
-                ACLMessage registerMsg = new ACLMessage(ACLMessage.INFORM);
-                registerMsg.addReceiver(managerAID);
-                try {
-                    MicrobeInfo initialState = new MicrobeInfo(
-                            getAID(),
-                            MicrobeStatusEnum.CREATED,
-                            this.color,
-                            this.x,
-                            this.y,
-                            Instant.now()
-                    );
-                    registerMsg.setContentObject(initialState);
-                    send(registerMsg);
-
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-
+                managerName = result[0].getName().getLocalName();
+                LOGGER.log(System.Logger.Level.DEBUG, "Agente {0} encontrou o Manager: {1}", getLocalName(), managerName);
+                registerWithManager();
             } else {
-                System.out.println("Agente " + getLocalName() + " não encontrou o Manager. Tentando novamente...");
+                LOGGER.log(System.Logger.Level.DEBUG, "Agente {0} não encontrou o Manager. Tentando novamente...", getLocalName());
 
             }
         } catch (FIPAException fe) {
@@ -281,65 +197,54 @@ public class MicrobeAgent extends Agent {
         }
     }
 
+    private void registerWithManager() {
+        MicrobeInfo initialState = new MicrobeInfo(
+                getAID(),
+                MicrobeStatusEnum.CREATED,
+                brain.getColor(),
+                brain.getX(),
+                brain.getY(),
+                Instant.now()
+        );
+        transport.send(managerName, new ProtocolMessage.Register(initialState));
+    }
+
     private void informActionToManager(Move move) {
-        if (managerAID == null) {
-            System.out.println("ERRO: Agente " + getLocalName() + " tentou agir sem encontrar o Manager.");
+        if (managerName == null) {
+            LOGGER.log(System.Logger.Level.ERROR, "Agente {0} tentou agir sem encontrar o Manager.", getLocalName());
             return;
         }
-
-        ACLMessage proposeMsg = new ACLMessage(ACLMessage.PROPOSE);
-        proposeMsg.addReceiver(managerAID);
-        proposeMsg.setProtocol("propose-action");
-        try {
-            proposeMsg.setContentObject(move);
-            send(proposeMsg);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        transport.send(managerName, new ProtocolMessage.Proposal(getLocalName(), move));
     }
 
     private class ListenForManagerCommands extends CyclicBehaviour {
         @Override
         public void action() {
-            if (managerAID == null) {
-                block(100);
+            Envelope envelope = transport.receive();
+            if (envelope == null) {
+                block();
                 return;
             }
-            MessageTemplate mt = MessageTemplate.MatchSender(managerAID);
-            ACLMessage msg = myAgent.receive(mt);
 
-            if (msg != null) {
-                switch (msg.getPerformative()) {
-                    case ACLMessage.ACCEPT_PROPOSAL:
-                        String[] content = msg.getContent().split(":");
-                        updatePosition(Integer.parseInt(content[0]), Integer.parseInt(content[1]));
-
-                        MoveType moveType = MoveType.valueOf(content[2]);
-
-                        if (moveType == MoveType.COPY) {
-                            energy -= COPY_COST;
-                        } else if (moveType == MoveType.JUMP) {
-                            energy -= JUMP_COST;
-                        }
-                        state = ACTIVE;
-                        break;
-
-                    case ACLMessage.REJECT_PROPOSAL:
-                        state = ACTIVE;
-                        break;
-
-                    case ACLMessage.INFORM:
-                        if ("GAME_OVER".equals(msg.getContent())) {
-                            isAlive = false;
-                        } else {
-                            MicrobeColorEnum newColor = MicrobeColorEnum.valueOf(msg.getContent());
-                            beConverted(newColor);
-                        }
-                        break;
+            switch (envelope.message()) {
+                case ProtocolMessage.TurnGrant grant -> playTurn(grant);
+                case ProtocolMessage.PerceptionReply reply -> onPerception(reply);
+                case ProtocolMessage.Accepted accepted -> {
+                    updatePosition(accepted.x(), accepted.y());
+                    brain.applyMoveCost(accepted.type());
+                    state = ACTIVE;
+                }
+                case ProtocolMessage.Rejected rejected -> state = ACTIVE;
+                case ProtocolMessage.Converted converted -> beConverted(converted.color());
+                case ProtocolMessage.GameOver gameOver -> {
+                    isAlive = false;
+                    if (schedulingMode == SchedulingModeEnum.TURN_BASED) {
+                        myAgent.doDelete();
+                    }
+                }
+                default -> {
                 }
-            } else {
-                block();
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,224 @@
+package br.com.eucaria.agent;
+
+import br.com.eucaria.model.BoardView;
+import br.com.eucaria.model.MicrobeColorEnum;
+import br.com.eucaria.model.Move;
+import br.com.eucaria.model.MoveTypeEnum;
+import br.com.eucaria.strategy.StrategyProfile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Estado interno e regras de decisão de um micróbio, sem dependência do JADE.
+ * É usado tanto pelo {@link MicrobeAgent} quanto pelo motor headless.
+ */
+public class MicrobeBrain {
+
+    public static final int MAX_ENERGY = 100;
+    public static final int ENERGY_REGEN_RATE = 5;
+    public static final int COPY_COST = 10;
+    public static final int JUMP_COST = 25;
+    /** Casas a até 2 de distância, alvos possíveis de cópia ou salto. */
+    public static final int MOVE_SLOTS = 24;
+
+    private final String name;
+    private final SplittableRandom random;
+    private int x, y;
+    private MicrobeColorEnum color;
+    private boolean verbose;
+    private StrategyProfile strategies = StrategyProfile.DEFAULT;
+    private Move[] moveCache;
+
+    private double aggressiveness = 0.5; // Inicia neutro (0.0 a 1.0)
+    private int energy = MAX_ENERGY; // Energia máxima inicial
+    private double colonyCohesion = 0.5; // Coesão inicial neutra
+
+    public MicrobeBrain(String name, int x, int y, MicrobeColorEnum color) {
+        this(name, x, y, color, new SplittableRandom());
+    }
+
+    public MicrobeBrain(String name, int x, int y, MicrobeColorEnum color, SplittableRandom random) {
+        this.name = name;
+        this.random = random;
+        this.x = x;
+        this.y = y;
+        this.color = color;
+    }
+
+    public static String nameFor(int runNumber, int sequence) {
+        return "microbe-" + runNumber + "-" + sequence;
+    }
+
+    public void updateInternalState(BoardView perception) {
+        int allyCount = 0;
+        int enemyCount = 0;
+
+        for (int i = -1; i <= 1; i++) {
+            for (int j = -1; j <= 1; j++) {
+                if (i == 0 && j == 0) continue;
+
+                MicrobeColorEnum neighborColor = perception.getColorAt(this.x + j, this.y + i);
+                if (neighborColor == this.color) {
+                    allyCount++;
+                } else if (neighborColor != MicrobeColorEnum.EMPTY) {
+                    enemyCount++;
+                }
+            }
+        }
+
+        int totalNeighbors = allyCount + enemyCount;
+        if (totalNeighbors > 0) {
+            this.colonyCohesion = (double) allyCount / totalNeighbors;
+            this.aggressiveness = (double) enemyCount / totalNeighbors;
+        } else {
+            this.aggressiveness = 0.5;
+            this.colonyCohesion = 0.5;
+        }
+
+        if (this.energy < MAX_ENERGY) {
+            this.energy += ENERGY_REGEN_RATE;
+        }
+    }
+
+    /**
+     * Atualiza o estado interno e pede a jogada à estratégia da cor atual; sem
+     * energia para uma cópia, passa a vez.
+     */
+    public Move decideMove(BoardView perception) {
+        updateInternalState(perception);
+
+        if (this.energy < COPY_COST) {
+            return null;
+        }
+        return strategies.forColor(color).chooseMove(this, perception);
+    }
+
+    public Move findBestInfectionMove(List<Move> moves, BoardView board) {
+        Move bestMove = null;
+        int maxInfections = -1;
+
+        for (Move move : moves) {
+            int potentialInfections = board.countPotentialInfections(move.toX(), move.toY(), this.color);
+            if (potentialInfections > maxInfections) {
+                maxInfections = potentialInfections;
+                bestMove = move;
+            }
+        }
+        return bestMove;
+    }
+
+    public List<Move> findPossibleMoves(BoardView board, MoveTypeEnum type) {
+        List<Move> moves = new ArrayList<>();
+        int d = (type == MoveTypeEnum.COPY) ? 1 : 2;
+
+        for (int i = -d; i <= d; i++) {
+            for (int j = -d; j <= d; j++) {
+                if (i == 0 && j == 0) continue;
+                if (type == MoveTypeEnum.COPY && (Math.abs(i) > 1 || Math.abs(j) > 1)) continue;
+                if (type == MoveTypeEnum.JUMP && (Math.abs(i) < 2 && Math.abs(j) < 2)) continue;
+
+                int targetX = this.x + j;
+                int targetY = this.y + i;
+                if (!board.isOutOfBounds(targetX, targetY) && board.getColorAt(targetX, targetY) == MicrobeColorEnum.EMPTY) {
+                    moves.add(new Move(type, this.x, this.y, targetX, targetY));
+                }
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Jogada da posição atual para (toX, toY). {@link Move} é imutável, então
+     * a mesma instância é devolvida turno após turno enquanto o micróbio não
+     * sai do lugar; {@code slot}, menor que {@link #MOVE_SLOTS}, identifica o alvo.
+     */
+    public Move reusableMove(int slot, MoveTypeEnum type, int toX, int toY) {
+        if (moveCache == null) {
+            moveCache = new Move[MOVE_SLOTS];
+        }
+        Move move = moveCache[slot];
+        if (move == null || move.type() != type || move.fromX() != x || move.fromY() != y
+                || move.toX() != toX || move.toY() != toY) {
+            move = new Move(type, x, y, toX, toY);
+            moveCache[slot] = move;
+        }
+        return move;
+    }
+
+    public void applyMoveCost(MoveTypeEnum type) {
+        if (type == MoveTypeEnum.COPY) {
+            energy -= COPY_COST;
+        } else if (type == MoveTypeEnum.JUMP) {
+            energy -= JUMP_COST;
+        }
+    }
+
+    public void updatePosition(int newX, int newY) {
+        this.x = newX;
+        this.y = newY;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public MicrobeColorEnum getColor() {
+        return color;
+    }
+
+    public void setColor(MicrobeColorEnum color) {
+        this.color = color;
+    }
+
+    /**
+     * Retoma o estado interno de um micróbio que veio de outro processo (ver
+     * {@code MigrantState}); o resto é recalculado na próxima decisão.
+     */
+    public void restoreState(int energy, double aggressiveness, double colonyCohesion) {
+        this.energy = energy;
+        this.aggressiveness = aggressiveness;
+        this.colonyCohesion = colonyCohesion;
+    }
+
+    public SplittableRandom getRandom() {
+        return random;
+    }
+
+    public int getEnergy() {
+        return energy;
+    }
+
+    public double getAggressiveness() {
+        return aggressiveness;
+    }
+
+    public double getColonyCohesion() {
+        return colonyCohesion;
+    }
+
+    public boolean isVerbose() {
+        return verbose;
+    }
+
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    public StrategyProfile getStrategies() {
+        return strategies;
+    }
+
+    public void setStrategies(StrategyProfile strategies) {
+        this.strategies = strategies;
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.eucaria.agent;
+
+public enum SchedulingModeEnum {
+    REALTIME,
+    TURN_BASED
+}
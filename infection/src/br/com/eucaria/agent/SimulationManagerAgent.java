@@ -1,10 +1,23 @@
 package br.com.eucaria.agent;
 
+import br.com.eucaria.history.EventLogWriter;
+import br.com.eucaria.history.HistoryFormatEnum;
+import br.com.eucaria.metrics.SimulationMetrics;
 import br.com.eucaria.ui.custom.MainFrame;
 import br.com.eucaria.model.Board;
+import br.com.eucaria.model.CellTimeline;
 import br.com.eucaria.model.MicrobeColorEnum;
 import br.com.eucaria.model.MicrobeInfo;
 import br.com.eucaria.model.MicrobeStatusEnum;
+import br.com.eucaria.model.Move;
+import br.com.eucaria.model.MoveTypeEnum;
+import br.com.eucaria.model.StartingPosition;
+import br.com.eucaria.strategy.StrategyProfile;
+import br.com.eucaria.transport.Envelope;
+import br.com.eucaria.transport.MessageTransport;
+import br.com.eucaria.transport.ProtocolMessage;
+import br.com.eucaria.transport.TransportEnum;
+import br.com.eucaria.ui.console.ConsoleRenderer;
 import jade.core.AID;
 import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
@@ -13,36 +26,60 @@ import jade.domain.DFService;
 import jade.domain.FIPAAgentManagement.DFAgentDescription;
 import jade.domain.FIPAAgentManagement.ServiceDescription;
 import jade.domain.FIPAException;
-import jade.lang.acl.ACLMessage;
-import jade.lang.acl.UnreadableException;
 import jade.wrapper.ControllerException;
 import jade.wrapper.PlatformController;
-import jade.wrapper.StaleProxyException;
 
-import java.awt.Color;
-import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.UUID;
-import java.util.Vector;
-
-import static br.com.eucaria.ui.custom.MainFrame.BLUE_MICROBE_COLOR;
-import static br.com.eucaria.ui.custom.MainFrame.EMPTY_SPACE_BACKGROUND;
-import static br.com.eucaria.ui.custom.MainFrame.RED_MICROBE_COLOR;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Function;
 
 public class SimulationManagerAgent extends Agent {
     private static final System.Logger LOGGER = System.getLogger(SimulationManagerAgent.class.getName());
     private static final String OUTPUT_DIRECTORY = "output/";
+    private static final long TURN_TIMEOUT_MS = 2000;
+    private static final int INFECTION_REST_ROUNDS = 1;
 
-    private final Board board = new Board();
-    private final Vector<MicrobeInfo> eventLog = new Vector<>();
+    private Board board = new Board();
+    private EventLogWriter eventLog;
     private int tickCount = 0;
     private boolean isGameOver = false;
 
     private int simulationRunNumber = 0;
+    private SplittableRandom arbitrationOrder;
+    private SplittableRandom seedStream = new SplittableRandom();
+    private int microbeSequence = 0;
     private MainFrame gui;
+    private ConsoleRenderer console;
+
+    private SchedulingModeEnum schedulingMode = SchedulingModeEnum.REALTIME;
+    private TurnScheduler<AID> turnScheduler;
+    // Propostas do lote em formação: as da rodada, no modo por turnos, ou as do tick, no tempo real.
+    private final List<Proposal> pendingProposals = new ArrayList<>();
+    // Ordem da rodada em curso, do TurnScheduler: é ela que decide as casas disputadas no modo por turnos.
+    private List<AID> roundPlayers = List.of();
+    private final Set<AID> awaitingTurns = new LinkedHashSet<>();
+    private final Set<AID> convertedInBatch = new HashSet<>();
+    private long roundGrantedAt;
+    // Agentes criados que ainda não se registraram: a próxima rodada espera por eles, senão
+    // quem joga nela dependeria de quanto o JADE demora para subir cada um.
+    private final Set<AID> unregistered = new HashSet<>();
+    private long registrationsAwaitedSince;
+
+    private StrategyProfile strategies = StrategyProfile.DEFAULT;
+    private TransportEnum transportType = TransportEnum.IN_PROCESS;
+    private MessageTransport transport;
+    private AID[] colonies = new AID[0];
+    private final Map<AID, AID> hosts = new HashMap<>();
 
     @Override
     protected void setup() {
@@ -52,181 +89,461 @@ public class SimulationManagerAgent extends Agent {
             this.simulationRunNumber = (int) args[0];
             LOGGER.log(System.Logger.Level.INFO, "### INICIANDO SIMULAÇÃO - RODADA: " + this.simulationRunNumber + " ###");
         }
+        if (args != null && args.length >= 3) {
+            this.board = new Board((int) args[1], (int) args[2]);
+        }
+        board.enableTimeline();
+        if (args != null && args.length >= 4) {
+            this.seedStream = new SplittableRandom((long) args[3]);
+        }
+        TurnOrderEnum turnOrder = TurnOrderEnum.RANDOM_PERMUTATION;
+        if (args != null && args.length >= 6) {
+            this.schedulingMode = (SchedulingModeEnum) args[4];
+            turnOrder = (TurnOrderEnum) args[5];
+        }
+        this.turnScheduler = new TurnScheduler<>(turnOrder, seedStream.split());
+        this.arbitrationOrder = seedStream.split();
 
-        LOGGER.log(System.Logger.Level.INFO, "Ambiente ({0}) iniciado.", getLocalName());
+        HistoryFormatEnum historyFormat = HistoryFormatEnum.JSON;
+        if (args != null && args.length >= 7) {
+            historyFormat = (HistoryFormatEnum) args[6];
+        }
+        String uniqueHistoryFileName = "simulation_history_run_" + this.simulationRunNumber + historyFormat.getExtension();
+        try {
+            this.eventLog = new EventLogWriter(Path.of(OUTPUT_DIRECTORY, uniqueHistoryFileName), historyFormat);
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "Erro ao abrir o arquivo de histórico; a rodada seguirá sem histórico.", e);
+        }
+
+        if (args != null && args.length >= 10) {
+            transportType = (TransportEnum) args[9];
+        }
+        int consoleFps = args != null && args.length >= 11 ? (int) args[10] : 0;
+        if (consoleFps > 0) {
+            console = new ConsoleRenderer(System.out, board.getWidth(), board.getHeight(), consoleFps);
+        }
+        HandleMicrobeMessagesBehaviour listener = new HandleMicrobeMessagesBehaviour();
+        transport = transportType.connect(this, listener);
+
+        LOGGER.log(System.Logger.Level.INFO, "Ambiente ({0}) iniciado, transporte {1}.", getLocalName(), transportType.getOptionName());
         registerService();
 
-        gui = new MainFrame(Board.SIZE, this.simulationRunNumber);
+        gui = new MainFrame(board.getWidth(), board.getHeight(), this.simulationRunNumber);
         gui.setVisible(true);
 
-        addBehaviour(new HandleMicrobeMessagesBehaviour());
-        addBehaviour(new TickerBehaviour(this, 1000) {
-            @Override
-            protected void onTick() {
-                tickCount++;
-                updateGUI();
-                if (isGameOver) {
-                    stop();
+        if (args != null && args.length >= 9) {
+            strategies = (StrategyProfile) args[8];
+        }
+        if (args != null && args.length >= 8) {
+            startColonies((int) args[7]);
+        }
+
+        for (StartingPosition start : StartingPosition.corners(board.getWidth(), board.getHeight())) {
+            createNewMicrobe(start.x(), start.y(), start.color());
+        }
+
+        addBehaviour(listener);
+        if (schedulingMode == SchedulingModeEnum.TURN_BASED) {
+            LOGGER.log(System.Logger.Level.INFO, "Turnos concedidos pelo manager, ordem {0}.", turnOrder);
+            // Com colônias os micróbios iniciais já estão registrados; senão o último registro abre a rodada.
+            grantRound();
+            addBehaviour(new TurnWatchdogBehaviour());
+        } else {
+            addBehaviour(new TickerBehaviour(this, 1000) {
+                @Override
+                protected void onTick() {
+                    resolvePending();
+                    board.setTick(++tickCount);
+                    SimulationMetrics.tick();
+                    updateGUI();
+                    if (isGameOver) {
+                        stop();
+                    }
                 }
+            });
+        }
+    }
+
+    /**
+     * No modo por turnos o tempo da simulação avança por rodada, não por
+     * segundo. Todos os que jogam na rodada recebem o turno juntos, com a
+     * percepção do tabuleiro no início dela; as respostas formam um único
+     * lote, resolvido quando o último responde ou o prazo acaba.
+     */
+    private void grantRound() {
+        if (isGameOver || !awaitingTurns.isEmpty() || !unregistered.isEmpty() || turnScheduler.isEmpty()) return;
+
+        List<AID> players = List.of();
+        for (int attempt = 0; players.isEmpty() && attempt <= INFECTION_REST_ROUNDS + 1; attempt++) {
+            players = turnScheduler.nextRound();
+            tickCount = turnScheduler.getRound();
+            board.setTick(tickCount);
+            SimulationMetrics.tick();
+            updateGUI();
+        }
+        if (players.isEmpty()) return;
+
+        roundPlayers = players;
+        awaitingTurns.addAll(players);
+        roundGrantedAt = System.currentTimeMillis();
+        for (AID player : players) {
+            transport.send(hostOf(player), new ProtocolMessage.TurnGrant(player.getLocalName(), tickCount, board.perceive(player)));
+        }
+    }
+
+    /** Marca o turno como respondido; a última resposta da rodada fecha o lote. */
+    private void finishTurn(AID microbeAID) {
+        if (awaitingTurns.remove(microbeAID) && awaitingTurns.isEmpty()) {
+            resolvePending();
+            grantRound();
+        }
+    }
+
+    private class TurnWatchdogBehaviour extends TickerBehaviour {
+        TurnWatchdogBehaviour() {
+            super(SimulationManagerAgent.this, TURN_TIMEOUT_MS / 4);
+        }
+
+        @Override
+        protected void onTick() {
+            if (isGameOver) {
+                stop();
+                return;
             }
-        });
+            if (!awaitingTurns.isEmpty() && System.currentTimeMillis() - roundGrantedAt > TURN_TIMEOUT_MS) {
+                LOGGER.log(System.Logger.Level.WARNING, "{0} agente(s) não responderam ao turno {1}; a rodada fecha sem eles.",
+                        awaitingTurns.size(), tickCount);
+                awaitingTurns.clear();
+                resolvePending();
+            }
+            if (!unregistered.isEmpty() && System.currentTimeMillis() - registrationsAwaitedSince > TURN_TIMEOUT_MS) {
+                LOGGER.log(System.Logger.Level.WARNING, "{0} agente(s) criados não se registraram; a rodada {1} começa sem esperar por eles.",
+                        unregistered.size(), tickCount + 1);
+                unregistered.clear();
+            }
+            grantRound();
+        }
+    }
+
+    private void updateConsole() {
+        if (console == null) return;
+        // Mesmo critério da GUI: com o quadro anterior ainda esperando a thread do console,
+        // o lote é pulado em vez de copiar o tabuleiro de novo.
+        if (!isGameOver && console.isFramePending()) {
+            SimulationMetrics.CONSOLE_FRAMES_COALESCED.increment();
+            return;
+        }
+        long start = System.nanoTime();
+        console.publish(board.snapshotCells());
+        SimulationMetrics.CONSOLE_RENDER.recordSince(start);
     }
 
     private void updateGUI() {
         if (gui == null) return;
-
-        Vector<Color> colors = new Vector<>();
-        for (int i = 0; i < Board.SIZE; i++) {
-            for (int j = 0; j < Board.SIZE; j++) {
-                MicrobeColorEnum colorEnum = board.getColorAt(j, i);
-                switch (colorEnum) {
-                    case RED:
-                        colors.add(RED_MICROBE_COLOR);
-                        break;
-                    case BLUE:
-                        colors.add(BLUE_MICROBE_COLOR);
-                        break;
-                    case EMPTY:
-                    default:
-                        colors.add(EMPTY_SPACE_BACKGROUND);
-                        break;
-                }
-            }
+        // Tirar o snapshot é O(1), mas a jogada seguinte copia as words do tabuleiro inteiro.
+        // Com o quadro anterior ainda na fila da EDT o novo só o substituiria; o lote seguinte
+        // publica o estado em dia, e o fim da partida é sempre publicado.
+        if (!isGameOver && gui.isFramePending()) {
+            SimulationMetrics.GUI_FRAMES_COALESCED.increment();
+            return;
         }
-        gui.updatePanel(colors);
+        long start = System.nanoTime();
+
+        // A GUI compara com o quadro anterior e redesenha só o que mudou, na EDT.
+        gui.updateBoard(board.snapshotCells());
+        SimulationMetrics.GUI_UPDATE.recordSince(start);
     }
 
     private class HandleMicrobeMessagesBehaviour extends CyclicBehaviour {
         @Override
         public void action() {
-            ACLMessage msg = myAgent.receive();
-            if (msg != null) {
+            Envelope envelope = transport.receive();
+            if (envelope == null) {
+                block();
+                return;
+            }
+            for (; envelope != null; envelope = transport.receive()) {
                 try {
-                    switch (msg.getPerformative()) {
-                        case ACLMessage.INFORM: // Usado para registro
-                            if (msg.getContentObject() instanceof MicrobeInfo) {
-                                handleRegistration((MicrobeInfo) msg.getContentObject());
-                            }
-                            break;
-                        case ACLMessage.QUERY_REF: // Pedido de percepção
-                            handlePerceptionRequest(msg);
-                            break;
-                        case ACLMessage.PROPOSE: // Proposta de ação
-                            if (msg.getContentObject() instanceof MicrobeAgent.Move) {
-                                handleActionProposal(msg);
-                            }
-                            break;
+                    switch (envelope.message()) {
+                        case ProtocolMessage.Register register -> handleRegistration(register.info());
+                        case ProtocolMessage.PerceptionRequest request -> handlePerceptionRequest(envelope.sender(), request);
+                        case ProtocolMessage.Proposal proposal ->
+                                handleProposal(new Proposal(envelope.sender(), microbeAID(proposal.microbe()), proposal.move()));
+                        case ProtocolMessage.Pass pass -> finishTurn(microbeAID(pass.microbe()));
+                        default -> {
+                        }
                     }
                 } catch (Exception e) {
                     LOGGER.log(System.Logger.Level.ERROR, "Erro ao processar mensagem.", e);
                 }
-            } else {
-                block();
             }
         }
     }
 
-    private void handleRegistration(MicrobeInfo info) {
-        board.placeMicrobe(info.aid(), info.x(), info.y(), info.color());
-        eventLog.add(info);
-        LOGGER.log(System.Logger.Level.INFO, "AMBIENTE: Agente {0} registrado.", info.aid().getLocalName());
+    private void handleProposal(Proposal proposal) {
+        if (schedulingMode == SchedulingModeEnum.TURN_BASED && !awaitingTurns.contains(proposal.microbeAID())) {
+            // Resposta a um turno que já fechou por prazo.
+            transport.send(proposal.replyTo(), new ProtocolMessage.Rejected(proposal.microbeAID().getLocalName()));
+            return;
+        }
+        pendingProposals.add(proposal);
+        finishTurn(proposal.microbeAID());
     }
 
-    private void handlePerceptionRequest(ACLMessage msg) throws IOException {
-        ACLMessage reply = msg.createReply();
-        reply.setPerformative(ACLMessage.INFORM);
+    /** Resolve o lote em formação, se houver. */
+    private void resolvePending() {
+        if (pendingProposals.isEmpty()) return;
+        SimulationMetrics.PROPOSAL_QUEUE_DEPTH.record(pendingProposals.size());
+        long start = System.nanoTime();
+        resolveProposals(schedulingMode == SchedulingModeEnum.TURN_BASED
+                ? orderBatch(pendingProposals, Proposal::microbeAID, roundPlayers, null)
+                : orderBatch(pendingProposals, Proposal::microbeAID, null, arbitrationOrder));
+        pendingProposals.clear();
+        SimulationMetrics.PROPOSAL_RESOLUTION.recordSince(start);
+    }
 
-        reply.setConversationId(msg.getConversationId());
+    private void handleRegistration(MicrobeInfo info) {
+        // Micróbios criados pelo manager já estão no tabuleiro e podem ter sido infectados antes do registro.
+        if (board.getMicrobeInfo(info.aid()) == null) {
+            board.placeMicrobe(info.aid(), info.x(), info.y(), info.color());
+        }
+        logEvent(info);
+        LOGGER.log(System.Logger.Level.DEBUG, "AMBIENTE: Agente {0} registrado.", info.aid().getLocalName());
+
+        if (schedulingMode == SchedulingModeEnum.TURN_BASED) {
+            turnScheduler.add(info.aid());
+            // Um registro só abre rodada se era o último esperado; fora isso elas nascem do fechamento da anterior.
+            if (unregistered.remove(info.aid()) && unregistered.isEmpty()) {
+                grantRound();
+            }
+        }
+    }
 
-        String agentName = msg.getContent();
-        AID agentAID = new AID(agentName, AID.ISLOCALNAME);
+    private void handlePerceptionRequest(String sender, ProtocolMessage.PerceptionRequest request) {
+        SimulationMetrics.PERCEPTION_REQUESTS.increment();
+        transport.send(sender, new ProtocolMessage.PerceptionReply(request.microbe(), request.sequence(),
+                board.perceive(microbeAID(request.microbe()))));
+    }
 
-        Board localView = this.board.getLocalPerception(agentAID);
-        reply.setContentObject(localView);
+    /** Proposta recebida: {@code replyTo} é o agente que a enviou, o próprio micróbio ou a colônia dele. */
+    private record Proposal(String replyTo, AID microbeAID, Move move) {
+    }
 
-        send(reply);
+    /**
+     * Ordem em que um lote é resolvido, que nunca depende da chegada. No modo
+     * por turnos é a da rodada ({@code roundOrder}, vinda do
+     * {@link TurnScheduler}), então {@code --turn-order} decide quem fica com
+     * as casas disputadas. No tempo real não há rodada: as propostas são
+     * ordenadas pelo nome do micróbio e embaralhadas por {@code shuffle}.
+     */
+    static <P> List<P> orderBatch(List<P> proposals, Function<P, AID> microbe, List<AID> roundOrder, SplittableRandom shuffle) {
+        List<P> batch;
+        if (roundOrder != null) {
+            Map<AID, P> byMicrobe = new HashMap<>();
+            for (P proposal : proposals) {
+                byMicrobe.put(microbe.apply(proposal), proposal);
+            }
+            batch = new ArrayList<>(byMicrobe.size());
+            for (AID player : roundOrder) {
+                P proposal = byMicrobe.get(player);
+                if (proposal != null) batch.add(proposal);
+            }
+            return batch;
+        }
+
+        batch = new ArrayList<>(proposals);
+        batch.sort(Comparator.comparing(proposal -> microbe.apply(proposal).getName()));
+        for (int i = batch.size() - 1; i > 0; i--) {
+            int j = shuffle.nextInt(i + 1);
+            batch.set(i, batch.set(j, batch.get(i)));
+        }
+        return batch;
     }
 
-    private synchronized void handleActionProposal(ACLMessage msg) throws UnreadableException, StaleProxyException {
+    /**
+     * Resolve um lote de propostas, já na ordem do {@link #orderBatch}: as de
+     * uma rodada inteira no modo por turnos, as de um tick no tempo real.
+     * Quem vem antes fica com a casa disputada e os demais são rejeitados,
+     * assim como quem foi infectado por uma proposta anterior do mesmo lote,
+     * já que decidiu com a cor antiga. Tabuleiro, fim de jogo e GUI são
+     * atualizados uma vez por lote.
+     */
+    private void resolveProposals(List<Proposal> batch) {
         if (isGameOver) return;
 
-        AID microbeAID = msg.getSender();
-        MicrobeAgent.Move move = (MicrobeAgent.Move) msg.getContentObject();
+        int applied = 0;
+        convertedInBatch.clear();
+        for (Proposal proposal : batch) {
+            if (applyProposal(proposal)) {
+                applied++;
+            }
+        }
+
+        checkGameOver();
+        if (applied > 0) {
+            updateConsole();
+        }
+        updateGUI();
+    }
 
-        boolean success = board.getMicrobeAt(move.toX(), move.toY()) == null;
-        ACLMessage reply = msg.createReply();
+    private boolean applyProposal(Proposal proposal) {
+        AID microbeAID = proposal.microbeAID();
+        Move move = proposal.move();
+        MicrobeInfo currentState = board.getMicrobeInfo(microbeAID);
+        boolean success = currentState != null && !convertedInBatch.contains(microbeAID)
+                && board.getMicrobeAt(move.toX(), move.toY()) == null;
 
+        ProtocolMessage reply;
         if (success) {
-            reply.setPerformative(ACLMessage.ACCEPT_PROPOSAL);
-            reply.setContent(move.toX() + ":" + move.toY() + ":" + move.type());
+            SimulationMetrics.MOVES_ACCEPTED.increment();
+            reply = new ProtocolMessage.Accepted(microbeAID.getLocalName(), move.toX(), move.toY(), move.type());
 
-            MicrobeInfo currentState = board.getMicrobeInfo(microbeAID);
-            if (currentState == null) return;
-
-            if (move.type() == MicrobeAgent.MoveType.COPY) {
+            if (move.type() == MoveTypeEnum.COPY) {
                 createNewMicrobe(move.toX(), move.toY(), currentState.color());
             } else {
-                board.removeMicrobe(move.fromX(), move.fromY());
+                // O salto sai da casa que o manager conhece, não da informada pelo micróbio.
+                board.removeMicrobe(currentState.x(), currentState.y());
                 board.placeMicrobe(microbeAID, move.toX(), move.toY(), currentState.color());
                 MicrobeInfo jumpEvent = new MicrobeInfo(microbeAID, MicrobeStatusEnum.JUMPED, currentState.color(), move.toX(), move.toY(), Instant.now());
-                eventLog.add(jumpEvent);
+                logEvent(jumpEvent);
             }
 
             List<AID> infectedAIDs = board.applyInfection(move.toX(), move.toY(), currentState.color());
+            convertedInBatch.addAll(infectedAIDs);
             for (AID infectedAID : infectedAIDs) {
                 MicrobeInfo oldState = board.getMicrobeInfo(infectedAID);
                 MicrobeInfo infectedEvent = new MicrobeInfo(infectedAID, MicrobeStatusEnum.INFECTED, currentState.color(), oldState.x(), oldState.y(), Instant.now());
-                eventLog.add(infectedEvent);
+                logEvent(infectedEvent);
+                turnScheduler.rest(infectedAID, INFECTION_REST_ROUNDS);
 
-                ACLMessage infectionOrder = new ACLMessage(ACLMessage.INFORM);
-                infectionOrder.addReceiver(infectedAID);
-                infectionOrder.setContent(currentState.color().name());
-                send(infectionOrder);
+                transport.send(hostOf(infectedAID), new ProtocolMessage.Converted(infectedAID.getLocalName(), currentState.color()));
             }
 
-            LOGGER.log(System.Logger.Level.INFO, "----------------------------------------");
-            LOGGER.log(System.Logger.Level.INFO, "Tick {0}: {1} realizou {2} para ({3},{4})", new Object[]{tickCount, microbeAID.getLocalName(), move.type(), move.toX(), move.toY()});
-            System.out.println(board);
+            if (LOGGER.isLoggable(System.Logger.Level.DEBUG)) {
+                LOGGER.log(System.Logger.Level.DEBUG, "Tick {0}: {1} realizou {2} para ({3},{4})", tickCount, microbeAID.getLocalName(), move.type(), move.toX(), move.toY());
+            }
         } else {
-            reply.setPerformative(ACLMessage.REJECT_PROPOSAL);
-            reply.setContent("MOVE_FAILED");
+            SimulationMetrics.MOVES_REJECTED.increment();
+            reply = new ProtocolMessage.Rejected(microbeAID.getLocalName());
         }
-        send(reply);
-        checkGameOver();
-        updateGUI();
+        transport.send(proposal.replyTo(), reply);
+        return success;
     }
 
     private void createNewMicrobe(int x, int y, MicrobeColorEnum color) {
-        String agentName = UUID.randomUUID().toString();
-        Object[] args = {x, y, color};
+        // Nomes e sementes saem da semente da rodada, na ordem de criação.
+        int sequence = microbeSequence++;
+        String agentName = MicrobeBrain.nameFor(simulationRunNumber, sequence);
+        Object[] args = {x, y, color, seedStream.split().nextLong(), schedulingMode, getAID(), strategies, transportType};
+
+        // A casa fica reservada já na criação, antes do registro do novo agente.
+        AID microbeAID = new AID(agentName, AID.ISLOCALNAME);
+        board.placeMicrobe(microbeAID, x, y, color);
+        if (schedulingMode == SchedulingModeEnum.TURN_BASED) {
+            // Entra na ordem de criação, que é a da partida, e não na de chegada do registro.
+            turnScheduler.add(microbeAID);
+        }
+
+        long start = System.nanoTime();
+        if (colonies.length > 0) {
+            hostInColony(colonies[sequence % colonies.length], microbeAID, x, y, color, (long) args[3]);
+            SimulationMetrics.AGENT_CREATION.recordSince(start);
+            return;
+        }
         try {
+            // Um Converted ou o GameOver do mesmo lote podem sair antes do setup do novo agente.
+            transportType.open(agentName);
             getContainerController().createNewAgent(agentName, "br.com.eucaria.agent.MicrobeAgent", args).start();
+            SimulationMetrics.AGENT_CREATION.recordSince(start);
+            if (schedulingMode == SchedulingModeEnum.TURN_BASED) {
+                if (unregistered.isEmpty()) {
+                    registrationsAwaitedSince = System.currentTimeMillis();
+                }
+                unregistered.add(microbeAID);
+            }
         } catch (ControllerException e) {
+            board.removeMicrobe(x, y);
+            turnScheduler.remove(microbeAID);
             LOGGER.log(System.Logger.Level.ERROR, "Falha ao criar novo microbe em (" + x + "," + y + ")", e);
         }
     }
 
+    private void startColonies(int count) {
+        colonies = new AID[count];
+        Object[] args = {schedulingMode, getAID(), strategies, transportType};
+        for (int i = 0; i < count; i++) {
+            String colonyName = "colony-" + simulationRunNumber + "-" + i;
+            try {
+                // O Host dos micróbios sai logo em seguida, possivelmente antes do setup da colônia.
+                transportType.open(colonyName);
+                getContainerController().createNewAgent(colonyName, "br.com.eucaria.agent.ColonyAgent", args).start();
+                colonies[i] = new AID(colonyName, AID.ISLOCALNAME);
+            } catch (ControllerException e) {
+                LOGGER.log(System.Logger.Level.ERROR, "Falha ao criar a colônia " + colonyName, e);
+                colonies = new AID[0];
+                return;
+            }
+        }
+        LOGGER.log(System.Logger.Level.INFO, "Micróbios hospedados em {0} colônias.", count);
+    }
+
+    // Micróbios de colônia não são agentes: a colônia recebe o estado inicial e o registro é feito aqui mesmo.
+    private void hostInColony(AID colony, AID microbeAID, int x, int y, MicrobeColorEnum color, long seed) {
+        hosts.put(microbeAID, colony);
+
+        MicrobeInfo created = new MicrobeInfo(microbeAID, MicrobeStatusEnum.CREATED, color, x, y, Instant.now());
+        transport.send(colony.getLocalName(), new ProtocolMessage.Host(created, seed));
+        handleRegistration(created);
+    }
+
+    private AID microbeAID(String microbe) {
+        return new AID(microbe, AID.ISLOCALNAME);
+    }
+
+    /** Agente que recebe as mensagens do micróbio: a colônia que o hospeda ou ele mesmo. */
+    private String hostOf(AID microbeAID) {
+        AID colony = hosts.get(microbeAID);
+        return (colony != null ? colony : microbeAID).getLocalName();
+    }
+
+    private void logInfectionTimes() {
+        long total = 0;
+        int infectedCells = 0;
+        for (int time : board.getTimeToFirstInfection()) {
+            if (time != CellTimeline.NEVER) {
+                total += time;
+                infectedCells++;
+            }
+        }
+        if (infectedCells > 0) {
+            LOGGER.log(System.Logger.Level.INFO, "Casas infectadas: {0}, em média {1} ticks após a primeira ocupação.",
+                    infectedCells, String.format("%.1f", (double) total / infectedCells));
+        }
+    }
+
     private void checkGameOver() {
         int redCount = board.countMicrobes(MicrobeColorEnum.RED);
         int blueCount = board.countMicrobes(MicrobeColorEnum.BLUE);
         int totalCount = redCount + blueCount;
 
-        if (!isGameOver && ((redCount > 0 && blueCount == 0) || (blueCount > 0 && redCount == 0) || (totalCount >= Board.SIZE * Board.SIZE))) {
+        boolean decided = (redCount > 0 && blueCount == 0) || (blueCount > 0 && redCount == 0) || (totalCount >= board.getWidth() * board.getHeight());
+        if (!isGameOver && (decided || board.isStalled())) {
             isGameOver = true;
             LOGGER.log(System.Logger.Level.INFO, "### Fim da Simulação (Detectado pelo Manager) ###");
+            if (!decided) {
+                LOGGER.log(System.Logger.Level.INFO, "Nenhuma cor tem jogada possível com {0} casas vazias.", board.countEmptyCells());
+            }
             LOGGER.log(System.Logger.Level.INFO, "Placar Final: VERMELHO ({0}) x AZUL ({1})", redCount, blueCount);
 
             if (redCount > blueCount) LOGGER.log(System.Logger.Level.INFO, "VENCEDOR: VERMELHO");
             else if (blueCount > redCount) LOGGER.log(System.Logger.Level.INFO, "VENCEDOR: AZUL");
             else LOGGER.log(System.Logger.Level.INFO, "EMPATE");
+            logInfectionTimes();
 
-            ACLMessage gameOverMsg = new ACLMessage(ACLMessage.INFORM);
-            gameOverMsg.setContent("GAME_OVER");
-            List<AID> allMicrobes = board.getAllMicrobeAIDs();
+            List<AID> allMicrobes = colonies.length > 0 ? List.of(colonies) : board.getAllMicrobeAIDs();
             for (AID aid : allMicrobes) {
-                gameOverMsg.addReceiver(aid);
+                transport.send(aid.getLocalName(), new ProtocolMessage.GameOver());
             }
-            send(gameOverMsg);
             doDelete();
         }
     }
@@ -234,9 +551,10 @@ public class SimulationManagerAgent extends Agent {
     @Override
     protected void takeDown() {
         LOGGER.log(System.Logger.Level.INFO, "Desligando SimulationManager. Salvando histórico...");
-
-        String uniqueHistoryFileName = String.format("simulation_history_run_%d.json", this.simulationRunNumber);
-        saveHistoryToJson(OUTPUT_DIRECTORY + uniqueHistoryFileName);
+        closeHistory();
+        if (transport != null) {
+            transport.close();
+        }
 
         try {
             DFService.deregister(this);
@@ -244,6 +562,9 @@ public class SimulationManagerAgent extends Agent {
             e.printStackTrace();
         }
 
+        if (console != null) {
+            console.close();
+        }
         LOGGER.log(System.Logger.Level.INFO, "### FIM DA SIMULAÇÃO - RODADA: " + this.simulationRunNumber + " ###\n");
         if (gui != null) {
             gui.dispose();
@@ -277,21 +598,19 @@ public class SimulationManagerAgent extends Agent {
         }
     }
 
-    private void saveHistoryToJson(String filePath) {
+    private void logEvent(MicrobeInfo event) {
+        if (eventLog != null) {
+            eventLog.append(event);
+        }
+    }
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            writer.write("[\n");
-            var iterator = eventLog.iterator();
-            while (iterator.hasNext()) {
-                writer.write("  " + iterator.next().toString());
-                if (iterator.hasNext()) {
-                    writer.write(",\n");
-                }
-            }
-            writer.write("\n]");
-            LOGGER.log(System.Logger.Level.INFO, "Histórico da simulação salvo com sucesso em: {0}", filePath);
+    private void closeHistory() {
+        if (eventLog == null) return;
+        try {
+            eventLog.close();
+            LOGGER.log(System.Logger.Level.INFO, "Histórico da simulação salvo com sucesso em: {0}", eventLog.getFile());
         } catch (IOException e) {
             LOGGER.log(System.Logger.Level.ERROR, "Erro ao salvar o arquivo de histórico JSON.", e);
         }
     }
-}
\ No newline at end of file
+}
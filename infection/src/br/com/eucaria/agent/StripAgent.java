@@ -0,0 +1,119 @@
+package br.com.eucaria.agent;
+
+import br.com.eucaria.engine.StripHandover;
+import br.com.eucaria.engine.StripReport;
+import br.com.eucaria.engine.StripShard;
+import br.com.eucaria.transport.Envelope;
+import br.com.eucaria.transport.MessageTransport;
+import br.com.eucaria.transport.ProtocolMessage;
+import br.com.eucaria.transport.TransportEnum;
+import jade.core.Agent;
+import jade.core.behaviours.CyclicBehaviour;
+import jade.core.behaviours.TickerBehaviour;
+
+import java.util.List;
+
+/**
+ * Agente de uma faixa do tabuleiro, normalmente sozinho num contêiner
+ * periférico, às vezes em outra JVM. Pede uma faixa ao
+ * {@link StripCoordinatorAgent}, joga a sua parte com um {@link StripShard} e
+ * troca as bordas com as faixas vizinhas diretamente, sem passar pelo
+ * coordenador. Fica para as partidas seguintes até receber {@code GameOver}.
+ */
+public class StripAgent extends Agent {
+
+    private static final System.Logger LOGGER = System.getLogger(StripAgent.class.getName());
+    private static final long JOIN_RETRY_MS = 1000;
+
+    private String coordinatorName = StripCoordinatorAgent.NAME;
+    private TransportEnum transportType = TransportEnum.ACL;
+    private MessageTransport transport;
+    private StripShard shard;
+    private List<String> strips;
+    private int pendingRound = 0;
+    private boolean assigned = false;
+
+    @Override
+    protected void setup() {
+        Object[] args = getArguments();
+        if (args != null && args.length >= 1) {
+            coordinatorName = (String) args[0];
+        }
+        if (args != null && args.length >= 2) {
+            transportType = (TransportEnum) args[1];
+        }
+
+        ListenForStripMessages listener = new ListenForStripMessages();
+        transport = transportType.connect(this, listener);
+        addBehaviour(listener);
+
+        transport.send(coordinatorName, new ProtocolMessage.JoinStrips());
+        // O coordenador pode ainda não existir quando um contêiner remoto entra na plataforma.
+        addBehaviour(new TickerBehaviour(this, JOIN_RETRY_MS) {
+            @Override
+            protected void onTick() {
+                if (assigned) {
+                    stop();
+                } else {
+                    transport.send(coordinatorName, new ProtocolMessage.JoinStrips());
+                }
+            }
+        });
+    }
+
+    private void assign(ProtocolMessage.AssignStrip assignment) {
+        assigned = true;
+        strips = assignment.strips();
+        shard = new StripShard(assignment.runNumber(), assignment.width(), assignment.height(), assignment.seed(),
+                assignment.bandHeight(), assignment.index(), assignment.strategies())
+                .placeInitialMicrobes();
+        pendingRound = 0;
+        LOGGER.log(System.Logger.Level.INFO, "{0}: faixa {1} de {2}, linhas {3} a {4} da partida {5}.",
+                getLocalName(), shard.index(), shard.stripCount(), shard.firstRow(), shard.endRow() - 1, assignment.runNumber());
+        transport.send(coordinatorName, new ProtocolMessage.StripDone(shard.readyReport()));
+    }
+
+    /** Joga a fase pedida assim que as bordas das vizinhas chegaram; até lá ela fica pendente. */
+    private void playWhenReady() {
+        if (pendingRound == 0 || !shard.isReadyFor(pendingRound)) return;
+        StripReport report = shard.play(pendingRound);
+        pendingRound = 0;
+        for (StripHandover handover : shard.outgoing()) {
+            transport.send(strips.get(handover.to()), new ProtocolMessage.HaloExchange(handover));
+        }
+        transport.send(coordinatorName, new ProtocolMessage.StripDone(report));
+    }
+
+    private class ListenForStripMessages extends CyclicBehaviour {
+        @Override
+        public void action() {
+            Envelope envelope = transport.receive();
+            if (envelope == null) {
+                block();
+                return;
+            }
+
+            switch (envelope.message()) {
+                case ProtocolMessage.AssignStrip assignment -> assign(assignment);
+                case ProtocolMessage.PlayPhase play -> {
+                    pendingRound = play.round();
+                    playWhenReady();
+                }
+                case ProtocolMessage.HaloExchange exchange -> {
+                    shard.receive(exchange.handover());
+                    playWhenReady();
+                }
+                case ProtocolMessage.GameOver gameOver -> myAgent.doDelete();
+                default -> {
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void takeDown() {
+        if (transport != null) {
+            transport.close();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package br.com.eucaria.agent;
+
+import br.com.eucaria.engine.ParallelSimulationRunner;
+import br.com.eucaria.engine.SimulationReport;
+import br.com.eucaria.engine.SimulationResult;
+import br.com.eucaria.engine.StripCoordinator;
+import br.com.eucaria.engine.StripShard;
+import br.com.eucaria.strategy.StrategyProfile;
+import br.com.eucaria.transport.Envelope;
+import br.com.eucaria.transport.MessageTransport;
+import br.com.eucaria.transport.ProtocolMessage;
+import br.com.eucaria.transport.TransportEnum;
+import jade.core.Agent;
+import jade.core.behaviours.CyclicBehaviour;
+import jade.core.behaviours.TickerBehaviour;
+import jade.wrapper.ControllerException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordenador da simulação distribuída, no contêiner principal. Espera que
+ * entrem na plataforma tantos agentes de faixa ({@link StripAgent}) quantas
+ * faixas o tabuleiro comporta, no máximo {@code strips}, reparte o tabuleiro
+ * entre eles e conduz as fases com um {@link StripCoordinator}: manda jogar as
+ * faixas de uma paridade, espera o relatório de todas e passa à próxima. As
+ * partidas seguintes reaproveitam as mesmas faixas; ao fim da última, derruba
+ * a plataforma. Faixas que sobram são dispensadas ao entrar, e uma partida
+ * sem relatório por {@link #REPORT_TIMEOUT_MS} é abortada, já que uma faixa
+ * que morre não avisa ninguém.
+ */
+public class StripCoordinatorAgent extends Agent {
+
+    public static final String NAME = "StripCoordinator";
+    public static final long REPORT_TIMEOUT_MS = 60_000;
+
+    private static final long LIVENESS_CHECK_MS = 5_000;
+
+    private static final System.Logger LOGGER = System.getLogger(StripCoordinatorAgent.class.getName());
+
+    private int runs = 1;
+    private int width;
+    private int height;
+    private long seed;
+    private int expectedStrips = 1;
+    private int bandHeight;
+    private StrategyProfile strategies = StrategyProfile.DEFAULT;
+    private TransportEnum transportType = TransportEnum.ACL;
+    private MessageTransport transport;
+
+    private final List<String> joined = new ArrayList<>();
+    private final List<SimulationResult> results = new ArrayList<>();
+    private StripCoordinator coordinator;
+    private List<String> strips;
+    private int runNumber = 0;
+    private long start;
+    private long lastReportAt;
+
+    @Override
+    protected void setup() {
+        Object[] args = getArguments();
+        if (args != null && args.length >= 7) {
+            runs = (int) args[0];
+            width = (int) args[1];
+            height = (int) args[2];
+            seed = (long) args[3];
+            expectedStrips = (int) args[4];
+            bandHeight = (int) args[5];
+            strategies = (StrategyProfile) args[6];
+        }
+        if (args != null && args.length >= 8) {
+            transportType = (TransportEnum) args[7];
+        }
+
+        int stripCount = StripShard.stripCount(height, bandHeight);
+        if (stripCount < expectedStrips) {
+            LOGGER.log(System.Logger.Level.WARNING, "{0} linhas em faixas de {1} dão só {2} faixas; as outras {3} não serão esperadas.",
+                    height, bandHeight, stripCount, expectedStrips - stripCount);
+            expectedStrips = stripCount;
+        }
+
+        ListenForStripReports listener = new ListenForStripReports();
+        transport = transportType.connect(this, listener);
+        addBehaviour(listener);
+        addBehaviour(new TickerBehaviour(this, LIVENESS_CHECK_MS) {
+            @Override
+            protected void onTick() {
+                if (runNumber > 0 && System.nanoTime() - lastReportAt > TimeUnit.MILLISECONDS.toNanos(REPORT_TIMEOUT_MS)) {
+                    abort();
+                }
+            }
+        });
+        LOGGER.log(System.Logger.Level.INFO, "Coordenador aguardando {0} faixas para {1} partida(s) em {2}x{3}, transporte {4}.",
+                expectedStrips, runs, width, height, transportType.getOptionName());
+    }
+
+    private void join(String strip) {
+        if (joined.contains(strip)) return;
+        if (runNumber > 0) {
+            // Sem isso ela tentaria entrar para sempre.
+            LOGGER.log(System.Logger.Level.INFO, "Faixa {0} dispensada: as {1} faixas já entraram.", strip, expectedStrips);
+            transport.send(strip, new ProtocolMessage.GameOver());
+            return;
+        }
+        joined.add(strip);
+        LOGGER.log(System.Logger.Level.INFO, "Faixa {0} entrou ({1}/{2}).", strip, joined.size(), expectedStrips);
+        if (joined.size() == expectedStrips) {
+            start = System.nanoTime();
+            startRun();
+        }
+    }
+
+    private void startRun() {
+        runNumber++;
+        lastReportAt = System.nanoTime();
+        long runSeed = ParallelSimulationRunner.seedFor(seed, runNumber);
+        coordinator = new StripCoordinator(runNumber, width, height, runSeed, bandHeight);
+        strips = List.copyOf(joined.subList(0, coordinator.stripCount()));
+        LOGGER.log(System.Logger.Level.INFO, "### PARTIDA DISTRIBUÍDA {0}: {1} faixas de {2} linhas, semente {3} ###",
+                runNumber, strips.size(), bandHeight, String.valueOf(runSeed));
+        for (int i = 0; i < strips.size(); i++) {
+            transport.send(strips.get(i), new ProtocolMessage.AssignStrip(runNumber, width, height, runSeed, bandHeight, i, strips, strategies));
+        }
+    }
+
+    private void report(ProtocolMessage.StripDone done) {
+        if (coordinator == null) return;
+        lastReportAt = System.nanoTime();
+        if (!coordinator.accept(done.report())) return;
+        if (coordinator.nextPhase()) {
+            ProtocolMessage.PlayPhase play = new ProtocolMessage.PlayPhase(coordinator.round());
+            for (int i = 0; i < strips.size(); i++) {
+                if (coordinator.plays(i)) {
+                    transport.send(strips.get(i), play);
+                }
+            }
+            return;
+        }
+
+        SimulationResult result = coordinator.result();
+        results.add(result);
+        LOGGER.log(System.Logger.Level.INFO, "{0}", result);
+        if (runNumber < runs) {
+            startRun();
+            return;
+        }
+
+        SimulationReport summary = new SimulationReport(results, strips.size(), System.nanoTime() - start);
+        System.out.printf("Tabuleiro %dx%d, semente %d, estratégia %s, %d faixas em %d agentes%n",
+                width, height, seed, strategies, strips.size(), joined.size());
+        System.out.print(summary.summary());
+        for (String strip : joined) {
+            transport.send(strip, new ProtocolMessage.GameOver());
+        }
+        doDelete();
+    }
+
+    /** Uma faixa parou de responder: encerra as que restam e derruba a plataforma. */
+    private void abort() {
+        LOGGER.log(System.Logger.Level.ERROR, "Nenhum relatório de faixa em {0} s no ciclo {1} da partida {2}; simulação distribuída abortada.",
+                TimeUnit.MILLISECONDS.toSeconds(REPORT_TIMEOUT_MS), coordinator.round(), runNumber);
+        for (String strip : joined) {
+            transport.send(strip, new ProtocolMessage.GameOver());
+        }
+        doDelete();
+    }
+
+    private class ListenForStripReports extends CyclicBehaviour {
+        @Override
+        public void action() {
+            Envelope envelope = transport.receive();
+            if (envelope == null) {
+                block();
+                return;
+            }
+
+            switch (envelope.message()) {
+                case ProtocolMessage.JoinStrips joinStrips -> join(envelope.sender());
+                case ProtocolMessage.StripDone done -> report(done);
+                default -> {
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void takeDown() {
+        if (transport != null) {
+            transport.close();
+        }
+        try {
+            getContainerController().getPlatformController().kill();
+        } catch (ControllerException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "Erro ao tentar desligar a plataforma.", e);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.eucaria.agent;
+
+public enum TurnOrderEnum {
+    ROUND_ROBIN,
+    RANDOM_PERMUTATION
+}
@@ -0,0 +1,76 @@
+package br.com.eucaria.agent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Distribui turnos entre os participantes em rodadas: cada rodada entrega de
+ * uma vez todos os que podem jogar nela. Na ordem
+ * {@link TurnOrderEnum#ROUND_ROBIN} eles vêm na ordem de entrada; em
+ * {@link TurnOrderEnum#RANDOM_PERMUTATION} cada rodada sorteia uma permutação
+ * nova a partir da semente. Quem entra no meio de uma rodada joga a partir da
+ * seguinte.
+ */
+public class TurnScheduler<T> {
+
+    private final TurnOrderEnum order;
+    private final SplittableRandom random;
+    private final Set<T> participants = new LinkedHashSet<>();
+    private final Map<T, Integer> readyAtRound = new HashMap<>();
+    private int round = 0;
+
+    public TurnScheduler(TurnOrderEnum order, SplittableRandom random) {
+        this.order = order;
+        this.random = random;
+    }
+
+    public void add(T participant) {
+        participants.add(participant);
+    }
+
+    public void remove(T participant) {
+        participants.remove(participant);
+        readyAtRound.remove(participant);
+    }
+
+    /** O participante perde os seus turnos nas próximas {@code rounds} rodadas. */
+    public void rest(T participant, int rounds) {
+        readyAtRound.put(participant, round + rounds + 1);
+    }
+
+    /**
+     * Começa a próxima rodada e devolve, na ordem dela, os participantes que
+     * podem jogar; a lista vem vazia se todos estão descansando.
+     */
+    public List<T> nextRound() {
+        round++;
+        List<T> ready = new ArrayList<>(participants.size());
+        for (T participant : participants) {
+            if (readyAtRound.getOrDefault(participant, 0) <= round) {
+                ready.add(participant);
+            }
+        }
+        if (order == TurnOrderEnum.RANDOM_PERMUTATION) {
+            for (int i = ready.size() - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                T tmp = ready.get(i);
+                ready.set(i, ready.get(j));
+                ready.set(j, tmp);
+            }
+        }
+        return ready;
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    public boolean isEmpty() {
+        return participants.isEmpty();
+    }
+}
@@ -0,0 +1,216 @@
+package br.com.eucaria.engine;
+
+import br.com.eucaria.agent.MicrobeBrain;
+import br.com.eucaria.model.BitBoard;
+import br.com.eucaria.model.MicrobeColorEnum;
+import br.com.eucaria.model.Move;
+import br.com.eucaria.model.MoveTypeEnum;
+
+import br.com.eucaria.model.StartingPosition;
+import br.com.eucaria.strategy.StrategyProfile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Executa as mesmas regras do modo com agentes ({@link MicrobeBrain}, infecção
+ * do {@link BitBoard} e a condição de fim do {@code SimulationManagerAgent})
+ * em um laço fechado, sem JADE, mensagens ou temporizadores.
+ *
+ * Cada ciclo equivale a um tick de 1000 ms do modo com agentes: todo micróbio
+ * ativo decide uma vez, em ordem aleatória. Micróbios recém-criados e recém-
+ * infectados ficam parados pelo mesmo número de ticks que ficariam nos agentes.
+ *
+ * Toda a aleatoriedade sai de uma única semente: a ordem dos turnos usa um
+ * fluxo próprio e cada micróbio recebe um {@code split()} no momento em que é
+ * criado. A mesma semente reproduz a partida movimento a movimento.
+ */
+public class HeadlessSimulation {
+
+    public static final int MAX_ROUNDS = 10_000;
+    static final int SPAWN_DELAY_ROUNDS = 2;
+    static final int INFECTION_DELAY_ROUNDS = 2;
+
+    private final int runNumber;
+    private final BitBoard board;
+    private final Entity[] occupants;
+    private final List<Entity> population = new ArrayList<>();
+    private final PerceptionWindow window;
+    private final long seed;
+    private final SplittableRandom streams;
+    private final SplittableRandom turnOrder;
+    private MoveListener listener;
+    private StrategyProfile strategies = StrategyProfile.DEFAULT;
+
+    private int round = 0;
+    private int moves = 0;
+    private int nextId = 0;
+    private long traceHash = 0;
+    private boolean isGameOver = false;
+
+    public HeadlessSimulation(int runNumber, int width, int height, long seed) {
+        this.runNumber = runNumber;
+        this.board = new BitBoard(width, height);
+        this.occupants = new Entity[width * height];
+        this.window = new PerceptionWindow(board);
+        this.seed = seed;
+        this.streams = new SplittableRandom(seed);
+        this.turnOrder = streams.split();
+    }
+
+    public HeadlessSimulation placeInitialMicrobes() {
+        for (StartingPosition start : StartingPosition.corners(board.width(), board.height())) {
+            addMicrobe(start.x(), start.y(), start.color());
+        }
+        return this;
+    }
+
+    public HeadlessSimulation withListener(MoveListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    public HeadlessSimulation withStrategies(StrategyProfile strategies) {
+        this.strategies = strategies;
+        for (Entity entity : population) {
+            entity.brain.setStrategies(strategies);
+        }
+        return this;
+    }
+
+    public void addMicrobe(int x, int y, MicrobeColorEnum color) {
+        spawn(x, y, color, 0);
+    }
+
+    public SimulationResult run() {
+        long start = System.nanoTime();
+        while (!isGameOver && round < MAX_ROUNDS) {
+            round++;
+            int movesBefore = moves;
+            playRound();
+            // Só uma jogada trava o tabuleiro, e depois dela ninguém mais joga: conferir uma vez
+            // ao fim de cada rodada com jogadas dá o mesmo resultado que conferir a cada jogada.
+            if (!isGameOver && moves > movesBefore && board.isStalled()) {
+                isGameOver = true;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        int redCount = board.count(MicrobeColorEnum.RED);
+        int blueCount = board.count(MicrobeColorEnum.BLUE);
+        MicrobeColorEnum winner = MicrobeColorEnum.EMPTY;
+        if (redCount > blueCount) winner = MicrobeColorEnum.RED;
+        else if (blueCount > redCount) winner = MicrobeColorEnum.BLUE;
+
+        return new SimulationResult(runNumber, seed, winner, redCount, blueCount, round, moves, traceHash, elapsed);
+    }
+
+    public BitBoard getBoard() {
+        return board;
+    }
+
+    private void playRound() {
+        Entity[] order = population.toArray(new Entity[0]);
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = turnOrder.nextInt(i + 1);
+            Entity tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+
+        for (Entity entity : order) {
+            if (isGameOver) return;
+            if (entity.readyAtRound > round) continue;
+
+            MicrobeBrain brain = entity.brain;
+            Move move = brain.decideMove(window.centerOn(brain.getX(), brain.getY()));
+            if (move != null) {
+                applyMove(entity, move);
+            }
+        }
+    }
+
+    private void applyMove(Entity entity, Move move) {
+        MicrobeBrain brain = entity.brain;
+        MicrobeColorEnum color = brain.getColor();
+        brain.applyMoveCost(move.type());
+
+        if (move.type() == MoveTypeEnum.COPY) {
+            spawn(move.toX(), move.toY(), color, round + SPAWN_DELAY_ROUNDS);
+        } else {
+            board.clear(move.fromX(), move.fromY());
+            occupants[index(move.fromX(), move.fromY())] = null;
+            board.set(move.toX(), move.toY(), color);
+            occupants[index(move.toX(), move.toY())] = entity;
+            brain.updatePosition(move.toX(), move.toY());
+        }
+
+        int infectedMask = board.infect(move.toX(), move.toY(), color);
+        for (int mask = infectedMask; mask != 0; mask &= mask - 1) {
+            int b = Integer.numberOfTrailingZeros(mask);
+            Entity infected = occupants[index(BitBoard.maskX(b, move.toX()), BitBoard.maskY(b, move.toY()))];
+            infected.brain.setColor(color);
+            infected.readyAtRound = round + INFECTION_DELAY_ROUNDS;
+        }
+
+        moves++;
+        traceHash = mixTrace(traceHash, round, entity.id, move);
+        if (listener != null) {
+            listener.onMove(round, brain, move, infectedMask, board);
+        }
+        checkGameOver();
+    }
+
+    private void spawn(int x, int y, MicrobeColorEnum color, int readyAtRound) {
+        int id = nextId++;
+        MicrobeBrain brain = new MicrobeBrain(MicrobeBrain.nameFor(runNumber, id), x, y, color, streams.split());
+        brain.setStrategies(strategies);
+        Entity entity = new Entity(id, brain, readyAtRound);
+        board.set(x, y, color);
+        occupants[index(x, y)] = entity;
+        population.add(entity);
+    }
+
+    private void checkGameOver() {
+        int redCount = board.count(MicrobeColorEnum.RED);
+        int blueCount = board.count(MicrobeColorEnum.BLUE);
+        int totalCount = redCount + blueCount;
+
+        if ((redCount > 0 && blueCount == 0) || (blueCount > 0 && redCount == 0) || (totalCount >= board.width() * board.height())) {
+            isGameOver = true;
+        }
+    }
+
+    /**
+     * Cada par de campos ocupa uma word inteira antes de ser misturado, para
+     * que coordenadas e ids de qualquer tamanho não se sobreponham.
+     */
+    static long mixTrace(long hash, int round, int microbeId, Move move) {
+        long z = mix(hash ^ ((long) round << 32 | (microbeId & 0xFFFFFFFFL)));
+        z = mix(z ^ ((long) move.toY() << 32 | (move.toX() & 0xFFFFFFFFL)));
+        return mix(z ^ move.type().ordinal());
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    private int index(int x, int y) {
+        return y * board.width() + x;
+    }
+
+    private static final class Entity {
+        private final int id;
+        private final MicrobeBrain brain;
+        private int readyAtRound;
+
+        private Entity(int id, MicrobeBrain brain, int readyAtRound) {
+            this.id = id;
+            this.brain = brain;
+            this.readyAtRound = readyAtRound;
+        }
+    }
+}
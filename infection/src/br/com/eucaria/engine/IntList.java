@@ -0,0 +1,32 @@
+package br.com.eucaria.engine;
+
+import java.util.Arrays;
+
+/** Lista de {@code int} sem boxing, reaproveitada entre fases. */
+final class IntList {
+    private int[] values = new int[16];
+    private int size;
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    int get(int i) {
+        return values[i];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
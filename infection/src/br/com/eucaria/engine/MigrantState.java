@@ -0,0 +1,33 @@
+package br.com.eucaria.engine;
+
+import br.com.eucaria.agent.MicrobeBrain;
+import br.com.eucaria.model.MicrobeColorEnum;
+import br.com.eucaria.strategy.StrategyProfile;
+
+import java.io.Serializable;
+import java.util.SplittableRandom;
+
+/**
+ * Tudo o que um micróbio leva ao passar de uma faixa para outra. O gerador do
+ * cérebro não é serializável, então o micróbio sai com uma semente sorteada
+ * dele e recomeça do outro lado com um gerador novo; o
+ * {@link PartitionedSimulation} faz a mesma troca mesmo sem sair da JVM, para
+ * que as duas execuções joguem a mesma partida.
+ */
+public record MigrantState(int id, String name, int x, int y, MicrobeColorEnum color,
+                           int energy, double aggressiveness, double colonyCohesion,
+                           long seed, int readyAtRound, int playedRound) implements Serializable {
+
+    public static MigrantState capture(int id, MicrobeBrain brain, int readyAtRound, int playedRound) {
+        return new MigrantState(id, brain.getName(), brain.getX(), brain.getY(), brain.getColor(),
+                brain.getEnergy(), brain.getAggressiveness(), brain.getColonyCohesion(),
+                brain.getRandom().nextLong(), readyAtRound, playedRound);
+    }
+
+    public MicrobeBrain restore(StrategyProfile strategies) {
+        MicrobeBrain brain = new MicrobeBrain(name, x, y, color, new SplittableRandom(seed));
+        brain.restoreState(energy, aggressiveness, colonyCohesion);
+        brain.setStrategies(strategies);
+        return brain;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.eucaria.engine;
+
+import br.com.eucaria.agent.MicrobeBrain;
+import br.com.eucaria.model.BitBoard;
+import br.com.eucaria.model.Move;
+
+@FunctionalInterface
+public interface MoveListener {
+
+    /**
+     * Chamado depois que o movimento e a infecção foram aplicados.
+     * {@code infectedMask} segue o layout 3x3 de {@link BitBoard#neighbourMask}.
+     */
+    void onMove(int round, MicrobeBrain microbe, Move move, int infectedMask, BitBoard board);
+}
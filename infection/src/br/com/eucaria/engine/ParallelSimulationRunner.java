@@ -0,0 +1,85 @@
+package br.com.eucaria.engine;
+
+import br.com.eucaria.strategy.StrategyProfile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa partidas headless independentes em paralelo. Cada worker retira o
+ * próximo número de rodada de um contador compartilhado, então não há uma
+ * tarefa por partida nem contenção além de um incremento atômico. Cada
+ * partida tem tabuleiro próprio e semente derivada do número da rodada, de
+ * modo que o resultado não depende do número de threads.
+ */
+public class ParallelSimulationRunner {
+
+    private final int width;
+    private final int height;
+    private final long baseSeed;
+    private final int threads;
+    private final StrategyProfile strategies;
+
+    public ParallelSimulationRunner(int width, int height, long baseSeed, int threads) {
+        this(width, height, baseSeed, threads, StrategyProfile.DEFAULT);
+    }
+
+    public ParallelSimulationRunner(int width, int height, long baseSeed, int threads, StrategyProfile strategies) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Número de threads deve ser positivo: " + threads);
+        }
+        this.width = width;
+        this.height = height;
+        this.baseSeed = baseSeed;
+        this.threads = threads;
+        this.strategies = strategies;
+    }
+
+    public SimulationReport run(int runs) throws InterruptedException {
+        SimulationResult[] results = new SimulationResult[runs];
+        AtomicInteger nextRun = new AtomicInteger(1);
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    for (int run = nextRun.getAndIncrement(); run <= runs; run = nextRun.getAndIncrement()) {
+                        results[run - 1] = runSingle(run);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha em uma das partidas paralelas", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return new SimulationReport(Arrays.asList(results), threads, elapsed);
+    }
+
+    public SimulationResult runSingle(int run) {
+        return new HeadlessSimulation(run, width, height, seedFor(baseSeed, run))
+                .withStrategies(strategies)
+                .placeInitialMicrobes()
+                .run();
+    }
+
+    public static long seedFor(long baseSeed, int run) {
+        long z = baseSeed + run * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
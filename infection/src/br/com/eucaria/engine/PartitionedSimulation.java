@@ -0,0 +1,348 @@
+package br.com.eucaria.engine;
+
+import br.com.eucaria.agent.MicrobeBrain;
+import br.com.eucaria.model.BitBoard;
+import br.com.eucaria.model.MicrobeColorEnum;
+import br.com.eucaria.model.Move;
+import br.com.eucaria.model.MoveTypeEnum;
+import br.com.eucaria.model.PartitionedBoard;
+import br.com.eucaria.model.StartingPosition;
+import br.com.eucaria.strategy.StrategyProfile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * As regras do {@link HeadlessSimulation} para uma única partida em tabuleiro
+ * grande, dividida entre vários workers. O tabuleiro é cortado em faixas de
+ * linhas ({@link PartitionedBoard}) e cada faixa joga os seus micróbios, em
+ * ordem sorteada pelo fluxo da própria faixa. Cada ciclo tem duas fases: as
+ * faixas pares jogam juntas, depois as ímpares. Uma jogada alcança no máximo
+ * 3 linhas além do micróbio (salto a 2 casas e infecção a 1), então faixas de
+ * mesma paridade nunca tocam as mesmas casas e nenhum lock é preciso.
+ *
+ * Tudo o que passa de uma faixa para outra fica para o fim da fase e é
+ * aplicado na ordem das faixas: contagens e hash do tabuleiro, micróbios que
+ * saltaram para a faixa vizinha e os criados por cópia, que recebem aí o
+ * número e o {@code split()} do fluxo da faixa que os criou. Quem muda de
+ * faixa passa por um {@link MigrantState}, como no {@link StripShard}. Assim a
+ * partida depende só da semente e da altura das faixas, nunca do número de
+ * workers nem de onde as faixas rodam; com um worker as faixas rodam em
+ * sequência na thread que chamou e servem de referência.
+ * <p>
+ * Os resultados do {@link HeadlessSimulation} não são reproduzidos: a ordem
+ * dos turnos é por faixa, não a dele, então a mesma semente dá outra partida,
+ * com outro traço e, em geral, outro placar.
+ */
+public class PartitionedSimulation {
+
+    public static final int DEFAULT_BAND_HEIGHT = 16;
+
+    private final int runNumber;
+    private final BitBoard board;
+    private final PartitionedBoard partitions;
+    private final Entity[] occupants;
+    private final List<Entity> population = new ArrayList<>();
+    private final BandState[] bands;
+    private final long seed;
+    private final SplittableRandom streams;
+    private final int workers;
+    private int roundLimit = HeadlessSimulation.MAX_ROUNDS;
+    private StrategyProfile strategies = StrategyProfile.DEFAULT;
+
+    private int round = 0;
+    private int moves = 0;
+    private long traceHash = 0;
+    private boolean isGameOver = false;
+
+    public PartitionedSimulation(int runNumber, int width, int height, long seed, int workers) {
+        this(runNumber, width, height, seed, workers, DEFAULT_BAND_HEIGHT);
+    }
+
+    public PartitionedSimulation(int runNumber, int width, int height, long seed, int workers, int bandHeight) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Número de workers deve ser positivo: " + workers);
+        }
+        this.runNumber = runNumber;
+        this.board = new BitBoard(width, height);
+        this.partitions = new PartitionedBoard(board, Math.max(PartitionedBoard.MIN_BAND_HEIGHT, bandHeight));
+        this.occupants = new Entity[width * height];
+        this.seed = seed;
+        this.streams = new SplittableRandom(seed);
+        this.workers = workers;
+        this.bands = new BandState[partitions.bandCount()];
+        SplittableRandom turnOrder = streams.split();
+        SplittableRandom spawnStreams = streams.split();
+        for (int i = 0; i < bands.length; i++) {
+            bands[i] = new BandState(partitions.band(i), turnOrder.split(), spawnStreams.split());
+        }
+    }
+
+    public PartitionedSimulation placeInitialMicrobes() {
+        for (StartingPosition start : StartingPosition.corners(board.width(), board.height())) {
+            addMicrobe(start.x(), start.y(), start.color());
+        }
+        return this;
+    }
+
+    public PartitionedSimulation withRoundLimit(int roundLimit) {
+        this.roundLimit = roundLimit;
+        return this;
+    }
+
+    public PartitionedSimulation withStrategies(StrategyProfile strategies) {
+        this.strategies = strategies;
+        for (Entity entity : population) {
+            entity.brain.setStrategies(strategies);
+        }
+        return this;
+    }
+
+    public void addMicrobe(int x, int y, MicrobeColorEnum color) {
+        board.set(x, y, color);
+        spawn(bands[partitions.bandOf(y)], x, y, 0);
+    }
+
+    public SimulationResult run() {
+        long start = System.nanoTime();
+        ForkJoinPool pool = workers > 1 ? new ForkJoinPool(workers) : null;
+        try {
+            while (!isGameOver && round < roundLimit) {
+                round++;
+                int movesBefore = moves;
+                playPhase(pool, 0);
+                playPhase(pool, 1);
+                checkGameOver(moves > movesBefore);
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        int redCount = board.count(MicrobeColorEnum.RED);
+        int blueCount = board.count(MicrobeColorEnum.BLUE);
+        MicrobeColorEnum winner = MicrobeColorEnum.EMPTY;
+        if (redCount > blueCount) winner = MicrobeColorEnum.RED;
+        else if (blueCount > redCount) winner = MicrobeColorEnum.BLUE;
+
+        return new SimulationResult(runNumber, seed, winner, redCount, blueCount, round, moves, traceHash, elapsed);
+    }
+
+    public BitBoard getBoard() {
+        return board;
+    }
+
+    public int getPopulation() {
+        return population.size();
+    }
+
+    private void playPhase(ForkJoinPool pool, int parity) {
+        partitions.prepare();
+        if (pool == null) {
+            for (int i = parity; i < bands.length; i += 2) {
+                bands[i].play();
+            }
+        } else {
+            pool.invoke(new PhaseTask(parity));
+        }
+        partitions.commit();
+
+        for (int i = parity; i < bands.length; i += 2) {
+            BandState band = bands[i];
+            if (band.moves > 0) {
+                moves += band.moves;
+                traceHash = mixBand(traceHash, band.trace);
+                band.moves = 0;
+                band.trace = 0;
+            }
+            for (Entity migrant : band.departures) {
+                migrant.brain = MigrantState.capture(migrant.id, migrant.brain, migrant.readyAtRound, migrant.playedRound).restore(strategies);
+                bands[partitions.bandOf(migrant.brain.getY())].arrivals.add(migrant);
+            }
+            band.departures.clear();
+            for (int k = 0; k < band.spawns.size(); k += 2) {
+                spawn(band, band.spawns.get(k), band.spawns.get(k + 1), round + HeadlessSimulation.SPAWN_DELAY_ROUNDS);
+            }
+            band.spawns.clear();
+        }
+    }
+
+    /**
+     * Cria, pela faixa {@code origin}, o micróbio de uma casa já marcada no
+     * tabuleiro; a cor é a que a casa tem agora. Os números são contados por
+     * faixa e intercalados ({@link StripShard#idFor}).
+     */
+    private void spawn(BandState origin, int x, int y, int readyAtRound) {
+        int self = origin.band.index();
+        int id = StripShard.idFor(origin.spawned++, self, bands.length);
+        MicrobeBrain brain = new MicrobeBrain(MicrobeBrain.nameFor(runNumber, id), x, y, board.colorAt(x, y), origin.spawnStream.split());
+        brain.setStrategies(strategies);
+        if (partitions.bandOf(y) != self) {
+            brain = MigrantState.capture(id, brain, readyAtRound, 0).restore(strategies);
+        }
+        Entity entity = new Entity(id, brain, readyAtRound);
+        occupants[index(x, y)] = entity;
+        population.add(entity);
+        bands[partitions.bandOf(y)].arrivals.add(entity);
+    }
+
+    /**
+     * Sem jogadas no ciclo inteiro o tabuleiro não mudou, e só então se
+     * procura alguma jogada possível; o {@link StripShard} faz o mesmo, já que
+     * cada faixa só responde pelas próprias linhas.
+     */
+    private void checkGameOver(boolean anyMove) {
+        int redCount = board.count(MicrobeColorEnum.RED);
+        int blueCount = board.count(MicrobeColorEnum.BLUE);
+        int totalCount = redCount + blueCount;
+
+        if ((redCount > 0 && blueCount == 0) || (blueCount > 0 && redCount == 0) || (totalCount >= board.width() * board.height())) {
+            isGameOver = true;
+        } else if (!anyMove && board.isStalled()) {
+            isGameOver = true;
+        }
+    }
+
+    static long mixBand(long hash, long bandTrace) {
+        long z = hash * 0x100000001B3L ^ bandTrace;
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        return z ^ (z >>> 33);
+    }
+
+    private int index(int x, int y) {
+        return y * board.width() + x;
+    }
+
+    private final class PhaseTask extends RecursiveAction {
+        private final int parity;
+
+        private PhaseTask(int parity) {
+            this.parity = parity;
+        }
+
+        @Override
+        protected void compute() {
+            List<RecursiveAction> tasks = new ArrayList<>();
+            for (int i = parity; i < bands.length; i += 2) {
+                BandState band = bands[i];
+                tasks.add(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        band.play();
+                    }
+                });
+            }
+            invokeAll(tasks);
+        }
+    }
+
+    /**
+     * Estado de uma faixa, tocado só pelo worker que a joga durante a fase. Um
+     * micróbio pertence à faixa que o recebeu por último ({@code arrivals});
+     * quem saiu continua em {@code members} até a próxima vez que a faixa
+     * joga, quando é descartado.
+     */
+    private final class BandState {
+        private final PartitionedBoard.Band band;
+        private final SplittableRandom turnOrder;
+        private final SplittableRandom spawnStream;
+        private final PerceptionWindow window = new PerceptionWindow(board, false);
+        private final List<Entity> members = new ArrayList<>();
+        private final List<Entity> arrivals = new ArrayList<>();
+        private final List<Entity> departures = new ArrayList<>();
+        private final IntList spawns = new IntList();
+        private int moves;
+        private long trace;
+        private int spawned;
+
+        private BandState(PartitionedBoard.Band band, SplittableRandom turnOrder, SplittableRandom spawnStream) {
+            this.band = band;
+            this.turnOrder = turnOrder;
+            this.spawnStream = spawnStream;
+        }
+
+        private void play() {
+            int self = band.index();
+            members.removeIf(entity -> entity.band != self);
+            for (Entity entity : arrivals) {
+                entity.band = self;
+                members.add(entity);
+            }
+            arrivals.clear();
+
+            for (int i = members.size() - 1; i > 0; i--) {
+                int j = turnOrder.nextInt(i + 1);
+                Entity tmp = members.get(i);
+                members.set(i, members.get(j));
+                members.set(j, tmp);
+            }
+
+            for (int i = 0, n = members.size(); i < n; i++) {
+                Entity entity = members.get(i);
+                // Quem chegou de outra faixa neste ciclo já jogou lá.
+                if (entity.readyAtRound > round || entity.playedRound == round) continue;
+                entity.playedRound = round;
+
+                MicrobeBrain brain = entity.brain;
+                Move move = brain.decideMove(window.centerOn(brain.getX(), brain.getY()));
+                if (move != null) {
+                    applyMove(entity, move);
+                }
+            }
+        }
+
+        private void applyMove(Entity entity, Move move) {
+            MicrobeBrain brain = entity.brain;
+            MicrobeColorEnum color = brain.getColor();
+            brain.applyMoveCost(move.type());
+
+            if (move.type() == MoveTypeEnum.COPY) {
+                band.set(move.toX(), move.toY(), color);
+                spawns.add(move.toX());
+                spawns.add(move.toY());
+            } else {
+                band.clear(move.fromX(), move.fromY());
+                occupants[index(move.fromX(), move.fromY())] = null;
+                band.set(move.toX(), move.toY(), color);
+                occupants[index(move.toX(), move.toY())] = entity;
+                brain.updatePosition(move.toX(), move.toY());
+                if (partitions.bandOf(move.toY()) != band.index()) {
+                    departures.add(entity);
+                }
+            }
+
+            int infectedMask = band.infect(move.toX(), move.toY(), color);
+            for (int mask = infectedMask; mask != 0; mask &= mask - 1) {
+                int b = Integer.numberOfTrailingZeros(mask);
+                Entity infected = occupants[index(BitBoard.maskX(b, move.toX()), BitBoard.maskY(b, move.toY()))];
+                // Cópias desta fase ainda não têm micróbio; nascem com a cor final da casa.
+                if (infected != null) {
+                    infected.brain.setColor(color);
+                    infected.readyAtRound = round + HeadlessSimulation.INFECTION_DELAY_ROUNDS;
+                }
+            }
+
+            moves++;
+            trace = HeadlessSimulation.mixTrace(trace, round, entity.id, move);
+        }
+    }
+
+    private static final class Entity {
+        private final int id;
+        private MicrobeBrain brain;
+        private int readyAtRound;
+        private int playedRound;
+        private int band = -1;
+
+        private Entity(int id, MicrobeBrain brain, int readyAtRound) {
+            this.id = id;
+            this.brain = brain;
+            this.readyAtRound = readyAtRound;
+        }
+    }
+}
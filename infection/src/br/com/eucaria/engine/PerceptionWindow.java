@@ -0,0 +1,86 @@
+package br.com.eucaria.engine;
+
+import br.com.eucaria.model.BitBoard;
+import br.com.eucaria.model.BoardView;
+import br.com.eucaria.model.MicrobeColorEnum;
+
+/**
+ * Visão de raio fixo sobre um {@link BitBoard}, equivalente ao
+ * {@code Board.getLocalPerception} que o gerente envia aos agentes: fora da
+ * janela tudo é visto como vazio. A instância é reaproveitada entre turnos.
+ */
+public class PerceptionWindow implements BoardView {
+
+    public static final int RADIUS = 2;
+
+    private final BitBoard board;
+    private final boolean exposeHash;
+    private final int rowOffset;
+    private final int height;
+    private int centerX;
+    private int centerY;
+
+    public PerceptionWindow(BitBoard board) {
+        this(board, true);
+    }
+
+    /**
+     * Sem {@code exposeHash} a janela informa hash 0, e as estratégias não usam
+     * o cache de decisões: no {@link PartitionedSimulation} o hash do tabuleiro
+     * só é atualizado entre as fases.
+     */
+    PerceptionWindow(BitBoard board, boolean exposeHash) {
+        this(board, exposeHash, 0, board.height());
+    }
+
+    /**
+     * Janela sobre uma réplica parcial: {@code board} guarda as linhas a partir
+     * de {@code rowOffset} de um tabuleiro com {@code height} linhas, e as
+     * coordenadas recebidas são as do tabuleiro inteiro ({@link StripShard}).
+     */
+    PerceptionWindow(BitBoard board, boolean exposeHash, int rowOffset, int height) {
+        this.board = board;
+        this.exposeHash = exposeHash;
+        this.rowOffset = rowOffset;
+        this.height = height;
+    }
+
+    public PerceptionWindow centerOn(int x, int y) {
+        this.centerX = x;
+        this.centerY = y;
+        return this;
+    }
+
+    @Override
+    public boolean isOutOfBounds(int x, int y) {
+        return x < 0 || x >= board.width() || y < 0 || y >= height;
+    }
+
+    @Override
+    public MicrobeColorEnum getColorAt(int x, int y) {
+        return isVisible(x, y) ? board.colorAt(x, y - rowOffset) : MicrobeColorEnum.EMPTY;
+    }
+
+    @Override
+    public long zobristHash() {
+        return exposeHash ? board.zobristHash() : 0L;
+    }
+
+    @Override
+    public int countPotentialInfections(int x, int y, MicrobeColorEnum attackerColor) {
+        int mask = board.neighbourMask(x, y - rowOffset, MicrobeColorEnum.getOpponent(attackerColor)) & BitBoard.NEIGHBOURS;
+        if (Math.abs(x - centerX) >= RADIUS || Math.abs(y - centerY) >= RADIUS) {
+            for (int m = mask; m != 0; m &= m - 1) {
+                int b = Integer.numberOfTrailingZeros(m);
+                if (!isVisible(BitBoard.maskX(b, x), BitBoard.maskY(b, y))) {
+                    mask &= ~(1 << b);
+                }
+            }
+        }
+        return Integer.bitCount(mask);
+    }
+
+    private boolean isVisible(int x, int y) {
+        return Math.abs(x - centerX) <= RADIUS && Math.abs(y - centerY) <= RADIUS;
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.eucaria.engine;
+
+import br.com.eucaria.agent.MicrobeBrain;
+import br.com.eucaria.model.BitBoard;
+import br.com.eucaria.model.Move;
+
+import java.io.PrintStream;
+
+public class ReplayPrinter implements MoveListener {
+
+    private final PrintStream out;
+    private final boolean showBoard;
+
+    public ReplayPrinter(PrintStream out, boolean showBoard) {
+        this.out = out;
+        this.showBoard = showBoard;
+    }
+
+    @Override
+    public void onMove(int round, MicrobeBrain microbe, Move move, int infectedMask, BitBoard board) {
+        out.printf("Ciclo %d: %s (%s) realizou %s de (%d,%d) para (%d,%d), %d infectado(s)%n",
+                round, microbe.getName(), microbe.getColor(), move.type(),
+                move.fromX(), move.fromY(), move.toX(), move.toY(), Integer.bitCount(infectedMask));
+        if (showBoard) {
+            out.println(board);
+        }
+    }
+}
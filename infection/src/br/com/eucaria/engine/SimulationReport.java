@@ -0,0 +1,71 @@
+package br.com.eucaria.engine;
+
+import br.com.eucaria.model.MicrobeColorEnum;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public record SimulationReport(List<SimulationResult> results, int threads, long elapsedNanos) {
+
+    public int count(MicrobeColorEnum winner) {
+        int count = 0;
+        for (SimulationResult result : results) {
+            if (result.winner() == winner) count++;
+        }
+        return count;
+    }
+
+    public double averageRounds() {
+        return results.stream().mapToInt(SimulationResult::rounds).average().orElse(0);
+    }
+
+    public double averageMoves() {
+        return results.stream().mapToInt(SimulationResult::moves).average().orElse(0);
+    }
+
+    public double averageRunMillis() {
+        return results.stream().mapToLong(SimulationResult::elapsedNanos).average().orElse(0) / 1_000_000.0;
+    }
+
+    public double gamesPerMinute() {
+        return results.size() / (elapsedNanos / 1_000_000_000.0) * 60;
+    }
+
+    /** Impressão digital das partidas em ordem; muda se qualquer movimento mudar. */
+    public long fingerprint() {
+        long fingerprint = 17;
+        for (SimulationResult result : results) {
+            fingerprint = fingerprint * 31 + result.traceHash();
+        }
+        return fingerprint;
+    }
+
+    public String summary() {
+        return String.format(
+                "Partidas: %d em %d threads%n" +
+                "VERMELHO: %d | AZUL: %d | EMPATES: %d%n" +
+                "Média por partida: %.1f ciclos, %.1f movimentos, %.3f ms%n" +
+                "Tempo total: %.3f s (%.0f partidas/min)%n" +
+                "Impressão digital: %016x%n",
+                results.size(), threads,
+                count(MicrobeColorEnum.RED), count(MicrobeColorEnum.BLUE), count(MicrobeColorEnum.EMPTY),
+                averageRounds(), averageMoves(), averageRunMillis(),
+                elapsedNanos / 1_000_000_000.0, gamesPerMinute(), fingerprint()
+        );
+    }
+
+    public void writeCsv(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            writer.write("run,seed,winner,red,blue,rounds,moves,trace,elapsed_ns\n");
+            for (SimulationResult result : results) {
+                writer.write(result.runNumber() + "," + result.seed() + "," + result.winner() + ","
+                        + result.redCount() + "," + result.blueCount() + "," + result.rounds() + ","
+                        + result.moves() + "," + Long.toHexString(result.traceHash()) + ","
+                        + result.elapsedNanos() + "\n");
+            }
+        }
+    }
+}
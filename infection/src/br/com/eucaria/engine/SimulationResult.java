@@ -0,0 +1,26 @@
+package br.com.eucaria.engine;
+
+import br.com.eucaria.model.MicrobeColorEnum;
+
+public record SimulationResult(
+        int runNumber,
+        long seed,
+        MicrobeColorEnum winner,
+        int redCount,
+        int blueCount,
+        int rounds,
+        int moves,
+        long traceHash,
+        long elapsedNanos
+) {
+    public boolean isDraw() {
+        return winner == MicrobeColorEnum.EMPTY;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Rodada %d (semente %d): %s (VERMELHO %d x AZUL %d) em %d ciclos, %d movimentos, traço %016x, %.3f ms",
+                runNumber, seed, isDraw() ? "EMPATE" : "VENCEDOR " + winner, redCount, blueCount,
+                rounds, moves, traceHash, elapsedNanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,140 @@
+package br.com.eucaria.engine;
+
+import br.com.eucaria.model.MicrobeColorEnum;
+
+/**
+ * O relógio da simulação distribuída: diz que faixas jogam cada fase e junta
+ * os {@link StripReport} na ordem das faixas, como o
+ * {@link PartitionedSimulation} faz com as suas. Não sabe nada do tabuleiro
+ * além das contagens; quem leva as mensagens é o {@code StripCoordinatorAgent}.
+ */
+public class StripCoordinator {
+
+    private final int runNumber;
+    private final int width;
+    private final int height;
+    private final long seed;
+    private final StripReport[] reports;
+    private int roundLimit = HeadlessSimulation.MAX_ROUNDS;
+
+    private int redCount;
+    private int blueCount;
+    private int round = 0;
+    private int parity = 1;
+    private int pendingReports;
+    private int moves = 0;
+    private int roundMoves;
+    private boolean anyCanMove;
+    private long traceHash = 0;
+    private boolean isGameOver = false;
+    private long start;
+
+    public StripCoordinator(int runNumber, int width, int height, long seed, int bandHeight) {
+        this.runNumber = runNumber;
+        this.width = width;
+        this.height = height;
+        this.seed = seed;
+        this.reports = new StripReport[StripShard.stripCount(height, bandHeight)];
+        this.pendingReports = reports.length;
+    }
+
+    public StripCoordinator withRoundLimit(int roundLimit) {
+        this.roundLimit = roundLimit;
+        return this;
+    }
+
+    public int stripCount() {
+        return reports.length;
+    }
+
+    public int round() {
+        return round;
+    }
+
+    public int parity() {
+        return parity;
+    }
+
+    /**
+     * Guarda o relatório de uma faixa: os de prontidão (ciclo 0) antes da
+     * partida, depois os da fase corrente. Devolve {@code true} quando a
+     * última faixa esperada respondeu.
+     */
+    public boolean accept(StripReport report) {
+        if (report.round() != round || reports[report.index()] != null) {
+            throw new IllegalStateException("Relatório inesperado da faixa " + report.index() + " no ciclo " + report.round());
+        }
+        reports[report.index()] = report;
+        return --pendingReports == 0;
+    }
+
+    /**
+     * Fecha a fase corrente e abre a próxima. Devolve {@code false} quando a
+     * partida acabou; senão {@link #round()} e {@link #parity()} dizem quem joga.
+     */
+    public boolean nextPhase() {
+        if (pendingReports != 0) {
+            throw new IllegalStateException("Faltam " + pendingReports + " faixas na fase " + parity + " do ciclo " + round);
+        }
+        for (int i = 0; i < reports.length; i++) {
+            StripReport report = reports[i];
+            if (report == null) continue;
+            redCount += report.redDelta();
+            blueCount += report.blueDelta();
+            if (report.moves() > 0) {
+                moves += report.moves();
+                roundMoves += report.moves();
+                traceHash = PartitionedSimulation.mixBand(traceHash, report.trace());
+            }
+            anyCanMove |= report.redCanMove() || report.blueCanMove();
+            reports[i] = null;
+        }
+
+        if (round == 0) {
+            start = System.nanoTime();
+        }
+        if (parity == 1 || reports.length == 1) {
+            if (round > 0) {
+                checkGameOver();
+            }
+            if (isGameOver || round >= roundLimit) {
+                isGameOver = true;
+                return false;
+            }
+            round++;
+            parity = 0;
+            roundMoves = 0;
+            anyCanMove = false;
+        } else {
+            parity = 1;
+        }
+        pendingReports = (reports.length - parity + 1) / 2;
+        return true;
+    }
+
+    /** Se a faixa {@code index} joga a fase corrente. */
+    public boolean plays(int index) {
+        return index % 2 == parity;
+    }
+
+    public boolean isGameOver() {
+        return isGameOver;
+    }
+
+    public SimulationResult result() {
+        MicrobeColorEnum winner = MicrobeColorEnum.EMPTY;
+        if (redCount > blueCount) winner = MicrobeColorEnum.RED;
+        else if (blueCount > redCount) winner = MicrobeColorEnum.BLUE;
+        return new SimulationResult(runNumber, seed, winner, redCount, blueCount, round, moves, traceHash, System.nanoTime() - start);
+    }
+
+    /** As mesmas regras do {@link PartitionedSimulation}, com as contagens somadas dos relatórios. */
+    private void checkGameOver() {
+        int totalCount = redCount + blueCount;
+        if ((redCount > 0 && blueCount == 0) || (blueCount > 0 && redCount == 0) || (totalCount >= width * height)) {
+            isGameOver = true;
+        } else if (roundMoves == 0 && !anyCanMove) {
+            isGameOver = true;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.eucaria.engine;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * O que uma faixa manda à vizinha ao fim da sua fase: as linhas da borda
+ * ({@code red}/{@code blue} a partir de {@code firstRow}, como em
+ * {@code BitBoard.copyRows}), as infecções de micróbios da vizinha em triplas
+ * {@code x, y, cor}, e os micróbios que passaram para ela ou nasceram nela,
+ * na ordem em que a faixa os produziu. {@code runNumber} descarta as bordas
+ * que chegarem atrasadas de uma partida anterior.
+ */
+public record StripHandover(int runNumber, int from, int to, int round, int firstRow, long[] red, long[] blue, int[] infections,
+                            List<MigrantState> departures, List<MigrantState> spawns) implements Serializable {
+}
@@ -0,0 +1,13 @@
+package br.com.eucaria.engine;
+
+import java.io.Serializable;
+
+/**
+ * Resumo de uma fase de uma faixa para o {@link StripCoordinator}: jogadas,
+ * traço e a diferença nas contagens. {@code redCanMove}/{@code blueCanMove}
+ * só são calculados numa fase sem jogadas; no ciclo 0 o relatório traz as
+ * contagens iniciais das linhas da faixa.
+ */
+public record StripReport(int index, int round, int moves, long trace, int redDelta, int blueDelta,
+                          boolean redCanMove, boolean blueCanMove) implements Serializable {
+}
@@ -0,0 +1,371 @@
+package br.com.eucaria.engine;
+
+import br.com.eucaria.agent.MicrobeBrain;
+import br.com.eucaria.model.BitBoard;
+import br.com.eucaria.model.MicrobeColorEnum;
+import br.com.eucaria.model.Move;
+import br.com.eucaria.model.MoveTypeEnum;
+import br.com.eucaria.model.PartitionedBoard;
+import br.com.eucaria.model.StartingPosition;
+import br.com.eucaria.strategy.StrategyProfile;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Uma faixa do {@link PartitionedSimulation} que roda sozinha, sem o
+ * tabuleiro inteiro: guarda só as suas linhas e {@link PartitionedBoard#HALO}
+ * linhas de cada vizinha, e os micróbios que vivem nas suas linhas. É a parte
+ * da simulação distribuída que não depende do JADE; o {@code StripAgent}
+ * apenas a leva de um contêiner a outro.
+ * <p>
+ * Ao fim de cada fase a faixa monta um {@link StripHandover} para cada
+ * vizinha, com as linhas da borda, as infecções de micróbios dela e os
+ * micróbios que passaram para as linhas dela, e só joga a fase seguinte
+ * depois de receber os das vizinhas. Os fluxos de sorteio e a numeração são
+ * os da faixa de mesmo índice no {@link PartitionedSimulation}, então a
+ * partida e o traço são os mesmos com faixas da mesma altura.
+ */
+public class StripShard {
+
+    private final int runNumber;
+    private final int width;
+    private final int height;
+    private final int bandHeight;
+    private final int index;
+    private final int stripCount;
+    private final int firstRow;
+    private final int endRow;
+    private final int rowOffset;
+    private final BitBoard replica;
+    private final Entity[] occupants;
+    private final PerceptionWindow window;
+    private final SplittableRandom turnOrder;
+    private final SplittableRandom spawnStream;
+    private final StrategyProfile strategies;
+
+    private final List<Entity> members = new ArrayList<>();
+    private final List<Entity> arrivals = new ArrayList<>();
+    private final List<Entity> departures = new ArrayList<>();
+    private final List<StripHandover> pending = new ArrayList<>();
+    private final List<StripHandover> outgoing = new ArrayList<>();
+    private final IntList spawns = new IntList();
+    private final IntList infectionsUp = new IntList();
+    private final IntList infectionsDown = new IntList();
+    private int spawned;
+    private int round;
+
+    public StripShard(int runNumber, int width, int height, long seed, int bandHeight, int index, StrategyProfile strategies) {
+        this.runNumber = runNumber;
+        this.width = width;
+        this.height = height;
+        this.bandHeight = Math.max(PartitionedBoard.MIN_BAND_HEIGHT, bandHeight);
+        this.stripCount = stripCount(height, bandHeight);
+        if (index < 0 || index >= stripCount) {
+            throw new IllegalArgumentException("Faixa " + index + " fora das " + stripCount + " faixas do tabuleiro");
+        }
+        this.index = index;
+        this.firstRow = index * this.bandHeight;
+        this.endRow = Math.min(height, firstRow + this.bandHeight);
+        this.rowOffset = Math.max(0, firstRow - PartitionedBoard.HALO);
+        int windowRows = Math.min(height, endRow + PartitionedBoard.HALO) - rowOffset;
+        this.replica = new BitBoard(width, windowRows);
+        this.occupants = new Entity[width * windowRows];
+        this.window = new PerceptionWindow(replica, false, rowOffset, height);
+        this.strategies = strategies;
+
+        // Refaz os split() do PartitionedSimulation até chegar à faixa desta.
+        SplittableRandom streams = new SplittableRandom(seed);
+        SplittableRandom turnOrders = streams.split();
+        SplittableRandom spawnStreams = streams.split();
+        SplittableRandom ownTurnOrder = null;
+        SplittableRandom ownSpawnStream = null;
+        for (int i = 0; i <= index; i++) {
+            ownTurnOrder = turnOrders.split();
+            ownSpawnStream = spawnStreams.split();
+        }
+        this.turnOrder = ownTurnOrder;
+        this.spawnStream = ownSpawnStream;
+    }
+
+    public static int stripCount(int height, int bandHeight) {
+        int rows = Math.max(PartitionedBoard.MIN_BAND_HEIGHT, bandHeight);
+        return (height + rows - 1) / rows;
+    }
+
+    /** Número do {@code local}-ésimo micróbio criado pela faixa {@code index}, único no tabuleiro. */
+    static int idFor(int local, int index, int stripCount) {
+        return local * stripCount + index;
+    }
+
+    public int index() {
+        return index;
+    }
+
+    public int stripCount() {
+        return stripCount;
+    }
+
+    public int firstRow() {
+        return firstRow;
+    }
+
+    public int endRow() {
+        return endRow;
+    }
+
+    public StripShard placeInitialMicrobes() {
+        for (StartingPosition start : StartingPosition.corners(width, height)) {
+            addMicrobe(start.x(), start.y(), start.color());
+        }
+        return this;
+    }
+
+    /**
+     * Coloca um micróbio inicial. Todas as faixas recebem a mesma sequência:
+     * quem alcança a casa a marca na réplica, e só a dona cria o micróbio.
+     */
+    public void addMicrobe(int x, int y, MicrobeColorEnum color) {
+        if (y < rowOffset || y - rowOffset >= replica.height()) return;
+        replica.set(x, y - rowOffset, color);
+        if (stripOf(y) == index) {
+            int id = nextId();
+            Entity entity = new Entity(id, newBrain(id, x, y), 0);
+            occupants[local(x, y)] = entity;
+            arrivals.add(entity);
+        }
+    }
+
+    /** Contagens iniciais das linhas da faixa, antes do primeiro ciclo. */
+    public StripReport readyReport() {
+        return new StripReport(index, 0, 0, 0L, countOwn(MicrobeColorEnum.RED), countOwn(MicrobeColorEnum.BLUE), true, true);
+    }
+
+    public void receive(StripHandover handover) {
+        if (handover.runNumber() != runNumber) return;
+        pending.add(handover);
+    }
+
+    /** Se já chegaram as passagens das vizinhas que jogaram a fase anterior à do ciclo {@code round}. */
+    public boolean isReadyFor(int round) {
+        int expected = (index % 2 == 0 && round == 1) ? 0 : (index > 0 ? 1 : 0) + (index < stripCount - 1 ? 1 : 0);
+        return pending.size() >= expected;
+    }
+
+    /** Passagens para as vizinhas montadas na última fase jogada. */
+    public List<StripHandover> outgoing() {
+        return outgoing;
+    }
+
+    public StripReport play(int round) {
+        if (!isReadyFor(round)) {
+            throw new IllegalStateException("Faixa " + index + " sem as passagens das vizinhas para o ciclo " + round);
+        }
+        this.round = round;
+        pending.sort(Comparator.comparingInt(StripHandover::from));
+        for (StripHandover handover : pending) {
+            apply(handover);
+        }
+        pending.clear();
+
+        int redBefore = replica.count(MicrobeColorEnum.RED);
+        int blueBefore = replica.count(MicrobeColorEnum.BLUE);
+        int moves = 0;
+        long trace = 0;
+
+        members.removeIf(entity -> entity.departed);
+        members.addAll(arrivals);
+        arrivals.clear();
+
+        for (int i = members.size() - 1; i > 0; i--) {
+            int j = turnOrder.nextInt(i + 1);
+            Entity tmp = members.get(i);
+            members.set(i, members.get(j));
+            members.set(j, tmp);
+        }
+
+        for (int i = 0, n = members.size(); i < n; i++) {
+            Entity entity = members.get(i);
+            if (entity.readyAtRound > round || entity.playedRound == round) continue;
+            entity.playedRound = round;
+
+            MicrobeBrain brain = entity.brain;
+            Move move = brain.decideMove(window.centerOn(brain.getX(), brain.getY()));
+            if (move != null) {
+                applyMove(entity, move);
+                moves++;
+                trace = HeadlessSimulation.mixTrace(trace, round, entity.id, move);
+            }
+        }
+
+        boolean redCanMove = true;
+        boolean blueCanMove = true;
+        if (moves == 0) {
+            redCanMove = replica.hasLegalMove(MicrobeColorEnum.RED, firstRow - rowOffset, endRow - rowOffset);
+            blueCanMove = replica.hasLegalMove(MicrobeColorEnum.BLUE, firstRow - rowOffset, endRow - rowOffset);
+        }
+        StripReport report = new StripReport(index, round, moves, trace,
+                replica.count(MicrobeColorEnum.RED) - redBefore, replica.count(MicrobeColorEnum.BLUE) - blueBefore,
+                redCanMove, blueCanMove);
+        buildHandovers();
+        return report;
+    }
+
+    private void apply(StripHandover handover) {
+        replica.pasteRows(handover.firstRow() - rowOffset, handover.red(), handover.blue());
+        int[] infections = handover.infections();
+        for (int k = 0; k < infections.length; k += 3) {
+            Entity infected = occupants[local(infections[k], infections[k + 1])];
+            if (infected != null) {
+                infected.brain.setColor(MicrobeColorEnum.values()[infections[k + 2]]);
+                infected.readyAtRound = handover.round() + HeadlessSimulation.INFECTION_DELAY_ROUNDS;
+            }
+        }
+        for (MigrantState state : handover.departures()) {
+            arrive(state);
+        }
+        for (MigrantState state : handover.spawns()) {
+            arrive(state);
+        }
+    }
+
+    private void arrive(MigrantState state) {
+        Entity entity = new Entity(state.id(), state.restore(strategies), state.readyAtRound());
+        entity.playedRound = state.playedRound();
+        occupants[local(state.x(), state.y())] = entity;
+        arrivals.add(entity);
+    }
+
+    private void applyMove(Entity entity, Move move) {
+        MicrobeBrain brain = entity.brain;
+        MicrobeColorEnum color = brain.getColor();
+        brain.applyMoveCost(move.type());
+
+        if (move.type() == MoveTypeEnum.COPY) {
+            replica.set(move.toX(), move.toY() - rowOffset, color);
+            spawns.add(move.toX());
+            spawns.add(move.toY());
+        } else {
+            replica.clear(move.fromX(), move.fromY() - rowOffset);
+            occupants[local(move.fromX(), move.fromY())] = null;
+            replica.set(move.toX(), move.toY() - rowOffset, color);
+            occupants[local(move.toX(), move.toY())] = entity;
+            brain.updatePosition(move.toX(), move.toY());
+            if (stripOf(move.toY()) != index) {
+                departures.add(entity);
+            }
+        }
+
+        int infectedMask = replica.infect(move.toX(), move.toY() - rowOffset, color);
+        for (int mask = infectedMask; mask != 0; mask &= mask - 1) {
+            int b = Integer.numberOfTrailingZeros(mask);
+            int x = BitBoard.maskX(b, move.toX());
+            int y = BitBoard.maskY(b, move.toY());
+            Entity infected = occupants[local(x, y)];
+            if (infected != null) {
+                infected.brain.setColor(color);
+                infected.readyAtRound = round + HeadlessSimulation.INFECTION_DELAY_ROUNDS;
+            } else if (y < firstRow || y >= endRow) {
+                // Micróbio da vizinha, que só ela conhece; cópias desta fase não têm micróbio ainda.
+                IntList infections = y < firstRow ? infectionsUp : infectionsDown;
+                infections.add(x);
+                infections.add(y);
+                infections.add(color.ordinal());
+            }
+        }
+    }
+
+    private void buildHandovers() {
+        List<MigrantState> departingUp = new ArrayList<>();
+        List<MigrantState> departingDown = new ArrayList<>();
+        for (Entity migrant : departures) {
+            MicrobeBrain brain = migrant.brain;
+            occupants[local(brain.getX(), brain.getY())] = null;
+            migrant.departed = true;
+            MigrantState state = MigrantState.capture(migrant.id, brain, migrant.readyAtRound, migrant.playedRound);
+            (brain.getY() < firstRow ? departingUp : departingDown).add(state);
+        }
+        departures.clear();
+
+        List<MigrantState> spawnedUp = new ArrayList<>();
+        List<MigrantState> spawnedDown = new ArrayList<>();
+        int readyAtRound = round + HeadlessSimulation.SPAWN_DELAY_ROUNDS;
+        for (int k = 0; k < spawns.size(); k += 2) {
+            int x = spawns.get(k);
+            int y = spawns.get(k + 1);
+            int id = nextId();
+            MicrobeBrain brain = newBrain(id, x, y);
+            if (stripOf(y) == index) {
+                Entity entity = new Entity(id, brain, readyAtRound);
+                occupants[local(x, y)] = entity;
+                arrivals.add(entity);
+            } else {
+                (y < firstRow ? spawnedUp : spawnedDown).add(MigrantState.capture(id, brain, readyAtRound, 0));
+            }
+        }
+        spawns.clear();
+
+        outgoing.clear();
+        if (index > 0) {
+            outgoing.add(handover(index - 1, firstRow, infectionsUp, departingUp, spawnedUp));
+        }
+        if (index < stripCount - 1) {
+            outgoing.add(handover(index + 1, endRow, infectionsDown, departingDown, spawnedDown));
+        }
+        infectionsUp.clear();
+        infectionsDown.clear();
+    }
+
+    /** As {@link PartitionedBoard#HALO} linhas de cada lado de {@code border}, que as duas faixas enxergam. */
+    private StripHandover handover(int to, int border, IntList infections, List<MigrantState> departing, List<MigrantState> spawned) {
+        int first = Math.max(0, border - PartitionedBoard.HALO);
+        int rows = Math.min(height, border + PartitionedBoard.HALO) - first;
+        return new StripHandover(runNumber, index, to, round, first,
+                replica.copyRows(MicrobeColorEnum.RED, first - rowOffset, rows),
+                replica.copyRows(MicrobeColorEnum.BLUE, first - rowOffset, rows),
+                infections.toArray(), departing, spawned);
+    }
+
+    private MicrobeBrain newBrain(int id, int x, int y) {
+        MicrobeBrain brain = new MicrobeBrain(MicrobeBrain.nameFor(runNumber, id), x, y,
+                replica.colorAt(x, y - rowOffset), spawnStream.split());
+        brain.setStrategies(strategies);
+        return brain;
+    }
+
+    private int nextId() {
+        return idFor(spawned++, index, stripCount);
+    }
+
+    private int countOwn(MicrobeColorEnum color) {
+        int count = 0;
+        for (long word : replica.copyRows(color, firstRow - rowOffset, endRow - firstRow)) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private int stripOf(int y) {
+        return y / bandHeight;
+    }
+
+    private int local(int x, int y) {
+        return (y - rowOffset) * width + x;
+    }
+
+    private static final class Entity {
+        private final int id;
+        private final MicrobeBrain brain;
+        private int readyAtRound;
+        private int playedRound;
+        private boolean departed;
+
+        private Entity(int id, MicrobeBrain brain, int readyAtRound) {
+            this.id = id;
+            this.brain = brain;
+            this.readyAtRound = readyAtRound;
+        }
+    }
+}
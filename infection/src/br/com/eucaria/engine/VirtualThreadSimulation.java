@@ -0,0 +1,314 @@
+package br.com.eucaria.engine;
+
+import br.com.eucaria.agent.MicrobeBrain;
+import br.com.eucaria.model.BitBoard;
+import br.com.eucaria.model.MicrobeColorEnum;
+import br.com.eucaria.model.Move;
+import br.com.eucaria.model.MoveTypeEnum;
+import br.com.eucaria.model.Perception;
+import br.com.eucaria.model.StartingPosition;
+import br.com.eucaria.strategy.StrategyProfile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Um ator por micróbio, cada um na sua virtual thread, falando com o árbitro
+ * por caixas de mensagens em memória em vez de mensagens ACL. Esperar pela
+ * percepção ou pela resposta a uma proposta é só um {@code take()} na caixa
+ * do ator, que estaciona a virtual thread sem ocupar uma thread do sistema.
+ *
+ * A cada ciclo o árbitro envia a percepção a todos os micróbios prontos, que
+ * decidem em paralelo sobre a mesma foto do tabuleiro. As propostas são então
+ * arbitradas na ordem sorteada do ciclo, como o manager faz com as propostas
+ * ACL: uma casa já ocupada rejeita a jogada. Os atrasos de criação e infecção
+ * são os do {@link HeadlessSimulation}, e a ordem fixa de arbitragem mantém a
+ * partida reproduzível pela semente, por mais que as decisões cheguem fora de
+ * ordem.
+ */
+public class VirtualThreadSimulation {
+
+    private static final System.Logger LOGGER = System.getLogger(VirtualThreadSimulation.class.getName());
+    private static final int MAILBOX_CAPACITY = 16;
+
+    private final int runNumber;
+    private final BitBoard board;
+    private final Actor[] occupants;
+    private final List<Actor> population = new ArrayList<>();
+    private final BlockingQueue<Reply> inbox = new LinkedBlockingQueue<>();
+    private final long seed;
+    private final SplittableRandom streams;
+    private final SplittableRandom turnOrder;
+
+    private int round = 0;
+    private int moves = 0;
+    private int rejected = 0;
+    private int peakPopulation = 0;
+    private long traceHash = 0;
+    private boolean isGameOver = false;
+    private int roundLimit = HeadlessSimulation.MAX_ROUNDS;
+    private StrategyProfile strategies = StrategyProfile.DEFAULT;
+
+    private sealed interface Command permits Turn, Accepted, Rejected, Converted, GameOver {
+    }
+
+    private record Turn(int slot, Perception perception) implements Command {
+    }
+
+    private record Accepted(Move move) implements Command {
+    }
+
+    private record Rejected() implements Command {
+    }
+
+    private record Converted(MicrobeColorEnum color) implements Command {
+    }
+
+    private record GameOver() implements Command {
+    }
+
+    /** Resposta a um turno: a jogada proposta, ou {@code null} para passar. */
+    private record Reply(int slot, Move move) {
+    }
+
+    public VirtualThreadSimulation(int runNumber, int width, int height, long seed) {
+        this.runNumber = runNumber;
+        this.board = new BitBoard(width, height);
+        this.occupants = new Actor[width * height];
+        this.seed = seed;
+        this.streams = new SplittableRandom(seed);
+        this.turnOrder = streams.split();
+    }
+
+    public VirtualThreadSimulation placeInitialMicrobes() {
+        for (StartingPosition start : StartingPosition.corners(board.width(), board.height())) {
+            addMicrobe(start.x(), start.y(), start.color());
+        }
+        return this;
+    }
+
+    public VirtualThreadSimulation withRoundLimit(int roundLimit) {
+        this.roundLimit = roundLimit;
+        return this;
+    }
+
+    public VirtualThreadSimulation withStrategies(StrategyProfile strategies) {
+        this.strategies = strategies;
+        for (Actor actor : population) {
+            actor.brain.setStrategies(strategies);
+        }
+        return this;
+    }
+
+    public void addMicrobe(int x, int y, MicrobeColorEnum color) {
+        spawn(x, y, color, 0);
+    }
+
+    public SimulationResult run() throws InterruptedException {
+        long start = System.nanoTime();
+        // O árbitro também roda numa virtual thread: a troca com os atores fica entre continuações, sem acordar threads do sistema.
+        Thread arbiter = Thread.ofVirtual().name("arbiter-" + runNumber).start(this::arbitrate);
+        arbiter.join();
+        long elapsed = System.nanoTime() - start;
+
+        int redCount = board.count(MicrobeColorEnum.RED);
+        int blueCount = board.count(MicrobeColorEnum.BLUE);
+        MicrobeColorEnum winner = MicrobeColorEnum.EMPTY;
+        if (redCount > blueCount) winner = MicrobeColorEnum.RED;
+        else if (blueCount > redCount) winner = MicrobeColorEnum.BLUE;
+
+        return new SimulationResult(runNumber, seed, winner, redCount, blueCount, round, moves, traceHash, elapsed);
+    }
+
+    private void arbitrate() {
+        try {
+            try {
+                while (!isGameOver && round < roundLimit) {
+                    round++;
+                    int movesBefore = moves;
+                    playRound();
+                    // Só uma jogada trava o tabuleiro, e depois dela ninguém mais joga: conferir uma vez
+                    // ao fim de cada rodada com jogadas dá o mesmo resultado que conferir a cada jogada.
+                    if (!isGameOver && moves > movesBefore && board.isStalled()) {
+                        isGameOver = true;
+                    }
+                    peakPopulation = Math.max(peakPopulation, population.size());
+                }
+            } finally {
+                shutdown();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public BitBoard getBoard() {
+        return board;
+    }
+
+    public int getPeakPopulation() {
+        return peakPopulation;
+    }
+
+    public int getRejectedCount() {
+        return rejected;
+    }
+
+    private void playRound() throws InterruptedException {
+        List<Actor> ready = new ArrayList<>(population.size());
+        for (Actor actor : population) {
+            if (actor.readyAtRound <= round) ready.add(actor);
+        }
+        for (int i = ready.size() - 1; i > 0; i--) {
+            int j = turnOrder.nextInt(i + 1);
+            ready.set(i, ready.set(j, ready.get(i)));
+        }
+
+        for (int slot = 0; slot < ready.size(); slot++) {
+            Actor actor = ready.get(slot);
+            actor.mailbox.put(new Turn(slot, Perception.of(board, actor.x, actor.y, Perception.DEFAULT_RADIUS)));
+        }
+
+        Move[] proposals = new Move[ready.size()];
+        for (int pending = ready.size(); pending > 0; pending--) {
+            Reply reply = inbox.take();
+            proposals[reply.slot()] = reply.move();
+        }
+
+        for (int slot = 0; slot < proposals.length; slot++) {
+            Move move = proposals[slot];
+            if (move == null) continue;
+            Actor actor = ready.get(slot);
+            if (isGameOver || !board.isEmpty(move.toX(), move.toY())) {
+                rejected++;
+                actor.mailbox.put(new Rejected());
+            } else {
+                applyMove(actor, move);
+            }
+        }
+    }
+
+    private void applyMove(Actor actor, Move move) throws InterruptedException {
+        // A cor vale a do tabuleiro no momento da arbitragem: o micróbio pode ter sido infectado depois de decidir.
+        MicrobeColorEnum color = board.colorAt(actor.x, actor.y);
+        actor.mailbox.put(new Accepted(move));
+
+        if (move.type() == MoveTypeEnum.COPY) {
+            spawn(move.toX(), move.toY(), color, round + HeadlessSimulation.SPAWN_DELAY_ROUNDS);
+        } else {
+            board.clear(actor.x, actor.y);
+            occupants[index(actor.x, actor.y)] = null;
+            actor.x = move.toX();
+            actor.y = move.toY();
+            board.set(actor.x, actor.y, color);
+            occupants[index(actor.x, actor.y)] = actor;
+        }
+
+        int infectedMask = board.infect(move.toX(), move.toY(), color);
+        for (int mask = infectedMask; mask != 0; mask &= mask - 1) {
+            int b = Integer.numberOfTrailingZeros(mask);
+            Actor infected = occupants[index(BitBoard.maskX(b, move.toX()), BitBoard.maskY(b, move.toY()))];
+            infected.readyAtRound = round + HeadlessSimulation.INFECTION_DELAY_ROUNDS;
+            infected.mailbox.put(new Converted(color));
+        }
+
+        moves++;
+        traceHash = HeadlessSimulation.mixTrace(traceHash, round, actor.id, move);
+        checkGameOver();
+    }
+
+    private void spawn(int x, int y, MicrobeColorEnum color, int readyAtRound) {
+        int id = population.size();
+        MicrobeBrain brain = new MicrobeBrain(MicrobeBrain.nameFor(runNumber, id), x, y, color, streams.split());
+        brain.setStrategies(strategies);
+        Actor actor = new Actor(id, brain, x, y, readyAtRound);
+        board.set(x, y, color);
+        occupants[index(x, y)] = actor;
+        population.add(actor);
+        actor.thread = Thread.ofVirtual().name(brain.getName()).start(actor);
+    }
+
+    private void shutdown() throws InterruptedException {
+        for (Actor actor : population) {
+            actor.mailbox.put(new GameOver());
+        }
+        for (Actor actor : population) {
+            actor.thread.join();
+        }
+    }
+
+    private void checkGameOver() {
+        int redCount = board.count(MicrobeColorEnum.RED);
+        int blueCount = board.count(MicrobeColorEnum.BLUE);
+        int totalCount = redCount + blueCount;
+
+        if ((redCount > 0 && blueCount == 0) || (blueCount > 0 && redCount == 0) || (totalCount >= board.width() * board.height())) {
+            isGameOver = true;
+        }
+    }
+
+    private int index(int x, int y) {
+        return y * board.width() + x;
+    }
+
+    /**
+     * O cérebro pertence à virtual thread do ator; o árbitro só conhece a
+     * posição e o ciclo em que o micróbio volta a jogar.
+     */
+    private final class Actor implements Runnable {
+        private final int id;
+        private final MicrobeBrain brain;
+        private final BlockingQueue<Command> mailbox = new ArrayBlockingQueue<>(MAILBOX_CAPACITY);
+        private Thread thread;
+        private int x;
+        private int y;
+        private int readyAtRound;
+
+        private Actor(int id, MicrobeBrain brain, int x, int y, int readyAtRound) {
+            this.id = id;
+            this.brain = brain;
+            this.x = x;
+            this.y = y;
+            this.readyAtRound = readyAtRound;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    switch (mailbox.take()) {
+                        case Turn turn -> inbox.put(new Reply(turn.slot(), decide(turn.perception())));
+                        case Accepted accepted -> {
+                            brain.applyMoveCost(accepted.move().type());
+                            if (accepted.move().type() == MoveTypeEnum.JUMP) {
+                                brain.updatePosition(accepted.move().toX(), accepted.move().toY());
+                            }
+                        }
+                        case Rejected rejected -> {
+                        }
+                        case Converted converted -> brain.setColor(converted.color());
+                        case GameOver gameOver -> {
+                            return;
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private Move decide(Perception perception) {
+            try {
+                return brain.decideMove(perception);
+            } catch (RuntimeException e) {
+                // Um micróbio com defeito passa a vez em vez de travar o ciclo.
+                LOGGER.log(System.Logger.Level.ERROR, "Falha ao decidir a jogada de " + brain.getName() + "; passando a vez.", e);
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.eucaria.history;
+
+import br.com.eucaria.model.MicrobeInfo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Histórico binário em colunas. Depois do cabeçalho ({@code IHST} e versão),
+ * cada lote vira um bloco:
+ * <pre>
+ * tamanho      varint, 0 marca o fim
+ * eventos      varint
+ * agentes      varint com os nomes que entram no dicionário neste bloco,
+ *              cada um com tamanho varint e bytes UTF-8
+ * agente       um varint por evento, índice no dicionário
+ * status, cor  um byte por evento, ordinal + 1 (0 = nulo)
+ * x, y         um varint zigzag por evento, diferença para o evento anterior
+ * instante     um varint zigzag por evento, diferença em nanossegundos
+ * crc32        4 bytes do conteúdo do bloco
+ * </pre>
+ * Depois do bloco vazio final vem o total de eventos, para conferência. Um
+ * evento típico ocupa de 6 a 9 bytes, contra cerca de 150 no JSON.
+ */
+class BinaryHistoryEncoder implements HistoryEncoder {
+
+    static final byte[] MAGIC = {'I', 'H', 'S', 'T'};
+    static final int VERSION = 1;
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final ByteArrayOutputStream block = new ByteArrayOutputStream(8 * 1024);
+    private final ByteArrayOutputStream newAgents = new ByteArrayOutputStream();
+    private final CRC32 crc = new CRC32();
+    private long written = 0;
+
+    BinaryHistoryEncoder(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(out);
+        this.out.write(MAGIC);
+        this.out.write(VERSION);
+    }
+
+    @Override
+    public void writeBatch(List<MicrobeInfo> batch) throws IOException {
+        if (batch.isEmpty()) return;
+        block.reset();
+        newAgents.reset();
+
+        int[] agents = new int[batch.size()];
+        int newAgentCount = 0;
+        for (int i = 0; i < agents.length; i++) {
+            String name = batch.get(i).aid().getLocalName();
+            Integer id = dictionary.get(name);
+            if (id == null) {
+                id = dictionary.size();
+                dictionary.put(name, id);
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(newAgents, bytes.length);
+                newAgents.write(bytes);
+                newAgentCount++;
+            }
+            agents[i] = id;
+        }
+
+        writeVarLong(block, batch.size());
+        writeVarLong(block, newAgentCount);
+        newAgents.writeTo(block);
+        for (int agent : agents) {
+            writeVarLong(block, agent);
+        }
+        for (MicrobeInfo event : batch) {
+            block.write(event.status() == null ? 0 : event.status().ordinal() + 1);
+        }
+        for (MicrobeInfo event : batch) {
+            block.write(event.color() == null ? 0 : event.color().ordinal() + 1);
+        }
+        int previous = 0;
+        for (MicrobeInfo event : batch) {
+            writeVarLong(block, zigzag(event.x() - previous));
+            previous = event.x();
+        }
+        previous = 0;
+        for (MicrobeInfo event : batch) {
+            writeVarLong(block, zigzag(event.y() - previous));
+            previous = event.y();
+        }
+        long previousNanos = 0;
+        for (MicrobeInfo event : batch) {
+            if (event.timestamp() == null) {
+                throw new IllegalArgumentException("Evento sem instante: " + event.aid().getLocalName());
+            }
+            long nanos = toNanos(event);
+            writeVarLong(block, zigzag(nanos - previousNanos));
+            previousNanos = nanos;
+        }
+
+        crc.reset();
+        crc.update(block.toByteArray());
+        writeVarLong(out, block.size());
+        block.writeTo(out);
+        out.writeInt((int) crc.getValue());
+        out.flush();
+        written += batch.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (out) {
+            writeVarLong(out, 0);
+            writeVarLong(out, written);
+        }
+    }
+
+    private static long toNanos(MicrobeInfo event) {
+        return Math.addExact(Math.multiplyExact(event.timestamp().getEpochSecond(), 1_000_000_000L),
+                event.timestamp().getNano());
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
@@ -0,0 +1,231 @@
+package br.com.eucaria.history;
+
+import br.com.eucaria.model.MicrobeColorEnum;
+import br.com.eucaria.model.MicrobeInfo;
+import br.com.eucaria.model.MicrobeStatusEnum;
+import jade.core.AID;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Leitura sequencial do histórico binário gravado pelo {@link EventLogWriter}.
+ * Funciona como um cursor: {@link #next()} avança um evento e os getters
+ * devolvem os campos dele, sem criar objetos por evento. Blocos corrompidos ou
+ * um arquivo truncado geram {@link IOException}.
+ */
+public class BinaryHistoryReader implements Closeable {
+
+    private static final MicrobeStatusEnum[] STATUSES = MicrobeStatusEnum.values();
+    private static final MicrobeColorEnum[] COLORS = MicrobeColorEnum.values();
+
+    private final DataInputStream in;
+    private final List<String> agentNames = new ArrayList<>();
+    private final List<AID> agentIds = new ArrayList<>();
+    private final CRC32 crc = new CRC32();
+
+    private int[] agents = new int[0];
+    private byte[] statuses = new byte[0];
+    private byte[] colors = new byte[0];
+    private int[] xs = new int[0];
+    private int[] ys = new int[0];
+    private long[] nanos = new long[0];
+    private int blockSize = 0;
+    private int cursor = -1;
+    private long eventsRead = 0;
+    private boolean finished = false;
+
+    public BinaryHistoryReader(Path file) throws IOException {
+        this(Files.newInputStream(file));
+    }
+
+    public BinaryHistoryReader(InputStream input) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(input, 64 * 1024));
+        byte[] magic = new byte[BinaryHistoryEncoder.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, BinaryHistoryEncoder.MAGIC)) {
+            throw new IOException("Arquivo não é um histórico binário");
+        }
+        int version = in.readUnsignedByte();
+        if (version != BinaryHistoryEncoder.VERSION) {
+            throw new IOException("Versão de histórico não suportada: " + version);
+        }
+    }
+
+    public boolean next() throws IOException {
+        if (++cursor < blockSize) {
+            eventsRead++;
+            return true;
+        }
+        if (finished || !readBlock()) {
+            return false;
+        }
+        cursor = 0;
+        eventsRead++;
+        return true;
+    }
+
+    public String getAgentName() {
+        return agentNames.get(agents[cursor]);
+    }
+
+    public int getAgentIndex() {
+        return agents[cursor];
+    }
+
+    public MicrobeStatusEnum getStatus() {
+        return statuses[cursor] == 0 ? null : STATUSES[statuses[cursor] - 1];
+    }
+
+    public MicrobeColorEnum getColor() {
+        return colors[cursor] == 0 ? null : COLORS[colors[cursor] - 1];
+    }
+
+    public int getX() {
+        return xs[cursor];
+    }
+
+    public int getY() {
+        return ys[cursor];
+    }
+
+    public long getTimestampNanos() {
+        return nanos[cursor];
+    }
+
+    public Instant getTimestamp() {
+        return Instant.ofEpochSecond(Math.floorDiv(nanos[cursor], 1_000_000_000L),
+                Math.floorMod(nanos[cursor], 1_000_000_000L));
+    }
+
+    public MicrobeInfo toMicrobeInfo() {
+        return new MicrobeInfo(agentIds.get(agents[cursor]), getStatus(), getColor(), getX(), getY(), getTimestamp());
+    }
+
+    public long getEventsRead() {
+        return eventsRead;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private boolean readBlock() throws IOException {
+        int length = (int) readVarLong(in);
+        if (length == 0) {
+            finished = true;
+            blockSize = 0;
+            long expected = readVarLong(in);
+            if (expected != eventsRead) {
+                throw new IOException("Histórico com " + eventsRead + " eventos, o rodapé indica " + expected);
+            }
+            return false;
+        }
+        byte[] block = new byte[length];
+        in.readFully(block);
+        int checksum = in.readInt();
+        crc.reset();
+        crc.update(block);
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Checksum inválido no bloco após o evento " + eventsRead);
+        }
+        decodeBlock(block);
+        return blockSize > 0;
+    }
+
+    private void decodeBlock(byte[] block) throws IOException {
+        int[] position = {0};
+        int count = (int) readVarLong(block, position);
+        int newAgents = (int) readVarLong(block, position);
+        for (int i = 0; i < newAgents; i++) {
+            int nameLength = (int) readVarLong(block, position);
+            checkAvailable(block, position, nameLength);
+            String name = new String(block, position[0], nameLength, StandardCharsets.UTF_8);
+            position[0] += nameLength;
+            agentNames.add(name);
+            agentIds.add(new AID(name, AID.ISGUID));
+        }
+        ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            agents[i] = (int) readVarLong(block, position);
+            if (agents[i] >= agentNames.size()) {
+                throw new IOException("Agente " + agents[i] + " fora do dicionário");
+            }
+        }
+        checkAvailable(block, position, 2 * count);
+        System.arraycopy(block, position[0], statuses, 0, count);
+        System.arraycopy(block, position[0] + count, colors, 0, count);
+        position[0] += 2 * count;
+        int previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += (int) unzigzag(readVarLong(block, position));
+            xs[i] = previous;
+        }
+        previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += (int) unzigzag(readVarLong(block, position));
+            ys[i] = previous;
+        }
+        long previousNanos = 0;
+        for (int i = 0; i < count; i++) {
+            previousNanos += unzigzag(readVarLong(block, position));
+            nanos[i] = previousNanos;
+        }
+        blockSize = count;
+    }
+
+    private void ensureCapacity(int count) {
+        if (agents.length >= count) return;
+        agents = new int[count];
+        statuses = new byte[count];
+        colors = new byte[count];
+        xs = new int[count];
+        ys = new int[count];
+        nanos = new long[count];
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) throw new EOFException("Histórico truncado");
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Varint malformado no histórico");
+    }
+
+    private static long readVarLong(byte[] block, int[] position) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            checkAvailable(block, position, 1);
+            int b = block[position[0]++] & 0xFF;
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Varint malformado no histórico");
+    }
+
+    private static void checkAvailable(byte[] block, int[] position, int bytes) throws IOException {
+        if (bytes < 0 || position[0] + bytes > block.length) {
+            throw new IOException("Bloco do histórico truncado");
+        }
+    }
+}
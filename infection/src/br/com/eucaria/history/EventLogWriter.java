@@ -0,0 +1,125 @@
+package br.com.eucaria.history;
+
+import br.com.eucaria.model.MicrobeInfo;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Grava o histórico de eventos em disco à medida que ele acontece. Os eventos
+ * entram numa fila limitada e uma thread própria os escreve em lotes, dando
+ * flush ao fim de cada lote; quem chama {@link #append} só espera pelo
+ * disco quando a fila enche, até abrir espaço: nenhum evento é descartado
+ * enquanto a thread de gravação estiver viva. Eventos que não puderam entrar
+ * (gravação interrompida por erro, ou append depois do {@link #close()})
+ * são contados em {@link #getDroppedCount()}, e o {@code close} falha em vez
+ * de deixar um histórico incompleto passar por completo.
+ * <p>
+ * Em {@link HistoryFormatEnum#JSON} o arquivo é o mesmo array JSON de antes,
+ * um evento por linha; em {@link HistoryFormatEnum#BINARY} cada lote vira um
+ * bloco em colunas (ver {@link BinaryHistoryReader}). Se o processo cair, só
+ * se perdem o lote que ainda estava na fila e o fechamento do arquivo.
+ */
+public class EventLogWriter implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 64 * 1024;
+    private static final int BATCH_SIZE = 512;
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private static final System.Logger LOGGER = System.getLogger(EventLogWriter.class.getName());
+
+    private final Path file;
+    private final BlockingQueue<MicrobeInfo> queue;
+    private final HistoryEncoder encoder;
+    private final Thread drainer;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean closed = false;
+    private IOException failure;
+
+    public EventLogWriter(Path file) throws IOException {
+        this(file, HistoryFormatEnum.JSON, DEFAULT_CAPACITY);
+    }
+
+    public EventLogWriter(Path file, HistoryFormatEnum format) throws IOException {
+        this(file, format, DEFAULT_CAPACITY);
+    }
+
+    public EventLogWriter(Path file, HistoryFormatEnum format, int capacity) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.file = file;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        BufferedOutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024);
+        this.encoder = format == HistoryFormatEnum.BINARY ? new BinaryHistoryEncoder(out) : new JsonHistoryEncoder(out);
+        this.drainer = new Thread(this::drain, "event-log-" + file.getFileName());
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    public void append(MicrobeInfo event) {
+        if (!closed && queue.offer(event)) return;
+        try {
+            while (!closed && drainer.isAlive()) {
+                if (queue.offer(event, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dropped.incrementAndGet();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /** Escreve o que ainda está na fila e fecha o arquivo. */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try (encoder) {
+            if (failure != null) throw failure;
+        }
+        if (dropped.get() > 0) {
+            throw new IOException("Histórico incompleto em " + file + ": " + dropped.get() + " eventos descartados.");
+        }
+    }
+
+    private void drain() {
+        List<MicrobeInfo> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                MicrobeInfo first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                encoder.writeBatch(batch);
+                batch.clear();
+            }
+        } catch (IOException | RuntimeException e) {
+            failure = e instanceof IOException io ? io : new IOException(e);
+            LOGGER.log(System.Logger.Level.ERROR, "Erro ao gravar o histórico em " + file, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.eucaria.history;
+
+import br.com.eucaria.model.MicrobeInfo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Formato em disco do histórico. Cada lote é gravado e enviado ao disco por
+ * inteiro; {@link #close()} grava o fechamento do formato.
+ */
+interface HistoryEncoder extends Closeable {
+
+    void writeBatch(List<MicrobeInfo> batch) throws IOException;
+}
@@ -0,0 +1,16 @@
+package br.com.eucaria.history;
+
+public enum HistoryFormatEnum {
+    JSON(".json"),
+    BINARY(".ihst");
+
+    private final String extension;
+
+    HistoryFormatEnum(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
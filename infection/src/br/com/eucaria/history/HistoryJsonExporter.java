@@ -0,0 +1,45 @@
+package br.com.eucaria.history;
+
+import br.com.eucaria.model.MicrobeInfo;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Converte um histórico binário de volta para o JSON de sempre. */
+public final class HistoryJsonExporter {
+
+    private static final int BATCH_SIZE = 4096;
+
+    private HistoryJsonExporter() {
+    }
+
+    /** Caminho padrão do JSON: o mesmo nome, com a extensão trocada. */
+    public static Path jsonPathFor(Path binary) {
+        String name = binary.getFileName().toString();
+        String extension = HistoryFormatEnum.BINARY.getExtension();
+        if (name.endsWith(extension)) {
+            name = name.substring(0, name.length() - extension.length());
+        }
+        return binary.resolveSibling(name + HistoryFormatEnum.JSON.getExtension());
+    }
+
+    public static long export(Path binary, Path json) throws IOException {
+        List<MicrobeInfo> batch = new ArrayList<>(BATCH_SIZE);
+        try (BinaryHistoryReader reader = new BinaryHistoryReader(binary);
+             JsonHistoryEncoder encoder = new JsonHistoryEncoder(new BufferedOutputStream(Files.newOutputStream(json), 64 * 1024))) {
+            while (reader.next()) {
+                batch.add(reader.toMicrobeInfo());
+                if (batch.size() == BATCH_SIZE) {
+                    encoder.writeBatch(batch);
+                    batch.clear();
+                }
+            }
+            encoder.writeBatch(batch);
+            return reader.getEventsRead();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.eucaria.history;
+
+import br.com.eucaria.model.MicrobeInfo;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/** O array JSON original, um evento por linha. */
+class JsonHistoryEncoder implements HistoryEncoder {
+
+    private final BufferedWriter writer;
+    private final StringBuilder line = new StringBuilder(160);
+    private long written = 0;
+
+    JsonHistoryEncoder(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.writer.write("[");
+    }
+
+    @Override
+    public void writeBatch(List<MicrobeInfo> batch) throws IOException {
+        for (MicrobeInfo event : batch) {
+            line.setLength(0);
+            line.append(written++ == 0 ? "\n  " : ",\n  ");
+            event.appendJson(line);
+            writer.append(line);
+        }
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (writer) {
+            writer.write(written == 0 ? "]" : "\n]");
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.eucaria.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Contador só crescente; a taxa por segundo sai da diferença entre duas fotos do registro. */
+public final class Counter {
+
+    private final LongAdder value = new LongAdder();
+
+    Counter() {
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long delta) {
+        value.add(delta);
+    }
+
+    public long count() {
+        return value.sum();
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.eucaria.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de valores não negativos em faixas de potências de 2: a faixa
+ * {@code i} guarda {@code [2^(i-1), 2^i)}. Registrar é um incremento atômico,
+ * sem lock nem alocação, e os percentis saem com erro de no máximo 2x, o
+ * bastante para ver onde o tempo de um tick vai. Serve para nanossegundos,
+ * bytes ou tamanhos de lote.
+ */
+public final class Histogram {
+
+    static final int BUCKETS = 65;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram() {
+    }
+
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        buckets.incrementAndGet(bucketOf(clamped));
+        sum.add(clamped);
+        if (clamped > max.get()) {
+            max.accumulateAndGet(clamped, Math::max);
+        }
+    }
+
+    /** Registra os nanossegundos desde {@code startNanos}, lido de {@link System#nanoTime()}. */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        return new Snapshot(counts, count, sum.sum(), max.get());
+    }
+
+    static int bucketOf(long value) {
+        return 64 - Long.numberOfLeadingZeros(value);
+    }
+
+    /** Contagens acumuladas; {@link #since} dá só o que entrou depois de uma foto anterior. */
+    public record Snapshot(long[] buckets, long count, long sum, long max) {
+
+        Snapshot since(Snapshot previous) {
+            if (previous == null) return this;
+            long[] delta = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                delta[i] = buckets[i] - previous.buckets[i];
+            }
+            return new Snapshot(delta, count - previous.count, sum - previous.sum, max);
+        }
+
+        public double mean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /** Limite superior da faixa onde cai o quantil {@code q}, nunca acima do máximo visto. */
+        public long percentile(double q) {
+            if (count == 0) return 0;
+            long rank = (long) Math.ceil(q * count);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return i == 0 ? 0 : Math.min(max, i == 64 ? Long.MAX_VALUE : (1L << i) - 1);
+                }
+            }
+            return max;
+        }
+    }
+}
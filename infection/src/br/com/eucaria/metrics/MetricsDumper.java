@@ -0,0 +1,87 @@
+package br.com.eucaria.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grava fotos do {@link MetricsRegistry} a cada intervalo, numa thread
+ * própria. Arquivos {@code .json} recebem um objeto por linha; os demais um
+ * CSV longo {@code timestamp,metric,value}, que aceita métricas novas no meio
+ * da execução. A última foto é gravada em {@link #close()}.
+ */
+public final class MetricsDumper implements AutoCloseable {
+
+    private static final System.Logger LOGGER = System.getLogger(MetricsDumper.class.getName());
+
+    private final MetricsRegistry registry;
+    private final BufferedWriter writer;
+    private final boolean json;
+    private final ScheduledExecutorService scheduler;
+    private MetricsSnapshot previous;
+
+    public MetricsDumper(MetricsRegistry registry, Path path, long intervalMillis) throws IOException {
+        this.registry = registry;
+        this.json = path.getFileName().toString().endsWith(".json");
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.writer = Files.newBufferedWriter(path);
+        if (!json) {
+            writer.write("timestamp,metric,value\n");
+        }
+        this.previous = registry.snapshot();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("metrics-dump").factory());
+        scheduler.scheduleAtFixedRate(this::dumpSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void dumpSafely() {
+        try {
+            dump();
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "Erro ao gravar as métricas; a gravação periódica foi interrompida.", e);
+            scheduler.shutdown();
+        }
+    }
+
+    private synchronized void dump() throws IOException {
+        MetricsSnapshot current = registry.snapshot();
+        Map<String, Number> fields = current.fields(previous);
+        previous = current;
+
+        StringBuilder out = new StringBuilder(64 * fields.size());
+        if (json) {
+            out.append("{\"timestamp\":").append(current.timestamp());
+            fields.forEach((name, value) -> out.append(",\"").append(name).append("\":").append(format(value)));
+            out.append("}\n");
+        } else {
+            fields.forEach((name, value) -> out.append(current.timestamp()).append(',').append(name).append(',').append(format(value)).append('\n'));
+        }
+        writer.append(out);
+        writer.flush();
+    }
+
+    private static String format(Number value) {
+        return value instanceof Double d ? String.format(Locale.ROOT, "%.3f", d) : value.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try (writer) {
+            dump();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.eucaria.metrics;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.ReflectionException;
+import java.util.Map;
+
+/**
+ * O {@link MetricsRegistry} visto pelo JMX (jconsole, VisualVM): cada campo de
+ * {@link MetricsSnapshot#fields} é um atributo somente leitura, lido na hora.
+ * Taxas e percentis são medidos desde uma foto de pelo menos
+ * {@link #MIN_INTERVAL_MS} atrás, para que um console que lê atributo por
+ * atributo não veja intervalos vazios.
+ */
+final class MetricsMBean implements DynamicMBean {
+
+    private static final long MIN_INTERVAL_MS = 1000;
+
+    private final MetricsRegistry registry;
+    private MetricsSnapshot baseline;
+    private MetricsSnapshot latest;
+
+    MetricsMBean(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    private synchronized Map<String, Number> fields() {
+        MetricsSnapshot now = registry.snapshot();
+        if (latest == null || now.timestamp() - latest.timestamp() >= MIN_INTERVAL_MS) {
+            baseline = latest;
+            latest = now;
+        }
+        return now.fields(baseline);
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Number value = fields().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        Map<String, Number> values = fields();
+        AttributeList list = new AttributeList();
+        for (String attribute : attributes) {
+            Number value = values.get(attribute);
+            if (value != null) {
+                list.add(new Attribute(attribute, value));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Métricas são somente leitura: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    /** Não há operações: o JMX espera a falta de um método como {@link ReflectionException}. */
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName), "Métricas não têm operações: " + actionName);
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        Map<String, Number> values = fields();
+        MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[values.size()];
+        int i = 0;
+        for (Map.Entry<String, Number> field : values.entrySet()) {
+            attributes[i++] = new MBeanAttributeInfo(field.getKey(), field.getValue().getClass().getName(),
+                    field.getKey(), true, false, false);
+        }
+        return new MBeanInfo(MetricsMBean.class.getName(), "Métricas da simulação", attributes, null,
+                new MBeanOperationInfo[0], null);
+    }
+}
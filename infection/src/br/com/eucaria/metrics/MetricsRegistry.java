@@ -0,0 +1,58 @@
+package br.com.eucaria.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Registro de métricas por nome: contadores, medidores lidos na hora e
+ * histogramas. Os instrumentos são criados uma vez e depois só atualizados,
+ * sem lock; quem lê tira uma {@link MetricsSnapshot} e compara com a
+ * anterior para ter taxas e percentis do intervalo.
+ */
+public final class MetricsRegistry {
+
+    private static final System.Logger LOGGER = System.getLogger(MetricsRegistry.class.getName());
+
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentSkipListMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new Histogram());
+    }
+
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    public MetricsSnapshot snapshot() {
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.count()));
+        Map<String, Long> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, gauge) -> gaugeValues.put(name, gauge.getAsLong()));
+        Map<String, Histogram.Snapshot> histogramValues = new TreeMap<>();
+        histograms.forEach((name, histogram) -> histogramValues.put(name, histogram.snapshot()));
+        return new MetricsSnapshot(System.currentTimeMillis(), System.nanoTime(), counterValues, gaugeValues, histogramValues);
+    }
+
+    /** Publica o registro no servidor JMX da JVM como {@code objectName}; uma segunda vez não faz nada. */
+    public void registerMBean(String objectName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMBean(this), new ObjectName(objectName));
+        } catch (InstanceAlreadyExistsException e) {
+            // Já publicado por uma partida anterior na mesma JVM.
+        } catch (JMException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "Erro ao publicar as métricas no JMX.", e);
+        }
+    }
+}
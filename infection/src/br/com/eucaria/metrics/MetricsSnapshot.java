@@ -0,0 +1,34 @@
+package br.com.eucaria.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Foto do {@link MetricsRegistry}. {@link #fields} a achata em pares
+ * nome/valor: contadores com total e taxa por segundo, medidores com o valor
+ * lido e histogramas com contagem, média, p50, p99 e máximo, os quatro
+ * primeiros só do intervalo desde a foto anterior.
+ */
+public record MetricsSnapshot(long timestamp, long nanoTime, Map<String, Long> counters, Map<String, Long> gauges,
+                              Map<String, Histogram.Snapshot> histograms) {
+
+    public Map<String, Number> fields(MetricsSnapshot previous) {
+        double seconds = previous == null ? 0 : (nanoTime - previous.nanoTime) / 1e9;
+        Map<String, Number> fields = new LinkedHashMap<>();
+        counters.forEach((name, count) -> {
+            fields.put(name + ".count", count);
+            Long before = previous == null ? null : previous.counters.get(name);
+            fields.put(name + ".rate", seconds > 0 ? (count - (before == null ? 0 : before)) / seconds : 0.0);
+        });
+        fields.putAll(gauges);
+        histograms.forEach((name, histogram) -> {
+            Histogram.Snapshot interval = histogram.since(previous == null ? null : previous.histograms.get(name));
+            fields.put(name + ".count", interval.count());
+            fields.put(name + ".mean", interval.mean());
+            fields.put(name + ".p50", interval.percentile(0.50));
+            fields.put(name + ".p99", interval.percentile(0.99));
+            fields.put(name + ".max", histogram.max());
+        });
+        return fields;
+    }
+}
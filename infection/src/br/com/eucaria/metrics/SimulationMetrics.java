@@ -0,0 +1,111 @@
+package br.com.eucaria.metrics;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * As métricas da simulação com agentes, num registro único por JVM, publicado
+ * no JMX como {@value #OBJECT_NAME}. Tempos em nanossegundos, no sufixo
+ * {@code .ns} do nome.
+ */
+public final class SimulationMetrics {
+
+    public static final String OBJECT_NAME = "br.com.eucaria:type=Metrics";
+    public static final MetricsRegistry REGISTRY = new MetricsRegistry();
+
+    public static final Counter MOVES_ACCEPTED = REGISTRY.counter("moves.accepted");
+    public static final Counter MOVES_REJECTED = REGISTRY.counter("moves.rejected");
+    public static final Counter PERCEPTION_REQUESTS = REGISTRY.counter("perception.requests");
+    /** Da saída do pedido à chegada da resposta, medido no micróbio ou na colônia. */
+    public static final Histogram PERCEPTION_LATENCY = REGISTRY.histogram("perception.latency.ns");
+    /** Propostas resolvidas num lote: as de uma rodada, por turnos, ou as de um tick, em tempo real. */
+    public static final Histogram PROPOSAL_QUEUE_DEPTH = REGISTRY.histogram("proposals.queue.depth");
+    public static final Histogram PROPOSAL_RESOLUTION = REGISTRY.histogram("proposals.resolution.ns");
+    public static final Histogram AGENT_CREATION = REGISTRY.histogram("agents.creation.ns");
+    /** O que o manager gasta para entregar o tabuleiro ao console; o desenho fica em {@link #CONSOLE_FRAME}. */
+    public static final Histogram CONSOLE_RENDER = REGISTRY.histogram("manager.console.ns");
+    public static final Histogram CONSOLE_FRAME = REGISTRY.histogram("console.frame.ns");
+    /** Lotes sem snapshot para o console porque o anterior ainda esperava a thread de desenho. */
+    public static final Counter CONSOLE_FRAMES_COALESCED = REGISTRY.counter("console.frames.coalesced");
+    /** O que o manager gasta para entregar o tabuleiro à GUI; o desenho, na EDT, fica em {@link #GUI_FRAME}. */
+    public static final Histogram GUI_UPDATE = REGISTRY.histogram("manager.gui.ns");
+    public static final Histogram GUI_FRAME = REGISTRY.histogram("gui.frame.ns");
+    /** Casas redesenhadas por quadro, só as que mudaram desde o anterior. */
+    public static final Histogram GUI_FRAME_CELLS = REGISTRY.histogram("gui.frame.cells");
+    /** Lotes sem snapshot para a GUI porque o anterior ainda esperava a EDT. */
+    public static final Counter GUI_FRAMES_COALESCED = REGISTRY.counter("gui.frames.coalesced");
+    public static final Counter TICKS = REGISTRY.counter("ticks");
+    public static final Histogram TICK_ALLOCATION = REGISTRY.histogram("tick.allocated.bytes");
+    public static final Histogram TICK_GC_TIME = REGISTRY.histogram("tick.gc.ms");
+    public static final Counter GC_COLLECTIONS = REGISTRY.counter("gc.collections");
+
+    /** Agentes de micróbio e colônias em execução. */
+    private static final LongAdder LIVE_AGENTS = new LongAdder();
+    private static final List<GarbageCollectorMXBean> COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+    private static final com.sun.management.ThreadMXBean THREADS =
+            ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                    && threads.isThreadAllocatedMemorySupported() ? threads : null;
+
+    private static long lastAllocated = allocatedBytes();
+    private static long lastGcCount = gcCount();
+    private static long lastGcTime = gcTime();
+
+    static {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        REGISTRY.gauge("agents.live", LIVE_AGENTS::sum);
+        REGISTRY.gauge("jvm.heap.used.bytes", () -> memory.getHeapMemoryUsage().getUsed());
+    }
+
+    private SimulationMetrics() {
+    }
+
+    public static void agentStarted() {
+        LIVE_AGENTS.increment();
+    }
+
+    public static void agentStopped() {
+        LIVE_AGENTS.decrement();
+    }
+
+    /**
+     * Marca o fim de um tick: registra quanto a JVM inteira alocou e quanto
+     * tempo passou em GC desde o tick anterior. Chamado só pelo manager.
+     */
+    public static synchronized void tick() {
+        long allocated = allocatedBytes();
+        long collections = gcCount();
+        long gcMillis = gcTime();
+        TICKS.increment();
+        if (THREADS != null) {
+            TICK_ALLOCATION.record(allocated - lastAllocated);
+        }
+        TICK_GC_TIME.record(gcMillis - lastGcTime);
+        GC_COLLECTIONS.add(collections - lastGcCount);
+        lastAllocated = allocated;
+        lastGcCount = collections;
+        lastGcTime = gcMillis;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null ? Math.max(0, THREADS.getTotalThreadAllocatedBytes()) : 0;
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : COLLECTORS) {
+            total += Math.max(0, collector.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long gcTime() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : COLLECTORS) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+}
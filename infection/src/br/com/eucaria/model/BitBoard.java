@@ -0,0 +1,446 @@
+package br.com.eucaria.model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Ocupação do tabuleiro em bits: um conjunto de words por cor, com cada linha
+ * alinhada ao início de uma word. Vizinhanças, contagens e máscaras de casas
+ * vazias saem de alguns shifts/ANDs, sem objetos por casa.
+ */
+public class BitBoard implements Serializable {
+
+    public static final int CENTER_BIT = 4;
+    public static final int NEIGHBOURS = 0b111_101_111;
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long lastWordMask;
+    private long[] red;
+    private long[] blue;
+    private int redCount;
+    private int blueCount;
+    private long zobristHash;
+    // Arrays divididos com um snapshot: são copiados na primeira escrita.
+    private boolean shared;
+    // Rascunho do hasLegalMove, reaproveitado entre as chamadas.
+    private transient long[] band;
+
+    public BitBoard(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Dimensões inválidas: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        this.lastWordMask = (width & 63) == 0 ? -1L : (1L << (width & 63)) - 1;
+        this.red = new long[wordsPerRow * height];
+        this.blue = new long[wordsPerRow * height];
+        this.zobristHash = baseKey(width, height);
+    }
+
+    public BitBoard(BitBoard other) {
+        this(other, false);
+    }
+
+    private BitBoard(BitBoard other, boolean share) {
+        this.width = other.width;
+        this.height = other.height;
+        this.wordsPerRow = other.wordsPerRow;
+        this.lastWordMask = other.lastWordMask;
+        this.red = share ? other.red : other.red.clone();
+        this.blue = share ? other.blue : other.blue.clone();
+        this.redCount = other.redCount;
+        this.blueCount = other.blueCount;
+        this.zobristHash = other.zobristHash;
+        this.shared = share;
+    }
+
+    /**
+     * Cópia em O(1) que divide os arrays com este tabuleiro; quem escrever
+     * primeiro, este ou o snapshot, copia os seus antes de alterar.
+     */
+    public BitBoard snapshot() {
+        shared = true;
+        return new BitBoard(this, true);
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public int wordsPerRow() {
+        return wordsPerRow;
+    }
+
+    public boolean isOutOfBounds(int x, int y) {
+        return x < 0 || x >= width || y < 0 || y >= height;
+    }
+
+    public MicrobeColorEnum colorAt(int x, int y) {
+        if (isOutOfBounds(x, y)) return MicrobeColorEnum.EMPTY;
+        int word = wordIndex(x, y);
+        long bit = 1L << x;
+        if ((red[word] & bit) != 0) return MicrobeColorEnum.RED;
+        if ((blue[word] & bit) != 0) return MicrobeColorEnum.BLUE;
+        return MicrobeColorEnum.EMPTY;
+    }
+
+    public boolean isEmpty(int x, int y) {
+        int word = wordIndex(x, y);
+        return ((red[word] | blue[word]) & (1L << x)) == 0;
+    }
+
+    public void set(int x, int y, MicrobeColorEnum color) {
+        if (shared) {
+            red = red.clone();
+            blue = blue.clone();
+            shared = false;
+        }
+        int word = wordIndex(x, y);
+        long bit = 1L << x;
+        if ((red[word] & bit) != 0) {
+            redCount--;
+            zobristHash ^= zobristKey(x, y, MicrobeColorEnum.RED);
+        }
+        if ((blue[word] & bit) != 0) {
+            blueCount--;
+            zobristHash ^= zobristKey(x, y, MicrobeColorEnum.BLUE);
+        }
+        red[word] &= ~bit;
+        blue[word] &= ~bit;
+        if (color == MicrobeColorEnum.RED) {
+            red[word] |= bit;
+            redCount++;
+            zobristHash ^= zobristKey(x, y, color);
+        } else if (color == MicrobeColorEnum.BLUE) {
+            blue[word] |= bit;
+            blueCount++;
+            zobristHash ^= zobristKey(x, y, color);
+        }
+    }
+
+    /**
+     * Hash de Zobrist da posição, atualizado a cada {@link #set}: o XOR das
+     * chaves de cada casa ocupada com a sua cor, sobre uma base que depende
+     * das dimensões. As chaves saem de um misturador a partir da casa e da
+     * cor, então não há tabela por tamanho de tabuleiro.
+     */
+    public long zobristHash() {
+        return zobristHash;
+    }
+
+    /** Hash recalculado casa a casa, para conferir o mantido. */
+    long recomputeZobristHash() {
+        long hash = baseKey(width, height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                MicrobeColorEnum color = colorAt(x, y);
+                if (color != MicrobeColorEnum.EMPTY) hash ^= zobristKey(x, y, color);
+            }
+        }
+        return hash;
+    }
+
+    private static long baseKey(int width, int height) {
+        return mix(Long.MIN_VALUE | (long) width << 31 | height);
+    }
+
+    static long zobristKey(int x, int y, MicrobeColorEnum color) {
+        return mix(((long) y << 32 | x) << 1 | (color == MicrobeColorEnum.BLUE ? 1 : 0));
+    }
+
+    private static long mix(long z) {
+        z = (z + 0x9E3779B97F4A7C15L) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public void clear(int x, int y) {
+        set(x, y, MicrobeColorEnum.EMPTY);
+    }
+
+    /**
+     * Escreve a casa sem tocar em contadores nem hash e devolve a cor
+     * anterior; quem chama acumula as diferenças e as aplica com
+     * {@link #adjust}. Usado pelas faixas do {@link PartitionedBoard}, que
+     * escrevem em linhas diferentes ao mesmo tempo.
+     */
+    MicrobeColorEnum write(int x, int y, MicrobeColorEnum color) {
+        int word = wordIndex(x, y);
+        long bit = 1L << x;
+        MicrobeColorEnum previous = (red[word] & bit) != 0 ? MicrobeColorEnum.RED
+                : (blue[word] & bit) != 0 ? MicrobeColorEnum.BLUE : MicrobeColorEnum.EMPTY;
+        red[word] &= ~bit;
+        blue[word] &= ~bit;
+        if (color == MicrobeColorEnum.RED) {
+            red[word] |= bit;
+        } else if (color == MicrobeColorEnum.BLUE) {
+            blue[word] |= bit;
+        }
+        return previous;
+    }
+
+    void adjust(int redDelta, int blueDelta, long hashDelta) {
+        redCount += redDelta;
+        blueCount += blueDelta;
+        zobristHash ^= hashDelta;
+    }
+
+    /** Garante arrays próprios antes de escritas concorrentes por {@link #write}. */
+    void ensureOwned() {
+        if (shared) {
+            red = red.clone();
+            blue = blue.clone();
+            shared = false;
+        }
+    }
+
+    /** Contagem mantida a cada {@link #set}; não percorre o tabuleiro. */
+    public int count(MicrobeColorEnum color) {
+        return switch (color) {
+            case RED -> redCount;
+            case BLUE -> blueCount;
+            case EMPTY -> width * height - redCount - blueCount;
+        };
+    }
+
+    /** Recontagem pelos bits, para conferir os contadores mantidos. */
+    int recount(MicrobeColorEnum color) {
+        return switch (color) {
+            case RED -> popCount(red);
+            case BLUE -> popCount(blue);
+            case EMPTY -> width * height - popCount(red) - popCount(blue);
+        };
+    }
+
+    /**
+     * Se algum micróbio da cor tem jogada: uma casa vazia a até duas casas de
+     * distância, o alcance do salto. Dilata a ocupação da cor linha a linha e
+     * cruza com as casas vazias, uma word por vez.
+     */
+    public boolean hasLegalMove(MicrobeColorEnum color) {
+        if (count(color) == 0 || count(MicrobeColorEnum.EMPTY) == 0) return false;
+        return hasLegalMove(color, 0, height);
+    }
+
+    /** Como {@link #hasLegalMove(MicrobeColorEnum)}, só para os micróbios das linhas {@code [firstRow, endRow)}. */
+    public boolean hasLegalMove(MicrobeColorEnum color, int firstRow, int endRow) {
+        long[] bits = bitsOf(color);
+        if (band == null) {
+            band = new long[wordsPerRow];
+        }
+        for (int y = Math.max(0, firstRow - 2); y < Math.min(height, endRow + 2); y++) {
+            Arrays.fill(band, 0);
+            for (int row = Math.max(firstRow, y - 2); row <= Math.min(endRow - 1, y + 2); row++) {
+                for (int w = 0; w < wordsPerRow; w++) {
+                    band[w] |= bits[row * wordsPerRow + w];
+                }
+            }
+            int base = y * wordsPerRow;
+            for (int w = 0; w < wordsPerRow; w++) {
+                long empty = ~(red[base + w] | blue[base + w]) & validBits(w);
+                if ((dilate2(band, w) & empty) != 0) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Nenhuma das cores tem jogada. Percorre o tabuleiro: quem joga em laço
+     * deve chamar uma vez por rodada, não a cada jogada.
+     */
+    public boolean isStalled() {
+        return !hasLegalMove(MicrobeColorEnum.RED) && !hasLegalMove(MicrobeColorEnum.BLUE);
+    }
+
+    private long dilate2(long[] band, int w) {
+        long word = band[w];
+        long previous = w > 0 ? band[w - 1] : 0;
+        long next = w + 1 < wordsPerRow ? band[w + 1] : 0;
+        return word
+                | word << 1 | previous >>> 63
+                | word << 2 | previous >>> 62
+                | word >>> 1 | next << 63
+                | word >>> 2 | next << 62;
+    }
+
+    /** As words de {@code rowCount} linhas a partir de {@code firstRow}, só da cor pedida. */
+    public long[] copyRows(MicrobeColorEnum color, int firstRow, int rowCount) {
+        return Arrays.copyOfRange(bitsOf(color), firstRow * wordsPerRow, (firstRow + rowCount) * wordsPerRow);
+    }
+
+    /**
+     * Substitui linhas inteiras pelas words de {@link #copyRows} de outro
+     * tabuleiro de mesma largura, mantendo contadores e hash.
+     */
+    public void pasteRows(int firstRow, long[] redRows, long[] blueRows) {
+        if (shared) {
+            red = red.clone();
+            blue = blue.clone();
+            shared = false;
+        }
+        int base = firstRow * wordsPerRow;
+        for (int i = 0; i < redRows.length; i++) {
+            int y = firstRow + i / wordsPerRow;
+            int xBase = (i % wordsPerRow) << 6;
+            for (long changed = red[base + i] ^ redRows[i]; changed != 0; changed &= changed - 1) {
+                zobristHash ^= zobristKey(xBase + Long.numberOfTrailingZeros(changed), y, MicrobeColorEnum.RED);
+            }
+            for (long changed = blue[base + i] ^ blueRows[i]; changed != 0; changed &= changed - 1) {
+                zobristHash ^= zobristKey(xBase + Long.numberOfTrailingZeros(changed), y, MicrobeColorEnum.BLUE);
+            }
+            redCount += Long.bitCount(redRows[i]) - Long.bitCount(red[base + i]);
+            blueCount += Long.bitCount(blueRows[i]) - Long.bitCount(blue[base + i]);
+            red[base + i] = redRows[i];
+            blue[base + i] = blueRows[i];
+        }
+    }
+
+    /**
+     * Janela 3x3 centrada em (x, y) com as casas da cor pedida. O bit
+     * {@code (dy + 1) * 3 + (dx + 1)} corresponde à casa (x + dx, y + dy).
+     */
+    public int neighbourMask(int x, int y, MicrobeColorEnum color) {
+        if (color == MicrobeColorEnum.EMPTY) {
+            int occupied = neighbourMask(x, y, MicrobeColorEnum.RED) | neighbourMask(x, y, MicrobeColorEnum.BLUE);
+            return ~occupied & insideMask(x, y);
+        }
+        long[] bits = bitsOf(color);
+        return window3(bits, x, y - 1) | window3(bits, x, y) << 3 | window3(bits, x, y + 1) << 6;
+    }
+
+    public int countPotentialInfections(int x, int y, MicrobeColorEnum attackerColor) {
+        return Integer.bitCount(neighbourMask(x, y, MicrobeColorEnum.getOpponent(attackerColor)) & NEIGHBOURS);
+    }
+
+    /**
+     * Converte os vizinhos adversários de (x, y) para a cor atacante e devolve
+     * a máscara 3x3 das casas convertidas.
+     */
+    public int infect(int x, int y, MicrobeColorEnum attackerColor) {
+        MicrobeColorEnum opponentColor = MicrobeColorEnum.getOpponent(attackerColor);
+        int infected = neighbourMask(x, y, opponentColor) & NEIGHBOURS;
+        for (int mask = infected; mask != 0; mask &= mask - 1) {
+            int b = Integer.numberOfTrailingZeros(mask);
+            set(x + b % 3 - 1, y + b / 3 - 1, attackerColor);
+        }
+        return infected;
+    }
+
+    /** Máscara das casas vazias, no mesmo layout de words por linha. */
+    public long[] emptyMask() {
+        long[] empty = new long[red.length];
+        for (int row = 0; row < height; row++) {
+            int base = row * wordsPerRow;
+            for (int w = 0; w < wordsPerRow; w++) {
+                empty[base + w] = ~(red[base + w] | blue[base + w]) & validBits(w);
+            }
+        }
+        return empty;
+    }
+
+    public long[] occupancy(MicrobeColorEnum color) {
+        return bitsOf(color).clone();
+    }
+
+    public long occupiedWord(int index) {
+        return red[index] | blue[index];
+    }
+
+    public long word(MicrobeColorEnum color, int index) {
+        return bitsOf(color)[index];
+    }
+
+    public static int maskX(int bit, int x) {
+        return x + bit % 3 - 1;
+    }
+
+    public static int maskY(int bit, int y) {
+        return y + bit / 3 - 1;
+    }
+
+    private int insideMask(int x, int y) {
+        int mask = 0;
+        for (int b = 0; b < 9; b++) {
+            if (!isOutOfBounds(maskX(b, x), maskY(b, y))) mask |= 1 << b;
+        }
+        return mask;
+    }
+
+    private int window3(long[] bits, int x, int y) {
+        if (y < 0 || y >= height) return 0;
+        int base = y * wordsPerRow;
+        int start = x - 1;
+        if (start >= 0 && (start & 63) <= 61) {
+            return (int) (bits[base + (start >>> 6)] >>> start) & 0b111;
+        }
+        int window = 0;
+        for (int i = 0; i < 3; i++) {
+            int cx = start + i;
+            if (cx >= 0 && cx < width && (bits[base + (cx >>> 6)] & (1L << cx)) != 0) {
+                window |= 1 << i;
+            }
+        }
+        return window;
+    }
+
+    private long validBits(int wordInRow) {
+        return wordInRow == wordsPerRow - 1 ? lastWordMask : -1L;
+    }
+
+    private long[] bitsOf(MicrobeColorEnum color) {
+        return switch (color) {
+            case RED -> red;
+            case BLUE -> blue;
+            case EMPTY -> throw new IllegalArgumentException("EMPTY não possui máscara de ocupação");
+        };
+    }
+
+    private int wordIndex(int x, int y) {
+        return y * wordsPerRow + (x >>> 6);
+    }
+
+    private static int popCount(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(" ");
+        for (int j = 0; j < width; j++) {
+            sb.append(" ").append(j % 10);
+        }
+        sb.append("\n");
+        for (int i = 0; i < height; i++) {
+            sb.append(i % 10).append(" ");
+            for (int j = 0; j < width; j++) {
+                sb.append(colorAt(j, i).getRepresentation()).append(" ");
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof BitBoard other)) return false;
+        return width == other.width && height == other.height
+                && Arrays.equals(red, other.red) && Arrays.equals(blue, other.blue);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(red) + Arrays.hashCode(blue);
+    }
+}
@@ -1,99 +1,228 @@
 package br.com.eucaria.model;
 
-import br.com.eucaria.agent.MicrobeAgent;
 import jade.core.AID;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-public class Board implements Serializable {
+public class Board implements BoardView, Serializable {
     public static final int SIZE = 7;
-    private final Space[][] grid;
+
+    // Ocupantes em blocos de 16x16 casas, alocados na primeira ocupação.
+    private static final int TILE_SHIFT = 4;
+    private static final int TILE_SIDE = 1 << TILE_SHIFT;
+    private static final int TILE_MASK = TILE_SIDE - 1;
+
+    private final int width;
+    private final int height;
+    private final int tilesPerRow;
+    private final BitBoard cells;
+    private final AID[][] tiles;
+    private final Map<AID, Integer> positions;
+    private CellTimeline timeline;
+    private int tick;
 
     public Board() {
-        this.grid = new Space[SIZE][SIZE];
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                grid[i][j] = new Space();
-            }
-        }
+        this(SIZE, SIZE);
+    }
+
+    public Board(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.tilesPerRow = (width + TILE_MASK) >>> TILE_SHIFT;
+        this.cells = new BitBoard(width, height);
+        this.tiles = new AID[tilesPerRow * ((height + TILE_MASK) >>> TILE_SHIFT)][];
+        this.positions = new HashMap<>();
     }
 
     public Board(Board other) {
-        this.grid = new Space[SIZE][SIZE];
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                this.grid[i][j] = new Space(other.grid[i][j]);
+        this.width = other.width;
+        this.height = other.height;
+        this.tilesPerRow = other.tilesPerRow;
+        this.cells = new BitBoard(other.cells);
+        this.tiles = new AID[other.tiles.length][];
+        for (int t = 0; t < tiles.length; t++) {
+            if (other.tiles[t] != null) {
+                tiles[t] = other.tiles[t].clone();
             }
         }
+        this.positions = new HashMap<>(other.positions);
+        this.timeline = other.timeline == null ? null : new CellTimeline(other.timeline);
+        this.tick = other.tick;
+    }
+
+    /**
+     * Só a ocupação, dividindo as words com este tabuleiro até a próxima
+     * escrita (veja {@link BitBoard#snapshot()}): é o que a GUI precisa para
+     * desenhar o tabuleiro em outra thread. Deve ser chamado pela thread dona
+     * do tabuleiro.
+     */
+    public BitBoard snapshotCells() {
+        return cells.snapshot();
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
     }
 
     public void placeMicrobe(AID agentID, int x, int y, MicrobeColorEnum color) {
         if (!isOutOfBounds(x, y)) {
-            grid[y][x].setMicrobe(agentID, color);
+            int index = y * width + x;
+            unindex(x, y);
+            Integer previous = positions.put(agentID, index);
+            // Um agente ocupa uma única casa: recolocá-lo equivale a movê-lo.
+            if (previous != null && previous != index) {
+                setOccupant(previous % width, previous / width, null);
+                paint(previous % width, previous / width, MicrobeColorEnum.EMPTY);
+            }
+            setOccupant(x, y, agentID);
+            paint(x, y, color);
         }
     }
 
     public void removeMicrobe(int x, int y) {
         if (!isOutOfBounds(x, y)) {
-            grid[y][x].clear();
+            unindex(x, y);
+            setOccupant(x, y, null);
+            paint(x, y, MicrobeColorEnum.EMPTY);
+        }
+    }
+
+    private void unindex(int x, int y) {
+        AID occupant = occupant(x, y);
+        if (occupant != null) {
+            positions.remove(occupant, y * width + x);
+        }
+    }
+
+    private void paint(int x, int y, MicrobeColorEnum color) {
+        cells.set(x, y, color);
+        if (timeline != null) {
+            timeline.record(y * width + x, tick, color);
+        }
+    }
+
+    /** Passa a registrar cada mudança de cor das casas, com o tick atual. */
+    public void enableTimeline() {
+        if (timeline == null) {
+            timeline = new CellTimeline(width * height);
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    timeline.record(y * width + x, tick, cells.colorAt(x, y));
+                }
+            }
+        }
+    }
+
+    public void setTick(int tick) {
+        this.tick = tick;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    /** Cor da casa ao fim do tick pedido, segundo a linha do tempo. */
+    public MicrobeColorEnum getColorAt(int x, int y, int atTick) {
+        return requireTimeline().colorAt(y * width + x, atTick);
+    }
+
+    /** Tick da primeira infecção da casa, ou {@link CellTimeline#NEVER}. */
+    public int getFirstInfectionTick(int x, int y) {
+        return requireTimeline().firstInfectionTick(y * width + x);
+    }
+
+    /**
+     * Para cada casa, em ordem de linha, quantos ticks se passaram entre a
+     * primeira ocupação e a primeira infecção; {@link CellTimeline#NEVER} para
+     * casas nunca infectadas.
+     */
+    public int[] getTimeToFirstInfection() {
+        CellTimeline history = requireTimeline();
+        int[] times = new int[width * height];
+        for (int cell = 0; cell < times.length; cell++) {
+            int infected = history.firstInfectionTick(cell);
+            times[cell] = infected == CellTimeline.NEVER ? CellTimeline.NEVER : infected - history.firstOccupiedTick(cell);
+        }
+        return times;
+    }
+
+    private CellTimeline requireTimeline() {
+        if (timeline == null) {
+            throw new IllegalStateException("Linha do tempo não habilitada neste tabuleiro");
+        }
+        return timeline;
+    }
+
+    private AID occupant(int x, int y) {
+        AID[] tile = tiles[(y >>> TILE_SHIFT) * tilesPerRow + (x >>> TILE_SHIFT)];
+        return tile == null ? null : tile[(y & TILE_MASK) << TILE_SHIFT | (x & TILE_MASK)];
+    }
+
+    private void setOccupant(int x, int y, AID occupant) {
+        int t = (y >>> TILE_SHIFT) * tilesPerRow + (x >>> TILE_SHIFT);
+        if (tiles[t] == null) {
+            if (occupant == null) return;
+            tiles[t] = new AID[TILE_SIDE * TILE_SIDE];
         }
+        tiles[t][(y & TILE_MASK) << TILE_SHIFT | (x & TILE_MASK)] = occupant;
     }
 
     public List<AID> applyInfection(int x, int y, MicrobeColorEnum attackerColor) {
         List<AID> infectedAIDs = new ArrayList<>();
-        MicrobeColorEnum opponentColor = MicrobeColorEnum.getOpponent(attackerColor);
-
-        for (int i = -1; i <= 1; i++) {
-            for (int j = -1; j <= 1; j++) {
-                if (i == 0 && j == 0) continue;
-                int neighborX = x + j;
-                int neighborY = y + i;
-
-                if (!isOutOfBounds(neighborX, neighborY)) {
-                    Space neighborSpace = grid[neighborY][neighborX];
-                    if (neighborSpace.isOccupied() && neighborSpace.getColor() == opponentColor) {
-                        neighborSpace.setColor(attackerColor);
-                        infectedAIDs.add(neighborSpace.getMicrobeAID());
-                    }
-                }
+        for (int mask = cells.infect(x, y, attackerColor); mask != 0; mask &= mask - 1) {
+            int b = Integer.numberOfTrailingZeros(mask);
+            int infectedX = BitBoard.maskX(b, x);
+            int infectedY = BitBoard.maskY(b, y);
+            infectedAIDs.add(occupant(infectedX, infectedY));
+            if (timeline != null) {
+                timeline.record(infectedY * width + infectedX, tick, attackerColor);
             }
         }
         return infectedAIDs;
     }
 
+    @Override
     public int countPotentialInfections(int x, int y, MicrobeColorEnum attackerColor) {
-        int count = 0;
-        MicrobeColorEnum opponentColor = MicrobeColorEnum.getOpponent(attackerColor);
-        for (int i = -1; i <= 1; i++) {
-            for (int j = -1; j <= 1; j++) {
-                if (i == 0 && j == 0) continue;
-                if (!isOutOfBounds(x + j, y + i) && grid[y + i][x + j].getColor() == opponentColor) {
-                    count++;
-                }
-            }
-        }
-        return count;
+        return cells.countPotentialInfections(x, y, attackerColor);
+    }
+
+    @Override
+    public long zobristHash() {
+        return cells.zobristHash();
     }
 
     public int countMicrobes(MicrobeColorEnum color) {
-        int count = 0;
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                if (grid[i][j].isOccupied() && grid[i][j].getColor() == color) {
-                    count++;
-                }
-            }
-        }
-        return count;
+        if (color == MicrobeColorEnum.EMPTY) return 0;
+        return cells.count(color);
+    }
+
+    public int countEmptyCells() {
+        return cells.count(MicrobeColorEnum.EMPTY);
+    }
+
+    /**
+     * Verdadeiro quando nenhuma das cores tem casa vazia ao alcance de cópia
+     * ou salto. Percorre o tabuleiro; o manager chama uma vez por lote.
+     */
+    public boolean isStalled() {
+        return cells.isStalled();
     }
 
     public List<AID> getAllMicrobeAIDs() {
         List<AID> aids = new ArrayList<>();
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                if (grid[i][j].isOccupied()) {
-                    aids.add(grid[i][j].getMicrobeAID());
+        int wordsPerRow = cells.wordsPerRow();
+        for (int i = 0; i < height; i++) {
+            for (int w = 0; w < wordsPerRow; w++) {
+                for (long word = cells.occupiedWord(i * wordsPerRow + w); word != 0; word &= word - 1) {
+                    int j = (w << 6) + Long.numberOfTrailingZeros(word);
+                    aids.add(occupant(j, i));
                 }
             }
         }
@@ -101,32 +230,29 @@ public class Board implements Serializable {
     }
 
     public MicrobeInfo getMicrobeInfo(AID agentAID) {
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                if (grid[i][j].isOccupied() && grid[i][j].getMicrobeAID().equals(agentAID)) {
-                    return new MicrobeInfo(agentAID, null, grid[i][j].getColor(), j, i, null);
-                }
-            }
-        }
-        return null;
+        Integer index = positions.get(agentAID);
+        if (index == null) return null;
+        int x = index % width;
+        int y = index / width;
+        return new MicrobeInfo(agentAID, null, cells.colorAt(x, y), x, y, null);
     }
 
     public AID getMicrobeAt(int x, int y) {
         if (isOutOfBounds(x, y)) return null;
-        return grid[y][x].getMicrobeAID();
+        return occupant(x, y);
     }
 
     public Board getLocalPerception(AID agentAID) {
         MicrobeInfo agentInfo = getMicrobeInfo(agentAID);
         if (agentInfo == null) {
-            return new Board();
+            return new Board(width, height);
         }
 
         int centerX = agentInfo.x();
         int centerY = agentInfo.y();
         int perceptionRadius = 2;
 
-        Board perceptionBoard = new Board();
+        Board perceptionBoard = new Board(width, height);
 
         for (int i = -perceptionRadius; i <= perceptionRadius; i++) {
             for (int j = -perceptionRadius; j <= perceptionRadius; j++) {
@@ -134,14 +260,9 @@ public class Board implements Serializable {
                 int targetY = centerY + i;
 
                 if (!isOutOfBounds(targetX, targetY)) {
-                    Space originalSpace = this.grid[targetY][targetX];
-                    if (originalSpace.isOccupied()) {
-                        perceptionBoard.placeMicrobe(
-                                originalSpace.getMicrobeAID(),
-                                targetX,
-                                targetY,
-                                originalSpace.getColor()
-                        );
+                    AID occupant = occupant(targetX, targetY);
+                    if (occupant != null) {
+                        perceptionBoard.placeMicrobe(occupant, targetX, targetY, cells.colorAt(targetX, targetY));
                     }
                 }
             }
@@ -149,28 +270,67 @@ public class Board implements Serializable {
         return perceptionBoard;
     }
 
+    public Perception perceive(AID agentAID) {
+        Integer index = positions.get(agentAID);
+        if (index == null) {
+            return Perception.empty(width, height);
+        }
+        return Perception.of(cells, index % width, index / width, Perception.DEFAULT_RADIUS);
+    }
+
+    @Override
     public boolean isOutOfBounds(int x, int y) {
-        return x < 0 || x >= SIZE || y < 0 || y >= SIZE;
+        return x < 0 || x >= width || y < 0 || y >= height;
     }
 
+    @Override
     public MicrobeColorEnum getColorAt(int x, int y) {
-        if (isOutOfBounds(x, y)) {
-            return MicrobeColorEnum.EMPTY;
+        return cells.colorAt(x, y);
+    }
+
+    /**
+     * Confere que o índice de posições, o vetor de ocupantes e os bits de cor
+     * descrevem o mesmo tabuleiro. Lança {@link IllegalStateException} na
+     * primeira divergência.
+     */
+    public void checkConsistency() {
+        int occupied = 0;
+        for (int index = 0; index < width * height; index++) {
+            int x = index % width;
+            int y = index / width;
+            AID occupant = occupant(x, y);
+            boolean hasColor = cells.colorAt(x, y) != MicrobeColorEnum.EMPTY;
+            if ((occupant != null) != hasColor) {
+                throw new IllegalStateException("Casa (" + x + "," + y + ") com ocupante " + occupant
+                        + " e cor " + cells.colorAt(x, y));
+            }
+            if (occupant != null) {
+                occupied++;
+                Integer indexed = positions.get(occupant);
+                if (indexed == null || indexed != index) {
+                    throw new IllegalStateException("Índice aponta " + occupant + " para " + indexed
+                            + ", mas ele está em (" + x + "," + y + ")");
+                }
+            }
+        }
+        for (MicrobeColorEnum color : MicrobeColorEnum.values()) {
+            if (cells.count(color) != cells.recount(color)) {
+                throw new IllegalStateException("Contador de " + color + " em " + cells.count(color)
+                        + ", mas o tabuleiro tem " + cells.recount(color));
+            }
+        }
+        if (cells.zobristHash() != cells.recomputeZobristHash()) {
+            throw new IllegalStateException("Hash de Zobrist " + Long.toHexString(cells.zobristHash())
+                    + " diverge do recalculado " + Long.toHexString(cells.recomputeZobristHash()));
+        }
+        if (occupied != positions.size()) {
+            throw new IllegalStateException("Índice com " + positions.size() + " agentes para "
+                    + occupied + " casas ocupadas");
         }
-        return grid[y][x].getColor();
     }
 
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("  0 1 2 3 4 5 6\n");
-        for (int i = 0; i < SIZE; i++) {
-            sb.append(i).append(" ");
-            for (int j = 0; j < SIZE; j++) {
-                sb.append(grid[i][j].getColor().getRepresentation()).append(" ");
-            }
-            sb.append("\n");
-        }
-        return sb.toString();
+        return cells.toString();
     }
-}
\ No newline at end of file
+}
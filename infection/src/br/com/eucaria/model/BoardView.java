@@ -0,0 +1,19 @@
+package br.com.eucaria.model;
+
+public interface BoardView {
+
+    boolean isOutOfBounds(int x, int y);
+
+    MicrobeColorEnum getColorAt(int x, int y);
+
+    int countPotentialInfections(int x, int y, MicrobeColorEnum attackerColor);
+
+    /**
+     * Hash de Zobrist do tabuleiro completo de onde a visão saiu, ou 0 quando
+     * ele não é conhecido. Duas visões com o mesmo hash e o mesmo centro
+     * mostram as mesmas casas.
+     */
+    default long zobristHash() {
+        return 0L;
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.eucaria.model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Histórico de cor de todas as casas num único log em colunas: cada mudança
+ * ocupa um tick, uma cor e o índice da próxima mudança da mesma casa. Por casa
+ * guardam-se só a primeira e a última mudança, então a memória cresce com o
+ * número de mudanças e não com o tempo de partida. Toda casa começa vazia.
+ */
+public class CellTimeline implements Serializable {
+
+    public static final int NEVER = -1;
+    private static final MicrobeColorEnum[] COLORS = MicrobeColorEnum.values();
+
+    private final int[] first;
+    private final int[] last;
+    private int[] ticks;
+    private byte[] colors;
+    private int[] next;
+    private int size;
+
+    public CellTimeline(int cellCount) {
+        this.first = new int[cellCount];
+        this.last = new int[cellCount];
+        Arrays.fill(first, NEVER);
+        Arrays.fill(last, NEVER);
+        this.ticks = new int[64];
+        this.colors = new byte[64];
+        this.next = new int[64];
+    }
+
+    public CellTimeline(CellTimeline other) {
+        this.first = other.first.clone();
+        this.last = other.last.clone();
+        this.ticks = Arrays.copyOf(other.ticks, Math.max(other.size, 64));
+        this.colors = Arrays.copyOf(other.colors, ticks.length);
+        this.next = Arrays.copyOf(other.next, ticks.length);
+        this.size = other.size;
+    }
+
+    /** Registra a cor da casa a partir do tick; repetir a cor atual não gera mudança. */
+    public void record(int cell, int tick, MicrobeColorEnum color) {
+        int tail = last[cell];
+        MicrobeColorEnum current = tail == NEVER ? MicrobeColorEnum.EMPTY : color(tail);
+        if (current == color) return;
+
+        if (size == ticks.length) {
+            int capacity = size * 2;
+            ticks = Arrays.copyOf(ticks, capacity);
+            colors = Arrays.copyOf(colors, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        ticks[size] = tick;
+        colors[size] = (byte) color.ordinal();
+        next[size] = NEVER;
+        if (tail == NEVER) {
+            first[cell] = size;
+        } else {
+            next[tail] = size;
+        }
+        last[cell] = size;
+        size++;
+    }
+
+    /** Cor da casa ao fim do tick pedido. */
+    public MicrobeColorEnum colorAt(int cell, int tick) {
+        MicrobeColorEnum color = MicrobeColorEnum.EMPTY;
+        for (int i = first[cell]; i != NEVER && ticks[i] <= tick; i = next[i]) {
+            color = color(i);
+        }
+        return color;
+    }
+
+    /** Tick em que a casa trocou de uma cor para a adversária pela primeira vez, ou {@link #NEVER}. */
+    public int firstInfectionTick(int cell) {
+        MicrobeColorEnum previous = MicrobeColorEnum.EMPTY;
+        for (int i = first[cell]; i != NEVER; i = next[i]) {
+            MicrobeColorEnum color = color(i);
+            if (previous != MicrobeColorEnum.EMPTY && color != MicrobeColorEnum.EMPTY && color != previous) {
+                return ticks[i];
+            }
+            previous = color;
+        }
+        return NEVER;
+    }
+
+    /** Tick da primeira ocupação da casa, ou {@link #NEVER}. */
+    public int firstOccupiedTick(int cell) {
+        int i = first[cell];
+        return i == NEVER ? NEVER : ticks[i];
+    }
+
+    public int changeCount(int cell) {
+        int count = 0;
+        for (int i = first[cell]; i != NEVER; i = next[i]) {
+            count++;
+        }
+        return count;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private MicrobeColorEnum color(int change) {
+        return COLORS[colors[change]];
+    }
+}
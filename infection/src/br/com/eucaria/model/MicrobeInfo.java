@@ -15,22 +15,15 @@ public record MicrobeInfo(
 ) implements Serializable {
     @Override
     public String toString() {
-        String formattedTimestamp = timestamp.toString();
+        return appendJson(new StringBuilder(160)).toString();
+    }
 
-        return String.format(
-                "{ " +
-                        "\"aid\": \"%s\", " +
-                        "\"status\": \"%s\", " +
-                        "\"color\": \"%s\", " +
-                        "\"position\": { \"x\": %d, \"y\": %d }, " +
-                        "\"timestamp\": \"%s\"" +
-                        " }",
-                aid.getLocalName(),
-                status,
-                color,
-                x,
-                y,
-                formattedTimestamp
-        );
+    public StringBuilder appendJson(StringBuilder sb) {
+        return sb.append("{ \"aid\": \"").append(aid.getLocalName())
+                .append("\", \"status\": \"").append(status)
+                .append("\", \"color\": \"").append(color)
+                .append("\", \"position\": { \"x\": ").append(x).append(", \"y\": ").append(y)
+                .append(" }, \"timestamp\": \"").append(timestamp)
+                .append("\" }");
     }
 }
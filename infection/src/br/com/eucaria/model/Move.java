@@ -0,0 +1,5 @@
+package br.com.eucaria.model;
+
+import java.io.Serializable;
+
+public record Move(MoveTypeEnum type, int fromX, int fromY, int toX, int toY) implements Serializable {}
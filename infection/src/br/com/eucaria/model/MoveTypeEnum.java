@@ -0,0 +1,6 @@
+package br.com.eucaria.model;
+
+public enum MoveTypeEnum {
+    COPY,
+    JUMP
+}
@@ -0,0 +1,120 @@
+package br.com.eucaria.model;
+
+/**
+ * Divide um {@link BitBoard} em faixas horizontais de linhas, cada uma escrita
+ * por um único worker. Cada linha começa em uma word própria, então faixas
+ * diferentes nunca escrevem na mesma word. Uma jogada de um micróbio da faixa
+ * escreve até {@link #HALO} linhas além dela (salto a 2 casas e infecção a 1),
+ * e lê a mesma distância. Com faixas de ao menos {@link #MIN_BAND_HEIGHT}
+ * linhas, duas faixas de mesma paridade nunca alcançam as mesmas linhas e
+ * podem rodar juntas; as de paridade oposta ficam para a outra fase.
+ * <p>
+ * As faixas acumulam as diferenças de contagem e de hash, que só vão para o
+ * tabuleiro em {@link #commit()}, chamado entre as fases.
+ */
+public final class PartitionedBoard {
+
+    public static final int HALO = 3;
+    public static final int MIN_BAND_HEIGHT = 2 * HALO;
+
+    private final BitBoard board;
+    private final int bandHeight;
+    private final Band[] bands;
+
+    public PartitionedBoard(BitBoard board, int bandHeight) {
+        if (bandHeight < MIN_BAND_HEIGHT) {
+            throw new IllegalArgumentException("Faixas precisam de ao menos " + MIN_BAND_HEIGHT + " linhas: " + bandHeight);
+        }
+        this.board = board;
+        this.bandHeight = bandHeight;
+        this.bands = new Band[(board.height() + bandHeight - 1) / bandHeight];
+        for (int i = 0; i < bands.length; i++) {
+            bands[i] = new Band(i, i * bandHeight, Math.min(board.height(), (i + 1) * bandHeight));
+        }
+    }
+
+    public BitBoard board() {
+        return board;
+    }
+
+    public int bandCount() {
+        return bands.length;
+    }
+
+    public int bandOf(int y) {
+        return y / bandHeight;
+    }
+
+    public Band band(int index) {
+        return bands[index];
+    }
+
+    /** Antes de uma fase: o tabuleiro passa a ter arrays próprios, não divididos com snapshots. */
+    public void prepare() {
+        board.ensureOwned();
+    }
+
+    /** Depois de uma fase: aplica ao tabuleiro as contagens e o hash acumulados pelas faixas. */
+    public void commit() {
+        for (Band band : bands) {
+            board.adjust(band.redDelta, band.blueDelta, band.hashDelta);
+            band.redDelta = 0;
+            band.blueDelta = 0;
+            band.hashDelta = 0L;
+        }
+    }
+
+    public final class Band {
+        private final int index;
+        private final int firstRow;
+        private final int endRow;
+        private int redDelta;
+        private int blueDelta;
+        private long hashDelta;
+
+        private Band(int index, int firstRow, int endRow) {
+            this.index = index;
+            this.firstRow = firstRow;
+            this.endRow = endRow;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public void set(int x, int y, MicrobeColorEnum color) {
+            if (y < firstRow - HALO || y >= endRow + HALO) {
+                throw new IllegalStateException("Faixa " + index + " (linhas " + firstRow + "-" + (endRow - 1)
+                        + ") não alcança a linha " + y);
+            }
+            MicrobeColorEnum previous = board.write(x, y, color);
+            if (previous == color) return;
+            count(previous, -1);
+            count(color, 1);
+            if (previous != MicrobeColorEnum.EMPTY) hashDelta ^= BitBoard.zobristKey(x, y, previous);
+            if (color != MicrobeColorEnum.EMPTY) hashDelta ^= BitBoard.zobristKey(x, y, color);
+        }
+
+        public void clear(int x, int y) {
+            set(x, y, MicrobeColorEnum.EMPTY);
+        }
+
+        /** Como {@link BitBoard#infect}, escrevendo pela faixa. */
+        public int infect(int x, int y, MicrobeColorEnum attackerColor) {
+            int infected = board.neighbourMask(x, y, MicrobeColorEnum.getOpponent(attackerColor)) & BitBoard.NEIGHBOURS;
+            for (int mask = infected; mask != 0; mask &= mask - 1) {
+                int b = Integer.numberOfTrailingZeros(mask);
+                set(BitBoard.maskX(b, x), BitBoard.maskY(b, y), attackerColor);
+            }
+            return infected;
+        }
+
+        private void count(MicrobeColorEnum color, int delta) {
+            if (color == MicrobeColorEnum.RED) {
+                redDelta += delta;
+            } else if (color == MicrobeColorEnum.BLUE) {
+                blueDelta += delta;
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.eucaria.model;
+
+/**
+ * Recorte do tabuleiro visto por um micróbio: uma janela quadrada de raio fixo
+ * em torno de (centerX, centerY), com 2 bits por casa. Fora da janela tudo é
+ * visto como vazio, como no {@code Board} que o manager enviava antes.
+ */
+public final class Perception implements BoardView {
+
+    public static final int DEFAULT_RADIUS = 2;
+
+    static final int EMPTY_CODE = 0;
+    static final int RED_CODE = 1;
+    static final int BLUE_CODE = 2;
+
+    private final int boardWidth;
+    private final int boardHeight;
+    private final int centerX;
+    private final int centerY;
+    private final int radius;
+    private final long boardHash;
+    private final byte[] cells;
+
+    Perception(int boardWidth, int boardHeight, int centerX, int centerY, int radius, long boardHash, byte[] cells) {
+        this.boardWidth = boardWidth;
+        this.boardHeight = boardHeight;
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.radius = radius;
+        this.boardHash = boardHash;
+        this.cells = cells;
+    }
+
+    public static Perception empty(int boardWidth, int boardHeight) {
+        return new Perception(boardWidth, boardHeight, 0, 0, -1, 0L, new byte[0]);
+    }
+
+    public static Perception of(BitBoard board, int centerX, int centerY, int radius) {
+        int side = 2 * radius + 1;
+        byte[] cells = new byte[packedLength(side * side)];
+        int cell = 0;
+        for (int dy = -radius; dy <= radius; dy++) {
+            for (int dx = -radius; dx <= radius; dx++, cell++) {
+                int code = switch (board.colorAt(centerX + dx, centerY + dy)) {
+                    case RED -> RED_CODE;
+                    case BLUE -> BLUE_CODE;
+                    case EMPTY -> EMPTY_CODE;
+                };
+                cells[cell >>> 2] |= (byte) (code << ((cell & 3) << 1));
+            }
+        }
+        return new Perception(board.width(), board.height(), centerX, centerY, radius, board.zobristHash(), cells);
+    }
+
+    static int packedLength(int cellCount) {
+        return (cellCount + 3) >>> 2;
+    }
+
+    @Override
+    public boolean isOutOfBounds(int x, int y) {
+        return x < 0 || x >= boardWidth || y < 0 || y >= boardHeight;
+    }
+
+    @Override
+    public MicrobeColorEnum getColorAt(int x, int y) {
+        int dx = x - centerX;
+        int dy = y - centerY;
+        if (Math.abs(dx) > radius || Math.abs(dy) > radius) {
+            return MicrobeColorEnum.EMPTY;
+        }
+        int cell = (dy + radius) * (2 * radius + 1) + (dx + radius);
+        return switch ((cells[cell >>> 2] >>> ((cell & 3) << 1)) & 3) {
+            case RED_CODE -> MicrobeColorEnum.RED;
+            case BLUE_CODE -> MicrobeColorEnum.BLUE;
+            default -> MicrobeColorEnum.EMPTY;
+        };
+    }
+
+    @Override
+    public int countPotentialInfections(int x, int y, MicrobeColorEnum attackerColor) {
+        MicrobeColorEnum opponentColor = MicrobeColorEnum.getOpponent(attackerColor);
+        int count = 0;
+        for (int i = -1; i <= 1; i++) {
+            for (int j = -1; j <= 1; j++) {
+                if (i == 0 && j == 0) continue;
+                if (getColorAt(x + j, y + i) == opponentColor) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /** Hash de Zobrist do tabuleiro no momento em que a percepção foi tirada. */
+    @Override
+    public long zobristHash() {
+        return boardHash;
+    }
+
+    public int getBoardWidth() {
+        return boardWidth;
+    }
+
+    public int getBoardHeight() {
+        return boardHeight;
+    }
+
+    public int getCenterX() {
+        return centerX;
+    }
+
+    public int getCenterY() {
+        return centerY;
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    byte[] cells() {
+        return cells;
+    }
+}
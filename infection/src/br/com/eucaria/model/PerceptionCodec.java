@@ -0,0 +1,96 @@
+package br.com.eucaria.model;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Formato binário da {@link Perception} trocada entre manager e micróbios:
+ * versão, raio, dimensões do tabuleiro e centro em varint, o hash de Zobrist
+ * do tabuleiro em 8 bytes e as casas da janela com 2 bits cada. Uma janela 5x5
+ * em um tabuleiro 7x7 ocupa 21 bytes.
+ */
+public final class PerceptionCodec {
+
+    private static final int VERSION = 2;
+
+    private PerceptionCodec() {
+    }
+
+    public static byte[] encode(Perception perception) {
+        byte[] cells = perception.cells();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(24 + cells.length);
+        out.write(VERSION);
+        out.write(perception.getRadius() + 1);
+        writeVarInt(out, perception.getBoardWidth());
+        writeVarInt(out, perception.getBoardHeight());
+        writeVarInt(out, perception.getCenterX());
+        writeVarInt(out, perception.getCenterY());
+        writeLong(out, perception.zobristHash());
+        out.write(cells, 0, cells.length);
+        return out.toByteArray();
+    }
+
+    public static Perception decode(byte[] data) {
+        int[] position = {0};
+        int version = readByte(data, position);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Versão de percepção não suportada: " + version);
+        }
+        int radius = readByte(data, position) - 1;
+        int width = readVarInt(data, position);
+        int height = readVarInt(data, position);
+        int centerX = readVarInt(data, position);
+        int centerY = readVarInt(data, position);
+        long boardHash = readLong(data, position);
+
+        int side = 2 * radius + 1;
+        int length = radius < 0 ? 0 : Perception.packedLength(side * side);
+        if (data.length - position[0] != length) {
+            throw new IllegalArgumentException("Percepção com " + (data.length - position[0])
+                    + " bytes de casas, esperados " + length);
+        }
+        byte[] cells = new byte[length];
+        System.arraycopy(data, position[0], cells, 0, length);
+        return new Perception(width, height, centerX, centerY, radius, boardHash, cells);
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    private static long readLong(byte[] data, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 8) {
+            value |= (long) readByte(data, position) << shift;
+        }
+        return value;
+    }
+
+    private static int readVarInt(byte[] data, int[] position) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte(data, position);
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint malformado na percepção");
+    }
+
+    private static int readByte(byte[] data, int[] position) {
+        if (position[0] >= data.length) {
+            throw new IllegalArgumentException("Percepção truncada");
+        }
+        return data[position[0]++] & 0xFF;
+    }
+}
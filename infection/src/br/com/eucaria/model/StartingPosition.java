@@ -0,0 +1,17 @@
+package br.com.eucaria.model;
+
+import java.util.List;
+
+public record StartingPosition(int x, int y, MicrobeColorEnum color) {
+
+    public static List<StartingPosition> corners(int width, int height) {
+        int lastX = width - 1;
+        int lastY = height - 1;
+        return List.of(
+                new StartingPosition(0, 0, MicrobeColorEnum.BLUE),
+                new StartingPosition(lastX, lastY, MicrobeColorEnum.BLUE),
+                new StartingPosition(lastX, 0, MicrobeColorEnum.RED),
+                new StartingPosition(0, lastY, MicrobeColorEnum.RED)
+        );
+    }
+}
@@ -0,0 +1,336 @@
+package br.com.eucaria.strategy;
+
+import br.com.eucaria.agent.MicrobeBrain;
+import br.com.eucaria.model.BoardView;
+import br.com.eucaria.model.Move;
+import br.com.eucaria.model.MoveTypeEnum;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+import static br.com.eucaria.strategy.MoveOffsets.DX;
+import static br.com.eucaria.strategy.MoveOffsets.DY;
+import static br.com.eucaria.strategy.SearchWindow.CENTER;
+import static br.com.eucaria.strategy.SearchWindow.FAR;
+import static br.com.eucaria.strategy.SearchWindow.NEAR;
+
+/**
+ * Busca alfa-beta com aprofundamento iterativo sobre a vizinhança percebida
+ * pelo micróbio ({@link SearchWindow}). Na raiz só o micróbio que decide se
+ * move, entre as jogadas que pode pagar; daí em diante as colônias alternam e
+ * qualquer micróbio da vez pode copiar ou saltar, com as infecções de sempre.
+ * A avaliação é a diferença de micróbios na janela.
+ * <p>
+ * Cada jogada da raiz é uma tarefa no {@link ForkJoinPool}, buscada com
+ * janela completa, e todas dividem uma {@link TranspositionTable} indexada
+ * pelo hash de Zobrist da janela. Como a tabela só corta com entradas da mesma
+ * profundidade, a nota de cada jogada da raiz não depende da ordem em que as
+ * threads trabalharam, e a escolha (empates para o primeiro alvo em ordem de
+ * linha) é a mesma em qualquer máquina. A exceção é o orçamento de tempo:
+ * quando uma iteração estoura, vale a última profundidade completa, e a
+ * escolha passa a depender da carga da máquina. Por isso o {@link #DEFAULT}
+ * busca sempre até a profundidade máxima, e só uma estratégia sem orçamento
+ * é {@link #isDeterministic() determinística}.
+ */
+public final class AlphaBetaStrategy implements MoveStrategy {
+
+    public static final int DEFAULT_DEPTH = 3;
+    public static final long DEFAULT_BUDGET_MILLIS = 0;
+    public static final AlphaBetaStrategy DEFAULT = new AlphaBetaStrategy(DEFAULT_DEPTH, DEFAULT_BUDGET_MILLIS, ForkJoinPool.commonPool());
+
+    private static final int INFINITY = 10_000;
+    private static final int NO_MOVE = 0xFFFFFF;
+    private static final int JUMP = 1 << 12;
+    private static final int MAX_MOVES = 1024;
+    private static final int TABLE_BITS = 20;
+
+    /** Totais acumulados desde a criação da estratégia ou desde {@link #resetStats()}. */
+    public record Stats(long decisions, long nodes, long searchNanos, long completedDepths) {
+
+        public double nodesPerSecond() {
+            return searchNanos == 0 ? 0 : nodes * 1e9 / searchNanos;
+        }
+
+        public double averageDepth() {
+            return decisions == 0 ? 0 : (double) completedDepths / decisions;
+        }
+    }
+
+    private final int maxDepth;
+    private final long budgetNanos;
+    private final ForkJoinPool pool;
+    private final TranspositionTable table = new TranspositionTable(TABLE_BITS);
+    private final ThreadLocal<Searcher> searchers = ThreadLocal.withInitial(Searcher::new);
+    private final LongAdder decisions = new LongAdder();
+    private final LongAdder nodes = new LongAdder();
+    private final LongAdder searchNanos = new LongAdder();
+    private final LongAdder completedDepths = new LongAdder();
+
+    /** Com {@code budgetMillis} 0 cada decisão vai sempre até {@code maxDepth}. */
+    public AlphaBetaStrategy(int maxDepth, long budgetMillis, ForkJoinPool pool) {
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("Profundidade deve ser positiva: " + maxDepth);
+        }
+        this.maxDepth = maxDepth;
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.pool = pool;
+    }
+
+    /** Sem orçamento de tempo a jogada depende só da posição, e pode ir para o cache de decisões. */
+    public boolean isDeterministic() {
+        return budgetNanos == 0;
+    }
+
+    @Override
+    public Move chooseMove(MicrobeBrain brain, BoardView view) {
+        long start = System.nanoTime();
+        int x = brain.getX();
+        int y = brain.getY();
+        SearchWindow window = SearchWindow.around(view, x, y, brain.getColor());
+
+        long empty = window.playable & ~window.own & ~window.opponent;
+        int to = brain.getEnergy() >= MicrobeBrain.JUMP_COST ? MoveOffsets.COUNT : MoveOffsets.JUMP_FROM;
+        int[] roots = new int[MoveOffsets.COUNT];
+        int rootCount = 0;
+        for (int k = MoveOffsets.COPY_FROM; k < to; k++) {
+            if ((empty >>> MoveOffsets.bit(DX[k], DY[k]) & 1L) != 0) {
+                roots[rootCount++] = k;
+            }
+        }
+        if (rootCount == 0) {
+            return null;
+        }
+        if (rootCount == 1) {
+            return rootMove(brain, roots[0]);
+        }
+
+        Decision decision = new Decision(window, window.hash(), start + budgetNanos);
+        boolean budgeted = budgetNanos > 0;
+        int best = roots[0];
+        int completed = 0;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            decision.abortable = budgeted && depth > 1;
+            int[] scores = new int[rootCount];
+            List<RootSearch> tasks = new ArrayList<>(rootCount);
+            for (int i = 0; i < rootCount; i++) {
+                tasks.add(new RootSearch(decision, roots[i], depth, scores, i));
+            }
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+            if (decision.aborted) break;
+
+            int bestIndex = 0;
+            for (int i = 1; i < rootCount; i++) {
+                if (scores[i] > scores[bestIndex]) bestIndex = i;
+            }
+            best = roots[bestIndex];
+            completed = depth;
+        }
+
+        decisions.increment();
+        completedDepths.add(completed);
+        nodes.add(decision.nodes.sum());
+        searchNanos.add(System.nanoTime() - start);
+
+        return rootMove(brain, best);
+    }
+
+    private static Move rootMove(MicrobeBrain brain, int offset) {
+        MoveTypeEnum type = offset < MoveOffsets.JUMP_FROM ? MoveTypeEnum.COPY : MoveTypeEnum.JUMP;
+        return brain.reusableMove(offset, type, brain.getX() + DX[offset], brain.getY() + DY[offset]);
+    }
+
+    public Stats getStats() {
+        return new Stats(decisions.sum(), nodes.sum(), searchNanos.sum(), completedDepths.sum());
+    }
+
+    /** Esquece as posições já avaliadas; útil para medir buscas a frio. */
+    public void clearTable() {
+        table.clear();
+    }
+
+    public void resetStats() {
+        decisions.reset();
+        nodes.reset();
+        searchNanos.reset();
+        completedDepths.reset();
+    }
+
+    private static final class Decision {
+        final SearchWindow window;
+        final long hash;
+        final long deadline;
+        final LongAdder nodes = new LongAdder();
+        volatile boolean abortable;
+        volatile boolean aborted;
+
+        Decision(SearchWindow window, long hash, long deadline) {
+            this.window = window;
+            this.hash = hash;
+            this.deadline = deadline;
+        }
+    }
+
+    private final class RootSearch extends RecursiveAction {
+        private final Decision decision;
+        private final int offset;
+        private final int depth;
+        private final int[] scores;
+        private final int index;
+
+        RootSearch(Decision decision, int offset, int depth, int[] scores, int index) {
+            this.decision = decision;
+            this.offset = offset;
+            this.depth = depth;
+            this.scores = scores;
+            this.index = index;
+        }
+
+        @Override
+        protected void compute() {
+            SearchWindow window = decision.window;
+            int target = MoveOffsets.bit(DX[offset], DY[offset]);
+            int move = offset < MoveOffsets.JUMP_FROM ? target : target | CENTER << 6 | JUMP;
+            Searcher searcher = searchers.get();
+            searcher.begin(decision);
+            scores[index] = searcher.play(window.own, window.opponent, decision.hash, true, move, depth, -INFINITY, INFINITY, 0);
+            decision.nodes.add(searcher.nodes);
+        }
+    }
+
+    /** Buffers de uma thread; cada busca na raiz roda inteira na mesma thread. */
+    private final class Searcher {
+        private final int[][] moves = new int[maxDepth + 1][MAX_MOVES];
+        private final int[] unordered = new int[MAX_MOVES];
+        private final int[] buckets = new int[18];
+        private Decision decision;
+        private long playable;
+        private long nodes;
+
+        void begin(Decision decision) {
+            this.decision = decision;
+            this.playable = decision.window.playable;
+            this.nodes = 0;
+        }
+
+        /** Nota, para quem jogou, de fazer {@code move} e seguir buscando {@code depth - 1} lances. */
+        int play(long own, long opponent, long hash, boolean rootSide, int move, int depth, int alpha, int beta, int ply) {
+            long[] keys = rootSide ? SearchWindow.OWN_KEYS : SearchWindow.OPPONENT_KEYS;
+            int target = move & 63;
+            long captured = opponent & NEAR[target];
+            long nextOwn = own | 1L << target | captured;
+            long nextHash = hash ^ keys[target] ^ SearchWindow.SIDE_KEY;
+            for (long m = captured; m != 0; m &= m - 1) {
+                nextHash ^= SearchWindow.SWAP_KEYS[Long.numberOfTrailingZeros(m)];
+            }
+            if ((move & JUMP) != 0) {
+                int from = move >>> 6 & 63;
+                nextOwn &= ~(1L << from);
+                nextHash ^= keys[from];
+            }
+            return -search(opponent & ~captured, nextOwn, nextHash, !rootSide, depth - 1, -beta, -alpha, ply + 1);
+        }
+
+        private int search(long own, long opponent, long hash, boolean rootSide, int depth, int alpha, int beta, int ply) {
+            if ((++nodes & 1023) == 0 && decision.abortable && System.nanoTime() > decision.deadline) {
+                decision.aborted = true;
+            }
+            if (decision.aborted) return 0;
+            if (depth == 0) return Long.bitCount(own) - Long.bitCount(opponent);
+
+            int originalAlpha = alpha;
+            int hashMove = NO_MOVE;
+            long entry = table.probe(hash);
+            if (entry != 0) {
+                hashMove = TranspositionTable.move(entry);
+                if (TranspositionTable.depth(entry) == depth) {
+                    int score = TranspositionTable.score(entry);
+                    switch (TranspositionTable.bound(entry)) {
+                        case TranspositionTable.EXACT -> {
+                            return score;
+                        }
+                        case TranspositionTable.LOWER -> alpha = Math.max(alpha, score);
+                        default -> beta = Math.min(beta, score);
+                    }
+                    if (alpha >= beta) return score;
+                }
+            }
+
+            int count = generate(own, opponent, ply, hashMove);
+            if (count == 0) return Long.bitCount(own) - Long.bitCount(opponent);
+
+            int[] list = moves[ply];
+            int best = -INFINITY;
+            int bestMove = NO_MOVE;
+            for (int i = 0; i < count; i++) {
+                int score = play(own, opponent, hash, rootSide, list[i], depth, alpha, beta, ply);
+                if (decision.aborted) return 0;
+                if (score > best) {
+                    best = score;
+                    bestMove = list[i];
+                }
+                if (best > alpha) alpha = best;
+                if (alpha >= beta) break;
+            }
+
+            int bound = best <= originalAlpha ? TranspositionTable.UPPER
+                    : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+            table.store(hash, depth, bound, best, bestMove);
+            return best;
+        }
+
+        /**
+         * Cópias (uma por casa de destino) e saltos de quem joga, ordenados pelo
+         * número de infecções, cópias antes de saltos e o lance da tabela primeiro.
+         */
+        private int generate(long own, long opponent, int ply, int hashMove) {
+            long empty = playable & ~own & ~opponent;
+            int count = 0;
+            for (long m = SearchWindow.near(own) & empty; m != 0; m &= m - 1) {
+                unordered[count++] = Long.numberOfTrailingZeros(m);
+            }
+            for (long m = own; m != 0; m &= m - 1) {
+                int from = Long.numberOfTrailingZeros(m);
+                for (long t = FAR[from] & empty; t != 0; t &= t - 1) {
+                    unordered[count++] = Long.numberOfTrailingZeros(t) | from << 6 | JUMP;
+                }
+            }
+
+            Arrays.fill(buckets, 0);
+            for (int i = 0; i < count; i++) {
+                buckets[orderKey(unordered[i], opponent)]++;
+            }
+            for (int key = buckets.length - 1, start = 0; key >= 0; key--) {
+                int size = buckets[key];
+                buckets[key] = start;
+                start += size;
+            }
+            int[] list = moves[ply];
+            for (int i = 0; i < count; i++) {
+                list[buckets[orderKey(unordered[i], opponent)]++] = unordered[i];
+            }
+
+            for (int i = 1; i < count; i++) {
+                if (list[i] == hashMove) {
+                    System.arraycopy(list, 0, list, 1, i);
+                    list[0] = hashMove;
+                    break;
+                }
+            }
+            return count;
+        }
+    }
+
+    private static int orderKey(int move, long opponent) {
+        int infections = Long.bitCount(opponent & NEAR[move & 63]);
+        return infections * 2 + ((move & JUMP) == 0 ? 1 : 0);
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.eucaria.strategy;
+
+import br.com.eucaria.agent.MicrobeBrain;
+import br.com.eucaria.model.BoardView;
+import br.com.eucaria.model.Move;
+import br.com.eucaria.model.MoveTypeEnum;
+
+import static br.com.eucaria.strategy.MoveOffsets.DX;
+import static br.com.eucaria.strategy.MoveOffsets.DY;
+
+/**
+ * Guarda as decisões de uma estratégia determinística em um
+ * {@link DecisionCache}, pela chave: hash de Zobrist do tabuleiro, posição e
+ * cor do micróbio e se ele tem energia para saltar, que é tudo de que as
+ * estratégias determinísticas dependem. Partidas em lote passam muitas vezes
+ * pelas mesmas posições a partir dos cantos iniciais, e a decisão é reusada
+ * sem nova avaliação. Visões sem hash (0) vão direto à estratégia.
+ */
+public final class CachingMoveStrategy implements MoveStrategy {
+
+    private static final int PASS = -1;
+
+    private final MoveStrategy delegate;
+    private final DecisionCache cache;
+
+    public CachingMoveStrategy(MoveStrategy delegate, DecisionCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Move chooseMove(MicrobeBrain brain, BoardView view) {
+        long boardHash = view.zobristHash();
+        if (boardHash == 0 || !cache.isEnabled()) {
+            return delegate.chooseMove(brain, view);
+        }
+        int x = brain.getX();
+        int y = brain.getY();
+        boolean canJump = brain.getEnergy() >= MicrobeBrain.JUMP_COST;
+        long key = keyOf(boardHash, x, y, brain.getColor().ordinal(), canJump);
+
+        int slot = cache.get(key);
+        if (slot == DecisionCache.MISSING) {
+            Move move = delegate.chooseMove(brain, view);
+            cache.put(key, move == null ? PASS : MoveOffsets.slotOf(move.toX() - x, move.toY() - y));
+            return move;
+        }
+        if (slot == PASS) {
+            return null;
+        }
+        MoveTypeEnum type = slot < MoveOffsets.JUMP_FROM ? MoveTypeEnum.COPY : MoveTypeEnum.JUMP;
+        return brain.reusableMove(slot, type, x + DX[slot], y + DY[slot]);
+    }
+
+    public DecisionCache getCache() {
+        return cache;
+    }
+
+    private static long keyOf(long boardHash, int x, int y, int color, boolean canJump) {
+        long z = boardHash ^ ((long) x << 34 | (long) y << 3 | (long) color << 1 | (canJump ? 1 : 0)) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
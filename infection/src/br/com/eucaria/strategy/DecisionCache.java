@@ -0,0 +1,198 @@
+package br.com.eucaria.strategy;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache limitado de decisões, de chave {@code long} para um {@code int},
+ * com despejo pelo algoritmo do relógio (CLOCK): cada entrada tem um bit de
+ * uso ligado a cada acerto, e o ponteiro percorre as entradas desligando os
+ * bits até achar uma que não foi usada desde a última volta. A capacidade é
+ * dividida em até 16 segmentos com trava própria, escolhidos pelos bits altos
+ * da chave, para as threads do runner não disputarem uma trava única. Os
+ * contadores de acertos, faltas e despejos servem para dimensionar o cache.
+ */
+public final class DecisionCache {
+
+    public static final int MISSING = Integer.MIN_VALUE;
+
+    private static final int SEGMENTS = 16;
+
+    public record Stats(long hits, long misses, long evictions, int size, int capacity) {
+
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    private volatile Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public DecisionCache(int capacity) {
+        setCapacity(capacity);
+    }
+
+    /** Troca a capacidade, esvaziando o cache; 0 desliga o cache. */
+    public void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacidade negativa: " + capacity);
+        }
+        Segment[] fresh = new Segment[capacity == 0 ? 0 : Math.min(SEGMENTS, Integer.highestOneBit(capacity))];
+        int perSegment = fresh.length == 0 ? 0 : (capacity + fresh.length - 1) / fresh.length;
+        for (int i = 0; i < fresh.length; i++) {
+            fresh[i] = new Segment(perSegment);
+        }
+        segments = fresh;
+    }
+
+    public boolean isEnabled() {
+        return segments.length > 0;
+    }
+
+    /** Valor guardado para a chave, ou {@link #MISSING}. */
+    public int get(long key) {
+        Segment[] current = segments;
+        if (current.length == 0) return MISSING;
+        int value = current[segmentOf(key, current.length)].get(key);
+        (value == MISSING ? misses : hits).increment();
+        return value;
+    }
+
+    public void put(long key, int value) {
+        Segment[] current = segments;
+        if (current.length == 0) return;
+        if (current[segmentOf(key, current.length)].put(key, value)) {
+            evictions.increment();
+        }
+    }
+
+    public Stats getStats() {
+        Segment[] current = segments;
+        int size = 0;
+        int capacity = 0;
+        for (Segment segment : current) {
+            synchronized (segment) {
+                size += segment.size;
+                capacity += segment.keys.length;
+            }
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size, capacity);
+    }
+
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    @Override
+    public String toString() {
+        Stats stats = getStats();
+        return String.format("%d acertos, %d faltas (%.1f%%), %d despejos, %d/%d entradas",
+                stats.hits(), stats.misses(), 100 * stats.hitRate(), stats.evictions(), stats.size(), stats.capacity());
+    }
+
+    private static int segmentOf(long key, int segmentCount) {
+        return (int) (key >>> 60) & (segmentCount - 1);
+    }
+
+    /**
+     * Entradas em arrays paralelos, percorridos pelo ponteiro do relógio, e um
+     * índice de endereçamento aberto (sondagem linear, remoção com
+     * deslocamento para trás) da chave para a posição da entrada.
+     */
+    private static final class Segment {
+        private final long[] keys;
+        private final int[] values;
+        private final boolean[] referenced;
+        private final long[] indexKeys;
+        private final int[] indexSlots;
+        private final int indexMask;
+        private int size;
+        private int hand;
+
+        Segment(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new int[capacity];
+            this.referenced = new boolean[capacity];
+            int indexSize = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+            this.indexKeys = new long[indexSize];
+            this.indexSlots = new int[indexSize];
+            this.indexMask = indexSize - 1;
+        }
+
+        synchronized int get(long key) {
+            int slot = find(key);
+            if (slot < 0) return MISSING;
+            referenced[slot] = true;
+            return values[slot];
+        }
+
+        /** Guarda o valor; devolve {@code true} se outra entrada foi despejada. */
+        synchronized boolean put(long key, int value) {
+            int slot = find(key);
+            if (slot >= 0) {
+                values[slot] = value;
+                referenced[slot] = true;
+                return false;
+            }
+            boolean evicted = false;
+            if (size < keys.length) {
+                slot = size++;
+            } else {
+                while (referenced[hand]) {
+                    referenced[hand] = false;
+                    hand = (hand + 1) % keys.length;
+                }
+                slot = hand;
+                hand = (hand + 1) % keys.length;
+                unindex(keys[slot]);
+                evicted = true;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            referenced[slot] = false;
+            index(key, slot);
+            return evicted;
+        }
+
+        private int find(long key) {
+            for (int i = home(key); indexSlots[i] != 0; i = (i + 1) & indexMask) {
+                if (indexKeys[i] == key) return indexSlots[i] - 1;
+            }
+            return -1;
+        }
+
+        private void index(long key, int slot) {
+            int i = home(key);
+            while (indexSlots[i] != 0) {
+                i = (i + 1) & indexMask;
+            }
+            indexKeys[i] = key;
+            indexSlots[i] = slot + 1;
+        }
+
+        private void unindex(long key) {
+            int i = home(key);
+            while (indexKeys[i] != key || indexSlots[i] == 0) {
+                i = (i + 1) & indexMask;
+            }
+            // Puxa para trás as entradas seguintes que deixariam de ser achadas.
+            for (int j = (i + 1) & indexMask; indexSlots[j] != 0; j = (j + 1) & indexMask) {
+                int h = home(indexKeys[j]);
+                if (((j - h) & indexMask) >= ((j - i) & indexMask)) {
+                    indexKeys[i] = indexKeys[j];
+                    indexSlots[i] = indexSlots[j];
+                    i = j;
+                }
+            }
+            indexSlots[i] = 0;
+        }
+
+        private int home(long key) {
+            return (int) (key ^ key >>> 29) & indexMask;
+        }
+    }
+}
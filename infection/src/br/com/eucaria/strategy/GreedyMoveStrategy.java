@@ -0,0 +1,77 @@
+package br.com.eucaria.strategy;
+
+import br.com.eucaria.agent.MicrobeBrain;
+import br.com.eucaria.model.BoardView;
+import br.com.eucaria.model.MicrobeColorEnum;
+import br.com.eucaria.model.Move;
+import br.com.eucaria.model.MoveTypeEnum;
+
+import static br.com.eucaria.strategy.MoveOffsets.COPY_FROM;
+import static br.com.eucaria.strategy.MoveOffsets.COUNT;
+import static br.com.eucaria.strategy.MoveOffsets.DX;
+import static br.com.eucaria.strategy.MoveOffsets.DY;
+import static br.com.eucaria.strategy.MoveOffsets.JUMP_FROM;
+import static br.com.eucaria.strategy.MoveOffsets.NEIGHBOURS;
+
+/**
+ * Heurística original do micróbio, de um passo: isolado (coesão abaixo de
+ * 0.3) e com energia, salta; senão copia. Entre os alvos livres fica o que
+ * infectaria mais vizinhos, e nos empates o primeiro em ordem de linha.
+ * Percorre as tabelas de {@link MoveOffsets} e pontua cada alvo pela máscara
+ * de oponentes ao redor do micróbio, sem montar listas, e devolve a
+ * {@link Move} reaproveitada pelo {@link MicrobeBrain}: nenhuma alocação por
+ * turno enquanto o micróbio não se move.
+ */
+public final class GreedyMoveStrategy implements MoveStrategy {
+
+    public static final GreedyMoveStrategy INSTANCE = new GreedyMoveStrategy();
+
+    private static final System.Logger LOGGER = System.getLogger(GreedyMoveStrategy.class.getName());
+
+    private GreedyMoveStrategy() {
+    }
+
+    @Override
+    public Move chooseMove(MicrobeBrain brain, BoardView view) {
+        int x = brain.getX();
+        int y = brain.getY();
+        MicrobeColorEnum opponent = MicrobeColorEnum.getOpponent(brain.getColor());
+
+        if (brain.getColonyCohesion() < 0.3 && brain.getEnergy() >= MicrobeBrain.JUMP_COST) {
+            int best = bestTarget(view, x, y, opponent, JUMP_FROM, COUNT, 3);
+            if (best >= 0) {
+                if (brain.isVerbose()) LOGGER.log(System.Logger.Level.DEBUG, "{0} está isolado, tentando SALTAR.", brain.getName());
+                return brain.reusableMove(best, MoveTypeEnum.JUMP, x + DX[best], y + DY[best]);
+            }
+        }
+
+        int best = bestTarget(view, x, y, opponent, COPY_FROM, JUMP_FROM, 2);
+        if (best < 0) {
+            return null;
+        }
+        if (brain.getAggressiveness() > 0.6 && brain.isVerbose()) {
+            LOGGER.log(System.Logger.Level.DEBUG, "{0} está agressivo, tentando COPIAR.", brain.getName());
+        }
+        return brain.reusableMove(best, MoveTypeEnum.COPY, x + DX[best], y + DY[best]);
+    }
+
+    private static int bestTarget(BoardView view, int x, int y, MicrobeColorEnum opponent, int from, int to, int reach) {
+        long opponents = 0L;
+        boolean scanned = false;
+        int best = -1;
+        int bestScore = -1;
+        for (int k = from; k < to; k++) {
+            if (!MoveOffsets.isFree(view, x, y, k)) continue;
+            if (!scanned) {
+                opponents = MoveOffsets.colorMask(view, x, y, opponent, reach);
+                scanned = true;
+            }
+            int score = Long.bitCount(opponents & NEIGHBOURS[k]);
+            if (score > bestScore) {
+                bestScore = score;
+                best = k;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.eucaria.strategy;
+
+import br.com.eucaria.agent.MicrobeBrain;
+import br.com.eucaria.model.BoardView;
+import br.com.eucaria.model.MicrobeColorEnum;
+
+/**
+ * Tabelas de deslocamentos pré-calculadas para as estratégias: os 8 alvos de
+ * cópia seguidos dos 16 de salto, na mesma ordem de linha da varredura
+ * original, e, para cada alvo, a máscara dos seus vizinhos em uma janela 7x7
+ * centrada no micróbio (bit = (dy + 3) * 7 + (dx + 3)).
+ */
+final class MoveOffsets {
+
+    static final int COPY_FROM = 0;
+    static final int JUMP_FROM = 8;
+    static final int COUNT = MicrobeBrain.MOVE_SLOTS;
+
+    static final int[] DX = new int[COUNT];
+    static final int[] DY = new int[COUNT];
+    static final long[] NEIGHBOURS = new long[COUNT];
+    private static final int[] SLOTS = new int[49];
+
+    private static final int SIDE = 7;
+    private static final int REACH = SIDE / 2;
+
+    static {
+        int copies = COPY_FROM;
+        int jumps = JUMP_FROM;
+        for (int dy = -2; dy <= 2; dy++) {
+            for (int dx = -2; dx <= 2; dx++) {
+                if (dx == 0 && dy == 0) continue;
+                int k = Math.abs(dx) <= 1 && Math.abs(dy) <= 1 ? copies++ : jumps++;
+                DX[k] = dx;
+                DY[k] = dy;
+                SLOTS[bit(dx, dy)] = k;
+                for (int ny = dy - 1; ny <= dy + 1; ny++) {
+                    for (int nx = dx - 1; nx <= dx + 1; nx++) {
+                        if (nx == dx && ny == dy) continue;
+                        NEIGHBOURS[k] |= 1L << bit(nx, ny);
+                    }
+                }
+            }
+        }
+    }
+
+    private MoveOffsets() {
+    }
+
+    /** Índice do alvo (dx, dy) nas tabelas, a até 2 casas do micróbio. */
+    static int slotOf(int dx, int dy) {
+        return SLOTS[bit(dx, dy)];
+    }
+
+    static int bit(int dx, int dy) {
+        return (dy + REACH) * SIDE + (dx + REACH);
+    }
+
+    /**
+     * Máscara das casas da cor pedida até {@code reach} casas do centro (2
+     * basta para pontuar cópias, 3 para saltos). Casas fora do tabuleiro ficam
+     * de fora.
+     */
+    static long colorMask(BoardView view, int x, int y, MicrobeColorEnum color, int reach) {
+        long mask = 0L;
+        for (int dy = -reach; dy <= reach; dy++) {
+            for (int dx = -reach; dx <= reach; dx++) {
+                int cx = x + dx;
+                int cy = y + dy;
+                if (!view.isOutOfBounds(cx, cy) && view.getColorAt(cx, cy) == color) {
+                    mask |= 1L << bit(dx, dy);
+                }
+            }
+        }
+        return mask;
+    }
+
+    static boolean isFree(BoardView view, int x, int y, int k) {
+        int tx = x + DX[k];
+        int ty = y + DY[k];
+        return !view.isOutOfBounds(tx, ty) && view.getColorAt(tx, ty) == MicrobeColorEnum.EMPTY;
+    }
+}
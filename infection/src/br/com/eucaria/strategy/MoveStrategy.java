@@ -0,0 +1,18 @@
+package br.com.eucaria.strategy;
+
+import br.com.eucaria.agent.MicrobeBrain;
+import br.com.eucaria.model.BoardView;
+import br.com.eucaria.model.Move;
+
+/**
+ * Regra de escolha da jogada de um micróbio. O {@link MicrobeBrain} já
+ * atualizou energia, coesão e agressividade e conferiu que há energia para ao
+ * menos uma cópia; a estratégia só propõe jogadas que o micróbio pode pagar.
+ * As implementações não guardam estado por micróbio, então uma mesma instância
+ * atende micróbios de várias partidas e threads.
+ */
+public interface MoveStrategy {
+
+    /** Jogada escolhida a partir da posição e da cor atuais do micróbio, ou {@code null} para passar a vez. */
+    Move chooseMove(MicrobeBrain brain, BoardView view);
+}
@@ -0,0 +1,41 @@
+package br.com.eucaria.strategy;
+
+public enum MoveStrategyEnum {
+    // A gulosa decide mais rápido do que uma consulta ao cache: ele começa desligado.
+    GREEDY("greedy", GreedyMoveStrategy.INSTANCE, true, 0),
+    RANDOM("random", RandomMoveStrategy.INSTANCE, false, 0),
+    ALPHA_BETA("alphabeta", AlphaBetaStrategy.DEFAULT, AlphaBetaStrategy.DEFAULT.isDeterministic(), 1 << 16);
+
+    private final String optionName;
+    private final MoveStrategy strategy;
+    private final DecisionCache decisionCache;
+
+    /** Só estratégias determinísticas podem ter as decisões reaproveitadas. */
+    MoveStrategyEnum(String optionName, MoveStrategy strategy, boolean deterministic, int cacheCapacity) {
+        this.optionName = optionName;
+        this.decisionCache = deterministic ? new DecisionCache(cacheCapacity) : null;
+        this.strategy = decisionCache == null ? strategy : new CachingMoveStrategy(strategy, decisionCache);
+    }
+
+    public String getOptionName() {
+        return optionName;
+    }
+
+    public MoveStrategy getStrategy() {
+        return strategy;
+    }
+
+    /** Cache de decisões da estratégia, ou {@code null} se ela sorteia as jogadas. */
+    public DecisionCache getDecisionCache() {
+        return decisionCache;
+    }
+
+    public static MoveStrategyEnum fromOptionName(String name) {
+        for (MoveStrategyEnum value : values()) {
+            if (value.optionName.equals(name)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Estratégia desconhecida: " + name);
+    }
+}
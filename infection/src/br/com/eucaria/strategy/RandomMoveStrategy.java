@@ -0,0 +1,47 @@
+package br.com.eucaria.strategy;
+
+import br.com.eucaria.agent.MicrobeBrain;
+import br.com.eucaria.model.BoardView;
+import br.com.eucaria.model.Move;
+import br.com.eucaria.model.MoveTypeEnum;
+
+import static br.com.eucaria.strategy.MoveOffsets.COPY_FROM;
+import static br.com.eucaria.strategy.MoveOffsets.COUNT;
+import static br.com.eucaria.strategy.MoveOffsets.DX;
+import static br.com.eucaria.strategy.MoveOffsets.DY;
+import static br.com.eucaria.strategy.MoveOffsets.JUMP_FROM;
+
+/**
+ * Sorteia, com o gerador do próprio micróbio, uma das jogadas livres que ele
+ * pode pagar. Serve de linha de base para comparar as demais estratégias.
+ */
+public final class RandomMoveStrategy implements MoveStrategy {
+
+    public static final RandomMoveStrategy INSTANCE = new RandomMoveStrategy();
+
+    private RandomMoveStrategy() {
+    }
+
+    @Override
+    public Move chooseMove(MicrobeBrain brain, BoardView view) {
+        int x = brain.getX();
+        int y = brain.getY();
+        int to = brain.getEnergy() >= MicrobeBrain.JUMP_COST ? COUNT : JUMP_FROM;
+
+        int free = 0;
+        for (int k = COPY_FROM; k < to; k++) {
+            if (MoveOffsets.isFree(view, x, y, k)) {
+                free |= 1 << k;
+            }
+        }
+        if (free == 0) {
+            return null;
+        }
+        for (int skip = brain.getRandom().nextInt(Integer.bitCount(free)); skip > 0; skip--) {
+            free &= free - 1;
+        }
+        int k = Integer.numberOfTrailingZeros(free);
+        MoveTypeEnum type = k < JUMP_FROM ? MoveTypeEnum.COPY : MoveTypeEnum.JUMP;
+        return brain.reusableMove(k, type, x + DX[k], y + DY[k]);
+    }
+}
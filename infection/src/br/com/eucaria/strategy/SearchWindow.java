@@ -0,0 +1,118 @@
+package br.com.eucaria.strategy;
+
+import br.com.eucaria.model.BoardView;
+import br.com.eucaria.model.MicrobeColorEnum;
+
+import java.util.SplittableRandom;
+
+/**
+ * Geometria da busca: a vizinhança do micróbio em uma janela 7x7 guardada
+ * em um {@code long}, com o mesmo bit de {@link MoveOffsets#bit}. Só as casas
+ * dentro do tabuleiro e a até {@link #RADIUS} do centro, as que o micróbio
+ * percebe, entram no jogo. As cores são normalizadas: {@code own} é sempre a
+ * colônia de quem decide, de modo que a mesma posição serve às duas cores.
+ */
+final class SearchWindow {
+
+    static final int SIDE = 7;
+    static final int CELLS = SIDE * SIDE;
+    static final int CENTER = CELLS / 2;
+    static final int RADIUS = 2;
+
+    /** Vizinhos a uma casa (destinos de cópia e casas infectadas) de cada bit. */
+    static final long[] NEAR = new long[CELLS];
+    /** Casas a exatamente duas casas (destinos de salto) de cada bit. */
+    static final long[] FAR = new long[CELLS];
+
+    /** Chaves de Zobrist das peças de quem decide na raiz e das do oponente. */
+    static final long[] OWN_KEYS = new long[CELLS];
+    static final long[] OPPONENT_KEYS = new long[CELLS];
+    static final long[] SWAP_KEYS = new long[CELLS];
+    static final long SIDE_KEY;
+
+    static {
+        SplittableRandom keys = new SplittableRandom(0x5EA4C4L);
+        for (int b = 0; b < CELLS; b++) {
+            int r = b / SIDE;
+            int c = b % SIDE;
+            for (int dr = -2; dr <= 2; dr++) {
+                for (int dc = -2; dc <= 2; dc++) {
+                    int nr = r + dr;
+                    int nc = c + dc;
+                    if ((dr == 0 && dc == 0) || nr < 0 || nr >= SIDE || nc < 0 || nc >= SIDE) continue;
+                    if (Math.abs(dr) <= 1 && Math.abs(dc) <= 1) {
+                        NEAR[b] |= 1L << (nr * SIDE + nc);
+                    } else {
+                        FAR[b] |= 1L << (nr * SIDE + nc);
+                    }
+                }
+            }
+            OWN_KEYS[b] = keys.nextLong();
+            OPPONENT_KEYS[b] = keys.nextLong();
+            SWAP_KEYS[b] = OWN_KEYS[b] ^ OPPONENT_KEYS[b];
+        }
+        SIDE_KEY = keys.nextLong();
+    }
+
+    final long playable;
+    final long own;
+    final long opponent;
+
+    private SearchWindow(long playable, long own, long opponent) {
+        this.playable = playable;
+        this.own = own;
+        this.opponent = opponent;
+    }
+
+    static SearchWindow around(BoardView view, int x, int y, MicrobeColorEnum color) {
+        MicrobeColorEnum opponentColor = MicrobeColorEnum.getOpponent(color);
+        long playable = 0L;
+        long own = 0L;
+        long opponent = 0L;
+        for (int dy = -RADIUS; dy <= RADIUS; dy++) {
+            for (int dx = -RADIUS; dx <= RADIUS; dx++) {
+                int cx = x + dx;
+                int cy = y + dy;
+                if (view.isOutOfBounds(cx, cy)) continue;
+                long bit = 1L << MoveOffsets.bit(dx, dy);
+                playable |= bit;
+                MicrobeColorEnum cellColor = view.getColorAt(cx, cy);
+                if (cellColor == color) {
+                    own |= bit;
+                } else if (cellColor == opponentColor) {
+                    opponent |= bit;
+                }
+            }
+        }
+        // O próprio micróbio está no centro mesmo que a visão não o mostre.
+        own |= 1L << CENTER;
+        opponent &= ~(1L << CENTER);
+        return new SearchWindow(playable, own, opponent);
+    }
+
+    /** Hash da posição com {@code own} a jogar, incluindo o recorte do tabuleiro. */
+    long hash() {
+        long hash = mix(playable);
+        for (long m = own; m != 0; m &= m - 1) {
+            hash ^= OWN_KEYS[Long.numberOfTrailingZeros(m)];
+        }
+        for (long m = opponent; m != 0; m &= m - 1) {
+            hash ^= OPPONENT_KEYS[Long.numberOfTrailingZeros(m)];
+        }
+        return hash;
+    }
+
+    static long near(long pieces) {
+        long targets = 0L;
+        for (long m = pieces; m != 0; m &= m - 1) {
+            targets |= NEAR[Long.numberOfTrailingZeros(m)];
+        }
+        return targets;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.eucaria.strategy;
+
+import br.com.eucaria.model.MicrobeColorEnum;
+
+import java.io.Serializable;
+
+/**
+ * Estratégia de cada colônia. Fica com o micróbio durante toda a partida, de
+ * modo que um micróbio infectado passa a jogar com a estratégia da nova cor.
+ */
+public record StrategyProfile(MoveStrategyEnum red, MoveStrategyEnum blue) implements Serializable {
+
+    public static final StrategyProfile DEFAULT = new StrategyProfile(MoveStrategyEnum.GREEDY, MoveStrategyEnum.GREEDY);
+
+    /** Lê {@code nome} (as duas colônias) ou {@code vermelha/azul}, ex.: {@code random/greedy}. */
+    public static StrategyProfile parse(String value) {
+        String[] parts = value.split("/", -1);
+        if (parts.length > 2) {
+            throw new IllegalArgumentException("Estratégias demais em: " + value);
+        }
+        MoveStrategyEnum red = MoveStrategyEnum.fromOptionName(parts[0]);
+        MoveStrategyEnum blue = parts.length == 2 ? MoveStrategyEnum.fromOptionName(parts[1]) : red;
+        return new StrategyProfile(red, blue);
+    }
+
+    /** Dimensiona os caches de decisão das estratégias do perfil; 0 os desliga. */
+    public void setDecisionCacheCapacity(int capacity) {
+        for (MoveStrategyEnum strategy : new MoveStrategyEnum[]{red, blue}) {
+            if (strategy.getDecisionCache() != null) {
+                strategy.getDecisionCache().setCapacity(capacity);
+            }
+        }
+    }
+
+    public boolean uses(MoveStrategyEnum strategy) {
+        return red == strategy || blue == strategy;
+    }
+
+    public MoveStrategy forColor(MicrobeColorEnum color) {
+        return (color == MicrobeColorEnum.BLUE ? blue : red).getStrategy();
+    }
+
+    @Override
+    public String toString() {
+        return red == blue ? red.getOptionName() : red.getOptionName() + "/" + blue.getOptionName();
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.eucaria.strategy;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de transposição compartilhada pelas threads da busca, sem travas:
+ * cada entrada guarda a chave misturada com os dados, de modo que uma escrita
+ * concorrente pela metade aparece como falta, e não como um valor errado.
+ * Substituição sempre pela entrada mais recente.
+ */
+final class TranspositionTable {
+
+    static final int EXACT = 0;
+    static final int LOWER = 1;
+    static final int UPPER = 2;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+
+    TranspositionTable(int log2Entries) {
+        this.keys = new long[1 << log2Entries];
+        this.data = new long[1 << log2Entries];
+        this.mask = keys.length - 1;
+    }
+
+    /** Dados da posição, ou 0 se ela não está na tabela (nenhuma entrada válida tem dados 0). */
+    long probe(long hash) {
+        int slot = (int) hash & mask;
+        long entry = data[slot];
+        return (keys[slot] ^ entry) == hash ? entry : 0L;
+    }
+
+    void store(long hash, int depth, int bound, int score, int move) {
+        long entry = pack(depth, bound, score, move);
+        int slot = (int) hash & mask;
+        data[slot] = entry;
+        keys[slot] = hash ^ entry;
+    }
+
+    void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(data, 0L);
+    }
+
+    static long pack(int depth, int bound, int score, int move) {
+        return 1L << 62 | (long) (depth & 0xFF) << 48 | (long) bound << 40 | (long) (score & 0xFFFF) << 24 | (move & 0xFFFFFF);
+    }
+
+    static int depth(long entry) {
+        return (int) (entry >>> 48) & 0xFF;
+    }
+
+    static int bound(long entry) {
+        return (int) (entry >>> 40) & 0xFF;
+    }
+
+    static int score(long entry) {
+        return (short) (entry >>> 24);
+    }
+
+    static int move(long entry) {
+        return (int) entry & 0xFFFFFF;
+    }
+}
@@ -0,0 +1,192 @@
+package br.com.eucaria.transport;
+
+import br.com.eucaria.model.MicrobeColorEnum;
+import br.com.eucaria.model.MicrobeInfo;
+import br.com.eucaria.model.Move;
+import br.com.eucaria.model.MoveTypeEnum;
+import br.com.eucaria.model.PerceptionCodec;
+import br.com.eucaria.transport.ProtocolMessage.Accepted;
+import br.com.eucaria.transport.ProtocolMessage.Converted;
+import br.com.eucaria.transport.ProtocolMessage.GameOver;
+import br.com.eucaria.transport.ProtocolMessage.Host;
+import br.com.eucaria.transport.ProtocolMessage.Pass;
+import br.com.eucaria.transport.ProtocolMessage.PerceptionReply;
+import br.com.eucaria.transport.ProtocolMessage.PerceptionRequest;
+import br.com.eucaria.transport.ProtocolMessage.Proposal;
+import br.com.eucaria.transport.ProtocolMessage.Register;
+import br.com.eucaria.transport.ProtocolMessage.Rejected;
+import br.com.eucaria.transport.ProtocolMessage.StripMessage;
+import br.com.eucaria.transport.ProtocolMessage.TurnGrant;
+import jade.core.AID;
+import jade.core.Agent;
+import jade.lang.acl.ACLMessage;
+import jade.lang.acl.UnreadableException;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * O protocolo sobre mensagens ACL do JADE, com as performativas de sempre:
+ * registro em {@code INFORM} com o {@link MicrobeInfo}, percepção em
+ * {@code QUERY_REF}/{@code INFORM} codificada pelo {@link PerceptionCodec},
+ * turnos em {@code CFP}, propostas em {@code PROPOSE} com o {@link Move}
+ * serializado e respostas {@code ACCEPT_PROPOSAL} em texto {@code "x:y:TIPO"}.
+ * A ontologia leva o tipo da mensagem e o parâmetro {@link #ENTITY} o nome do
+ * micróbio, para que uma colônia saiba a quem a mensagem se destina. As
+ * mensagens da simulação distribuída vão serializadas inteiras.
+ */
+public final class AclTransport implements MessageTransport {
+
+    private static final System.Logger LOGGER = System.getLogger(AclTransport.class.getName());
+
+    public static final String ENTITY = "entity";
+    public static final String SEED = "seed";
+    private static final String SEQUENCE = "sequence";
+    private static final String ROUND = "round";
+    private static final String GAME_OVER = "GAME_OVER";
+
+    private final Agent agent;
+
+    public AclTransport(Agent agent) {
+        this.agent = agent;
+    }
+
+    @Override
+    public void send(String recipient, ProtocolMessage message) {
+        try {
+            ACLMessage msg = encode(message);
+            msg.addReceiver(new AID(recipient, AID.ISLOCALNAME));
+            agent.send(msg);
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "Falha ao serializar " + message + " para " + recipient, e);
+        }
+    }
+
+    @Override
+    public Envelope receive() {
+        for (ACLMessage msg = agent.receive(); msg != null; msg = agent.receive()) {
+            try {
+                ProtocolMessage message = decode(msg);
+                if (message != null) {
+                    return new Envelope(msg.getSender().getLocalName(), message);
+                }
+                LOGGER.log(System.Logger.Level.WARNING, "Mensagem fora do protocolo de {0} descartada.", msg.getSender().getLocalName());
+            } catch (UnreadableException | IllegalArgumentException e) {
+                LOGGER.log(System.Logger.Level.ERROR, "Mensagem ilegível de " + msg.getSender().getLocalName(), e);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    static ACLMessage encode(ProtocolMessage message) throws IOException {
+        ACLMessage msg = switch (message) {
+            case Register register -> withObject(new ACLMessage(ACLMessage.INFORM), register.info());
+            case Host host -> {
+                ACLMessage request = withObject(new ACLMessage(ACLMessage.REQUEST), host.info());
+                request.addUserDefinedParameter(SEED, String.valueOf(host.seed()));
+                yield request;
+            }
+            case PerceptionRequest request -> {
+                ACLMessage query = forMicrobe(ACLMessage.QUERY_REF, request.microbe());
+                query.setContent(request.microbe());
+                query.setConversationId("perception-" + request.microbe() + "-" + request.sequence());
+                query.addUserDefinedParameter(SEQUENCE, String.valueOf(request.sequence()));
+                yield query;
+            }
+            case PerceptionReply reply -> {
+                ACLMessage inform = forMicrobe(ACLMessage.INFORM, reply.microbe());
+                inform.setByteSequenceContent(PerceptionCodec.encode(reply.perception()));
+                inform.setConversationId("perception-" + reply.microbe() + "-" + reply.sequence());
+                inform.addUserDefinedParameter(SEQUENCE, String.valueOf(reply.sequence()));
+                yield inform;
+            }
+            case TurnGrant grant -> {
+                ACLMessage cfp = forMicrobe(ACLMessage.CFP, grant.microbe());
+                cfp.setByteSequenceContent(PerceptionCodec.encode(grant.perception()));
+                cfp.setConversationId("turn-" + grant.round());
+                cfp.addUserDefinedParameter(ROUND, String.valueOf(grant.round()));
+                yield cfp;
+            }
+            case Proposal proposal -> {
+                ACLMessage propose = withObject(forMicrobe(ACLMessage.PROPOSE, proposal.microbe()), proposal.move());
+                propose.setProtocol("propose-action");
+                yield propose;
+            }
+            case Pass pass -> forMicrobe(ACLMessage.REFUSE, pass.microbe());
+            case Accepted accepted -> {
+                ACLMessage accept = forMicrobe(ACLMessage.ACCEPT_PROPOSAL, accepted.microbe());
+                accept.setContent(accepted.x() + ":" + accepted.y() + ":" + accepted.type());
+                yield accept;
+            }
+            case Rejected rejected -> {
+                ACLMessage reject = forMicrobe(ACLMessage.REJECT_PROPOSAL, rejected.microbe());
+                reject.setContent("MOVE_FAILED");
+                yield reject;
+            }
+            case Converted converted -> {
+                ACLMessage inform = forMicrobe(ACLMessage.INFORM, converted.microbe());
+                inform.setContent(converted.color().name());
+                yield inform;
+            }
+            case GameOver gameOver -> {
+                ACLMessage inform = new ACLMessage(ACLMessage.INFORM);
+                inform.setContent(GAME_OVER);
+                yield inform;
+            }
+            case StripMessage strip -> withObject(new ACLMessage(switch (strip) {
+                case ProtocolMessage.JoinStrips join -> ACLMessage.SUBSCRIBE;
+                case ProtocolMessage.AssignStrip assign -> ACLMessage.REQUEST;
+                case ProtocolMessage.PlayPhase play -> ACLMessage.REQUEST;
+                case ProtocolMessage.HaloExchange exchange -> ACLMessage.INFORM;
+                case ProtocolMessage.StripDone done -> ACLMessage.INFORM;
+            }), strip);
+        };
+        msg.setOntology(message.getClass().getSimpleName());
+        return msg;
+    }
+
+    static ProtocolMessage decode(ACLMessage msg) throws UnreadableException {
+        String type = msg.getOntology();
+        if (type == null) return null;
+        return switch (type) {
+            case "Register" -> new Register((MicrobeInfo) msg.getContentObject());
+            case "Host" -> new Host((MicrobeInfo) msg.getContentObject(), Long.parseLong(msg.getUserDefinedParameter(SEED)));
+            case "PerceptionRequest" -> new PerceptionRequest(microbeOf(msg), Long.parseLong(msg.getUserDefinedParameter(SEQUENCE)));
+            case "PerceptionReply" -> new PerceptionReply(microbeOf(msg), Long.parseLong(msg.getUserDefinedParameter(SEQUENCE)),
+                    PerceptionCodec.decode(msg.getByteSequenceContent()));
+            case "TurnGrant" -> new TurnGrant(microbeOf(msg), Integer.parseInt(msg.getUserDefinedParameter(ROUND)),
+                    PerceptionCodec.decode(msg.getByteSequenceContent()));
+            case "Proposal" -> new Proposal(microbeOf(msg), (Move) msg.getContentObject());
+            case "Pass" -> new Pass(microbeOf(msg));
+            case "Accepted" -> {
+                String[] content = msg.getContent().split(":");
+                yield new Accepted(microbeOf(msg), Integer.parseInt(content[0]), Integer.parseInt(content[1]), MoveTypeEnum.valueOf(content[2]));
+            }
+            case "Rejected" -> new Rejected(microbeOf(msg));
+            case "Converted" -> new Converted(microbeOf(msg), MicrobeColorEnum.valueOf(msg.getContent()));
+            case "GameOver" -> new GameOver();
+            case "JoinStrips", "AssignStrip", "PlayPhase", "HaloExchange", "StripDone" -> (StripMessage) msg.getContentObject();
+            default -> null;
+        };
+    }
+
+    private static ACLMessage forMicrobe(int performative, String microbe) {
+        ACLMessage msg = new ACLMessage(performative);
+        msg.addUserDefinedParameter(ENTITY, microbe);
+        return msg;
+    }
+
+    private static ACLMessage withObject(ACLMessage msg, Serializable content) throws IOException {
+        msg.setContentObject(content);
+        return msg;
+    }
+
+    private static String microbeOf(ACLMessage msg) {
+        String entity = msg.getUserDefinedParameter(ENTITY);
+        return entity != null ? entity : msg.getSender().getLocalName();
+    }
+}
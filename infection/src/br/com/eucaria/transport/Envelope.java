@@ -0,0 +1,5 @@
+package br.com.eucaria.transport;
+
+/** Uma mensagem recebida e o nome local do agente que a enviou. */
+public record Envelope(String sender, ProtocolMessage message) {
+}
@@ -0,0 +1,89 @@
+package br.com.eucaria.transport;
+
+import jade.core.behaviours.Behaviour;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transporte dentro da JVM: cada agente tem uma caixa com uma
+ * {@link ConcurrentLinkedQueue}, sem lock, e o remetente põe nela o próprio
+ * objeto da mensagem, sem serialização nem cópia. Quando a fila estava vazia
+ * e o dono dormia, o remetente reinicia o comportamento que escuta a caixa,
+ * como o JADE faz com o gerente de objetos O2A; o ciclo de vida do agente já
+ * trata o reinício que chega durante o {@code action()}.
+ *
+ * As caixas ficam em um diretório da JVM pelo nome local do agente, e só
+ * quem abre o canal cria a sua, que some no {@link #close()}. Mensagem para
+ * quem não tem caixa é descartada com um aviso, como o JADE faz com agentes
+ * que não existem. Quem cria um agente e fala com ele antes do {@code setup}
+ * abre a caixa dele com {@link #open(String)}, como o JADE já cria a fila ACL
+ * do agente antes do {@code start}.
+ */
+public final class InProcessTransport implements MessageTransport {
+
+    private static final System.Logger LOGGER = System.getLogger(InProcessTransport.class.getName());
+    private static final ConcurrentHashMap<String, Mailbox> MAILBOXES = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final Mailbox mailbox;
+
+    private InProcessTransport(String name, Mailbox mailbox) {
+        this.name = name;
+        this.mailbox = mailbox;
+    }
+
+    public static InProcessTransport connect(String name, Behaviour listener) {
+        Mailbox mailbox = MAILBOXES.computeIfAbsent(name, key -> new Mailbox());
+        mailbox.listener = listener;
+        return new InProcessTransport(name, mailbox);
+    }
+
+    /** Abre a caixa de um agente já criado, para guardar o que chegar antes de ele conectar. */
+    public static void open(String name) {
+        MAILBOXES.computeIfAbsent(name, key -> new Mailbox());
+    }
+
+    @Override
+    public void send(String recipient, ProtocolMessage message) {
+        Mailbox target = MAILBOXES.get(recipient);
+        if (target == null) {
+            LOGGER.log(System.Logger.Level.WARNING, "Mensagem de {0} para {1} descartada: {1} não tem caixa aberta.", name, recipient);
+            return;
+        }
+        target.queue.offer(new Envelope(name, message));
+        if (target.idle.compareAndSet(true, false)) {
+            Behaviour listener = target.listener;
+            if (listener != null) {
+                listener.restart();
+            }
+        }
+    }
+
+    @Override
+    public Envelope receive() {
+        Envelope envelope = mailbox.queue.poll();
+        if (envelope == null) {
+            // Avisa que vai dormir e confere de novo: o que chegou no meio não fica sem reinício.
+            mailbox.idle.set(true);
+            envelope = mailbox.queue.poll();
+            if (envelope != null) {
+                mailbox.idle.set(false);
+            }
+        }
+        return envelope;
+    }
+
+    @Override
+    public void close() {
+        MAILBOXES.remove(name, mailbox);
+    }
+
+    private static final class Mailbox {
+        final Queue<Envelope> queue = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean idle = new AtomicBoolean();
+        volatile Behaviour listener;
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.eucaria.transport;
+
+/**
+ * Canal de um agente para o protocolo da simulação. Os destinatários são
+ * nomes locais de agentes; {@link #receive()} não bloqueia e devolve
+ * {@code null} quando não há nada, e o comportamento que escuta o canal pode
+ * chamar {@code block()}: as duas implementações o acordam quando chega
+ * mensagem.
+ */
+public interface MessageTransport {
+
+    void send(String recipient, ProtocolMessage message);
+
+    Envelope receive();
+
+    void close();
+}
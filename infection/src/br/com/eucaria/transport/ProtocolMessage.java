@@ -0,0 +1,91 @@
+package br.com.eucaria.transport;
+
+import br.com.eucaria.engine.StripHandover;
+import br.com.eucaria.engine.StripReport;
+import br.com.eucaria.model.MicrobeColorEnum;
+import br.com.eucaria.model.MicrobeInfo;
+import br.com.eucaria.model.Move;
+import br.com.eucaria.model.MoveTypeEnum;
+import br.com.eucaria.model.Perception;
+import br.com.eucaria.strategy.StrategyProfile;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Mensagens do protocolo entre o manager, os micróbios e as colônias. São
+ * objetos imutáveis: no {@link InProcessTransport} o mesmo objeto vai do
+ * remetente ao destinatário, e só o {@link AclTransport} os converte em
+ * {@code ACLMessage}. Toda mensagem endereçada a um micróbio traz o nome
+ * dele, para que uma colônia saiba qual dos seus micróbios responde.
+ */
+public sealed interface ProtocolMessage {
+
+    /** Micróbio → manager: estado inicial do micróbio que acaba de nascer. */
+    record Register(MicrobeInfo info) implements ProtocolMessage {
+    }
+
+    /** Manager → colônia: passa a hospedar o micróbio, com a semente dele. */
+    record Host(MicrobeInfo info, long seed) implements ProtocolMessage {
+    }
+
+    /** Micróbio → manager, no tempo real: pede a vizinhança antes de decidir. */
+    record PerceptionRequest(String microbe, long sequence) implements ProtocolMessage {
+    }
+
+    record PerceptionReply(String microbe, long sequence, Perception perception) implements ProtocolMessage {
+    }
+
+    /** Manager → micróbio, no modo por turnos: a vez é dele, com a percepção junto. */
+    record TurnGrant(String microbe, int round, Perception perception) implements ProtocolMessage {
+    }
+
+    record Proposal(String microbe, Move move) implements ProtocolMessage {
+    }
+
+    /** Micróbio → manager: não tem jogada e passa o turno. */
+    record Pass(String microbe) implements ProtocolMessage {
+    }
+
+    /** Manager → micróbio: a jogada valeu; {@code x}, {@code y} é a casa onde ele está agora. */
+    record Accepted(String microbe, int x, int y, MoveTypeEnum type) implements ProtocolMessage {
+    }
+
+    record Rejected(String microbe) implements ProtocolMessage {
+    }
+
+    /** Manager → micróbio: foi infectado e passa a ter a cor {@code color}. */
+    record Converted(String microbe, MicrobeColorEnum color) implements ProtocolMessage {
+    }
+
+    record GameOver() implements ProtocolMessage {
+    }
+
+    /**
+     * Mensagens da simulação distribuída, entre o coordenador e os agentes de
+     * faixa, que podem estar em outras JVMs: vão inteiras como objeto.
+     */
+    sealed interface StripMessage extends ProtocolMessage, Serializable {
+    }
+
+    /** Faixa → coordenador: está pronta para receber uma parte do tabuleiro. */
+    record JoinStrips() implements StripMessage {
+    }
+
+    /** Coordenador → faixa: a faixa {@code index} da partida; {@code strips} traz o agente de cada faixa. */
+    record AssignStrip(int runNumber, int width, int height, long seed, int bandHeight, int index,
+                       List<String> strips, StrategyProfile strategies) implements StripMessage {
+    }
+
+    /** Coordenador → faixa: jogar a sua fase do ciclo {@code round}. */
+    record PlayPhase(int round) implements StripMessage {
+    }
+
+    /** Faixa → faixa vizinha, ao fim da fase. */
+    record HaloExchange(StripHandover handover) implements StripMessage {
+    }
+
+    /** Faixa → coordenador: pronta (ciclo 0) ou fase jogada. */
+    record StripDone(StripReport report) implements StripMessage {
+    }
+}
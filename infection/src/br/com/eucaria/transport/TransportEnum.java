@@ -0,0 +1,52 @@
+package br.com.eucaria.transport;
+
+import jade.core.Agent;
+import jade.core.behaviours.Behaviour;
+
+public enum TransportEnum {
+    /** Objetos imutáveis em filas sem lock, dentro da mesma JVM; o padrão. */
+    IN_PROCESS("local"),
+    /** Mensagens ACL do JADE, para agentes espalhados em vários contêineres. */
+    ACL("acl");
+
+    private final String optionName;
+
+    TransportEnum(String optionName) {
+        this.optionName = optionName;
+    }
+
+    public String getOptionName() {
+        return optionName;
+    }
+
+    /**
+     * Abre o canal do agente. {@code listener} é o comportamento que chama
+     * {@link MessageTransport#receive()} e é reiniciado quando chega mensagem.
+     */
+    public MessageTransport connect(Agent agent, Behaviour listener) {
+        return switch (this) {
+            case IN_PROCESS -> InProcessTransport.connect(agent.getLocalName(), listener);
+            case ACL -> new AclTransport(agent);
+        };
+    }
+
+    /**
+     * Chamado por quem cria o agente, antes do {@code start}: o que for
+     * enviado a ele antes de o {@code setup} abrir o canal fica guardado.
+     * No ACL a fila do agente já existe desde a criação.
+     */
+    public void open(String agentName) {
+        if (this == IN_PROCESS) {
+            InProcessTransport.open(agentName);
+        }
+    }
+
+    public static TransportEnum fromOptionName(String name) {
+        for (TransportEnum transport : values()) {
+            if (transport.optionName.equals(name)) {
+                return transport;
+            }
+        }
+        throw new IllegalArgumentException("Transporte desconhecido: " + name);
+    }
+}
@@ -0,0 +1,147 @@
+package br.com.eucaria.ui.console;
+
+import br.com.eucaria.metrics.SimulationMetrics;
+import br.com.eucaria.model.BitBoard;
+import br.com.eucaria.model.MicrobeColorEnum;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Desenha o tabuleiro no console numa thread própria, no mesmo formato do
+ * {@code toString} do tabuleiro. Quem joga entrega um snapshot do tabuleiro
+ * com {@link #publish} e deve pular os lotes em que
+ * {@link #isFramePending} ainda é verdadeiro; ler as casas fica todo nesta
+ * thread. Ela desenha no máximo {@code maxFps} quadros por segundo, sempre
+ * no mesmo buffer, e o {@link #close} garante que o último quadro publicado
+ * chegue à tela.
+ */
+public class ConsoleRenderer implements AutoCloseable {
+
+    private static final System.Logger LOGGER = System.getLogger(ConsoleRenderer.class.getName());
+    private static final MicrobeColorEnum[] COLORS = MicrobeColorEnum.values();
+
+    private final int width;
+    private final int height;
+    private final long frameIntervalNanos;
+    private final Writer out;
+    private final String[] cells = new String[COLORS.length];
+    private final StringBuilder buffer;
+    private char[] chars = new char[0];
+    private final Thread thread;
+
+    // Protegidos pelo monitor.
+    private BitBoard pending;
+    private boolean closed = false;
+    private long nextFrameAt = 0;
+
+    public ConsoleRenderer(PrintStream stream, int width, int height, int maxFps) {
+        if (maxFps <= 0) {
+            throw new IllegalArgumentException("Quadros por segundo deve ser positivo: " + maxFps);
+        }
+        this.width = width;
+        this.height = height;
+        this.frameIntervalNanos = TimeUnit.SECONDS.toNanos(1) / maxFps;
+        this.out = new BufferedWriter(new OutputStreamWriter(stream, stream.charset()));
+        for (MicrobeColorEnum color : COLORS) {
+            cells[color.ordinal()] = color.getRepresentation() + " ";
+        }
+        this.buffer = new StringBuilder((width + 1) * height * (cells[0].length() + 2));
+
+        this.thread = new Thread(this::renderLoop, "console-renderer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Troca o quadro pendente pelo snapshot, descartando o anterior se ele não chegou a ser desenhado. */
+    public synchronized void publish(BitBoard cells) {
+        if (closed) return;
+        if (pending != null) {
+            SimulationMetrics.CONSOLE_FRAMES_COALESCED.increment();
+        }
+        pending = cells;
+        notifyAll();
+    }
+
+    /** Indica se o último quadro publicado ainda não começou a ser desenhado. */
+    public synchronized boolean isFramePending() {
+        return pending != null;
+    }
+
+    /** Desenha o que ainda estiver pendente e encerra a thread. */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void renderLoop() {
+        for (BitBoard frame = nextFrame(); frame != null; frame = nextFrame()) {
+            long start = System.nanoTime();
+            render(frame);
+            SimulationMetrics.CONSOLE_FRAME.recordSince(start);
+        }
+    }
+
+    /**
+     * Espera haver quadro pendente e o intervalo mínimo desde o último
+     * desenho e o retira; no fechamento não espera o intervalo. Devolve
+     * {@code null} quando fechado e sem nada pendente.
+     */
+    private synchronized BitBoard nextFrame() {
+        try {
+            while (pending == null || (!closed && System.nanoTime() < nextFrameAt)) {
+                if (pending == null && closed) return null;
+                long waitMillis = pending != null ? Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextFrameAt - System.nanoTime())) : 0;
+                wait(waitMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        BitBoard frame = pending;
+        pending = null;
+        nextFrameAt = System.nanoTime() + frameIntervalNanos;
+        return frame;
+    }
+
+    private void render(BitBoard frame) {
+        buffer.setLength(0);
+        buffer.append(' ');
+        for (int x = 0; x < width; x++) {
+            buffer.append(' ').append((char) ('0' + x % 10));
+        }
+        buffer.append('\n');
+        for (int y = 0; y < height; y++) {
+            buffer.append((char) ('0' + y % 10)).append(' ');
+            for (int x = 0; x < width; x++) {
+                buffer.append(cells[frame.colorAt(x, y).ordinal()]);
+            }
+            buffer.append('\n');
+        }
+        buffer.append(System.lineSeparator());
+
+        int length = buffer.length();
+        if (chars.length < length) {
+            chars = new char[length];
+        }
+        buffer.getChars(0, length, chars, 0);
+        try {
+            out.write(chars, 0, length);
+            out.flush();
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Falha ao desenhar o tabuleiro no console.", e);
+        }
+    }
+}
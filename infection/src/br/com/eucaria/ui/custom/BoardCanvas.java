@@ -0,0 +1,189 @@
+package br.com.eucaria.ui.custom;
+
+import br.com.eucaria.metrics.SimulationMetrics;
+import br.com.eucaria.model.BitBoard;
+import br.com.eucaria.model.MicrobeColorEnum;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static br.com.eucaria.ui.custom.MainFrame.BLUE_MICROBE_COLOR;
+import static br.com.eucaria.ui.custom.MainFrame.EMPTY_SPACE_BACKGROUND;
+import static br.com.eucaria.ui.custom.MainFrame.GRID_BORDER_COLOR;
+import static br.com.eucaria.ui.custom.MainFrame.RED_MICROBE_COLOR;
+
+/**
+ * O tabuleiro inteiro num único componente, desenhado numa imagem fora da
+ * tela que é só escalada no {@code paintComponent}. Quem joga entrega um
+ * snapshot da ocupação com {@link #publish}; na EDT, as words do snapshot são
+ * comparadas com as da imagem e só as casas que mudaram são redesenhadas, com
+ * um {@code repaint} restrito à região delas. Quem publica consulta
+ * {@link #hasPendingFrame()} antes de tirar o snapshot e não tira outro
+ * enquanto a EDT não chegou ao anterior; se ainda assim um snapshot chega
+ * antes, ele substitui o anterior e só o mais novo é desenhado.
+ */
+public class BoardCanvas extends JComponent {
+
+    /** Lado máximo da imagem; acima de 1000 casas por lado cada casa vira um pixel. */
+    private static final int MAX_IMAGE_SIZE = 1000;
+    private static final int MAX_CELL_SIZE = 64;
+    /** Abaixo disso a casa é só um quadrado de cor, sem borda nem círculo. */
+    private static final int DETAILED_CELL_SIZE = 8;
+
+    private final int columns;
+    private final int rows;
+    private final int wordsPerRow;
+    private final int cellSize;
+    private final BufferedImage image;
+    private final Graphics2D graphics;
+
+    // Só lidos e escritos na EDT: a ocupação que está desenhada na imagem.
+    private final long[] shownRed;
+    private final long[] shownBlue;
+
+    private BitBoard pending;
+
+    public BoardCanvas(int columns, int rows) {
+        this.columns = columns;
+        this.rows = rows;
+        this.wordsPerRow = (columns + 63) >>> 6;
+        this.cellSize = Math.clamp(MAX_IMAGE_SIZE / Math.max(columns, rows), 1, MAX_CELL_SIZE);
+        this.image = new BufferedImage(columns * cellSize, rows * cellSize, BufferedImage.TYPE_INT_RGB);
+        this.graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        this.shownRed = new long[wordsPerRow * rows];
+        this.shownBlue = new long[wordsPerRow * rows];
+
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < columns; x++) {
+                drawCell(x, y, MicrobeColorEnum.EMPTY);
+            }
+        }
+        setPreferredSize(new Dimension(600, 600));
+        setOpaque(true);
+    }
+
+    /**
+     * Agenda o desenho do snapshot na EDT. Pode ser chamado de qualquer
+     * thread; o snapshot não pode mais ser alterado por quem o publicou.
+     */
+    public void publish(BitBoard cells) {
+        if (cells.width() != columns || cells.height() != rows) {
+            throw new IllegalArgumentException("Tabuleiro " + cells.width() + "x" + cells.height()
+                    + " numa tela de " + columns + "x" + rows);
+        }
+        boolean schedule;
+        synchronized (this) {
+            schedule = pending == null;
+            if (!schedule) {
+                SimulationMetrics.GUI_FRAMES_COALESCED.increment();
+            }
+            pending = cells;
+        }
+        if (schedule) {
+            SwingUtilities.invokeLater(this::drawPending);
+        }
+    }
+
+    /** Se a EDT ainda não pegou o último snapshot publicado. */
+    public synchronized boolean hasPendingFrame() {
+        return pending != null;
+    }
+
+    private void drawPending() {
+        BitBoard cells;
+        synchronized (this) {
+            cells = pending;
+            pending = null;
+        }
+        if (cells == null) return;
+        long start = System.nanoTime();
+
+        int minX = columns, minY = rows, maxX = -1, maxY = -1;
+        int redrawn = 0;
+        for (int y = 0; y < rows; y++) {
+            for (int w = 0; w < wordsPerRow; w++) {
+                int index = y * wordsPerRow + w;
+                long red = cells.word(MicrobeColorEnum.RED, index);
+                long blue = cells.word(MicrobeColorEnum.BLUE, index);
+                long changed = (red ^ shownRed[index]) | (blue ^ shownBlue[index]);
+                if (changed == 0) continue;
+                shownRed[index] = red;
+                shownBlue[index] = blue;
+
+                for (; changed != 0; changed &= changed - 1) {
+                    int bit = Long.numberOfTrailingZeros(changed);
+                    int x = (w << 6) + bit;
+                    MicrobeColorEnum color = (red >>> bit & 1) != 0 ? MicrobeColorEnum.RED
+                            : (blue >>> bit & 1) != 0 ? MicrobeColorEnum.BLUE : MicrobeColorEnum.EMPTY;
+                    drawCell(x, y, color);
+                    minX = Math.min(minX, x);
+                    maxX = Math.max(maxX, x);
+                    redrawn++;
+                }
+                minY = Math.min(minY, y);
+                maxY = y;
+            }
+        }
+
+        if (redrawn > 0) {
+            repaintCells(minX, minY, maxX, maxY);
+        }
+        SimulationMetrics.GUI_FRAME_CELLS.record(redrawn);
+        SimulationMetrics.GUI_FRAME.recordSince(start);
+    }
+
+    private void drawCell(int x, int y, MicrobeColorEnum color) {
+        int px = x * cellSize;
+        int py = y * cellSize;
+        if (cellSize < DETAILED_CELL_SIZE) {
+            graphics.setColor(colorOf(color));
+            graphics.fillRect(px, py, cellSize, cellSize);
+            return;
+        }
+
+        graphics.setColor(EMPTY_SPACE_BACKGROUND);
+        graphics.fillRect(px, py, cellSize, cellSize);
+        graphics.setColor(GRID_BORDER_COLOR);
+        graphics.drawRect(px, py, cellSize - 1, cellSize - 1);
+        if (color == MicrobeColorEnum.EMPTY) return;
+
+        int inset = Math.max(2, cellSize / 8);
+        int diameter = cellSize - 2 * inset;
+        graphics.setColor(colorOf(color));
+        graphics.fillOval(px + inset, py + inset, diameter, diameter);
+        graphics.setColor(Color.BLACK);
+        graphics.drawOval(px + inset, py + inset, diameter, diameter);
+    }
+
+    /** Converte o retângulo de casas para pixels do componente, arredondando para fora. */
+    private void repaintCells(int minX, int minY, int maxX, int maxY) {
+        int width = getWidth();
+        int height = getHeight();
+        if (width == 0 || height == 0) return;
+        int left = (int) ((long) minX * width / columns);
+        int top = (int) ((long) minY * height / rows);
+        int right = (int) (((long) (maxX + 1) * width + columns - 1) / columns);
+        int bottom = (int) (((long) (maxY + 1) * height + rows - 1) / rows);
+        repaint(left, top, right - left + 1, bottom - top + 1);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g.create();
+        // Casas grandes têm círculos, que ficam melhores interpolados; as pequenas continuam nítidas.
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, cellSize >= DETAILED_CELL_SIZE
+                ? RenderingHints.VALUE_INTERPOLATION_BILINEAR : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g2d.drawImage(image, 0, 0, getWidth(), getHeight(), null);
+        g2d.dispose();
+    }
+
+    private static Color colorOf(MicrobeColorEnum color) {
+        return switch (color) {
+            case RED -> RED_MICROBE_COLOR;
+            case BLUE -> BLUE_MICROBE_COLOR;
+            case EMPTY -> EMPTY_SPACE_BACKGROUND;
+        };
+    }
+}
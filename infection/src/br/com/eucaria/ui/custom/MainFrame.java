@@ -1,8 +1,9 @@
 package br.com.eucaria.ui.custom;
 
+import br.com.eucaria.model.BitBoard;
+
 import javax.swing.*;
 import java.awt.*;
-import java.util.Vector;
 
 public class MainFrame extends JFrame {
 
@@ -11,40 +12,28 @@ public class MainFrame extends JFrame {
     public static final Color EMPTY_SPACE_BACKGROUND = new Color(230, 230, 230);
     public static final Color GRID_BORDER_COLOR = new Color(200, 200, 200);
 
-    private final Vector<MicrobePanel> microbePanels;
+    private final BoardCanvas canvas;
 
     public MainFrame(int gridSize, int runNumber) {
+        this(gridSize, gridSize, runNumber);
+    }
+
+    public MainFrame(int columns, int rows, int runNumber) {
         super("Infection Simulation " + runNumber);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(600, 600);
-        setLayout(new GridLayout(gridSize, gridSize));
 
-        this.microbePanels = new Vector<>();
-        mountPanel(gridSize);
+        this.canvas = new BoardCanvas(columns, rows);
+        add(canvas);
     }
 
-    private void mountPanel(int gridSize) {
-        for (int i = 0; i < gridSize * gridSize; i++) {
-            MicrobePanel p = new MicrobePanel(EMPTY_SPACE_BACKGROUND, GRID_BORDER_COLOR);
-
-            microbePanels.add(p);
-            this.add(p);
-        }
+    /** Pode ser chamado fora da EDT: o desenho é agendado nela, e só o snapshot mais novo é desenhado. */
+    public void updateBoard(BitBoard cells) {
+        canvas.publish(cells);
     }
 
-    public void updatePanel(Vector<Color> microbeColors) {
-        if (microbePanels.size() == microbeColors.size()) {
-            for (int i = 0; i < microbePanels.size(); i++) {
-                MicrobePanel panel = microbePanels.elementAt(i);
-                Color currentMicrobeColor = microbeColors.get(i);
-
-                if (currentMicrobeColor.equals(EMPTY_SPACE_BACKGROUND)) {
-                    panel.setMicrobeColor(null);
-                } else {
-                    panel.setMicrobeColor(currentMicrobeColor);
-                }
-            }
-        }
-        repaint();
+    /** Se o último {@link #updateBoard} ainda espera a EDT; enquanto isso não vale a pena tirar outro snapshot. */
+    public boolean isFramePending() {
+        return canvas.hasPendingFrame();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+package br.com.eucaria.agent;
+
+import br.com.eucaria.model.Board;
+import br.com.eucaria.model.MicrobeColorEnum;
+import jade.core.AID;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TurnSchedulerTest {
+
+    private static final int PLAYERS = 6;
+    private static final int ROUNDS = 20;
+    private static final long SEED = 42;
+
+    private static AID aid(String name) {
+        return new AID(name + "@test", AID.ISGUID);
+    }
+
+    /**
+     * Em cada rodada todos os micróbios disputam a mesma casa vazia; o lote é
+     * ordenado como no manager e o primeiro fica com ela. O traço é a lista de
+     * vencedores.
+     */
+    private static List<AID> contestedWinners(TurnOrderEnum order) {
+        TurnScheduler<AID> scheduler = new TurnScheduler<>(order, new SplittableRandom(SEED));
+        List<AID> players = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            players.add(aid("m" + i));
+            scheduler.add(players.get(i));
+        }
+
+        List<AID> winners = new ArrayList<>();
+        for (int round = 0; round < ROUNDS; round++) {
+            Board board = new Board();
+            List<AID> roundOrder = scheduler.nextRound();
+            // As propostas chegam sempre na mesma ordem; só a da rodada pode mudar o resultado.
+            List<AID> batch = SimulationManagerAgent.orderBatch(players, Function.identity(), roundOrder, null);
+            for (AID proposer : batch) {
+                if (board.getMicrobeAt(3, 3) == null) {
+                    board.placeMicrobe(proposer, 3, 3, MicrobeColorEnum.RED);
+                }
+            }
+            winners.add(board.getMicrobeAt(3, 3));
+        }
+        return winners;
+    }
+
+    @Test
+    void roundRobinKeepsEntryOrder() {
+        TurnScheduler<String> scheduler = new TurnScheduler<>(TurnOrderEnum.ROUND_ROBIN, new SplittableRandom(SEED));
+        scheduler.add("a");
+        scheduler.add("b");
+        scheduler.add("c");
+
+        assertEquals(List.of("a", "b", "c"), scheduler.nextRound());
+        assertEquals(List.of("a", "b", "c"), scheduler.nextRound());
+    }
+
+    @Test
+    void restingParticipantSkipsRounds() {
+        TurnScheduler<String> scheduler = new TurnScheduler<>(TurnOrderEnum.ROUND_ROBIN, new SplittableRandom(SEED));
+        scheduler.add("a");
+        scheduler.add("b");
+        scheduler.rest("a", 1);
+
+        assertEquals(List.of("b"), scheduler.nextRound());
+        assertEquals(List.of("a", "b"), scheduler.nextRound());
+    }
+
+    @Test
+    void turnOrderDecidesContestedCells() {
+        List<AID> roundRobin = contestedWinners(TurnOrderEnum.ROUND_ROBIN);
+        List<AID> random = contestedWinners(TurnOrderEnum.RANDOM_PERMUTATION);
+
+        assertTrue(roundRobin.stream().allMatch(aid("m0")::equals));
+        assertNotEquals(roundRobin, random);
+        assertEquals(random, contestedWinners(TurnOrderEnum.RANDOM_PERMUTATION));
+    }
+
+    @Test
+    void realtimeBatchIgnoresArrivalOrder() {
+        List<AID> arrived = List.of(aid("c"), aid("a"), aid("b"));
+        List<AID> reversed = List.of(aid("b"), aid("a"), aid("c"));
+
+        assertEquals(SimulationManagerAgent.orderBatch(arrived, Function.identity(), null, new SplittableRandom(SEED)),
+                SimulationManagerAgent.orderBatch(reversed, Function.identity(), null, new SplittableRandom(SEED)));
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.eucaria.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PartitionedSimulationTest {
+
+    // Mais de 256 colunas: coordenadas que não cabem num byte entram no traço.
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 96;
+    private static final long SEED = 5;
+
+    private static SimulationResult play(int workers) {
+        SimulationResult result = new PartitionedSimulation(1, WIDTH, HEIGHT, SEED, workers)
+                .placeInitialMicrobes()
+                .run();
+        // Só o tempo pode mudar com o número de workers.
+        return new SimulationResult(result.runNumber(), result.seed(), result.winner(), result.redCount(),
+                result.blueCount(), result.rounds(), result.moves(), result.traceHash(), 0);
+    }
+
+    @Test
+    void resultDoesNotDependOnWorkerCount() {
+        SimulationResult sequential = play(1);
+
+        assertTrue(sequential.moves() > 0);
+        assertEquals(sequential, play(2));
+        assertEquals(sequential, play(4));
+    }
+}
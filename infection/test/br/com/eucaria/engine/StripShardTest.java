@@ -0,0 +1,59 @@
+package br.com.eucaria.engine;
+
+import br.com.eucaria.strategy.StrategyProfile;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StripShardTest {
+
+    /** As faixas de um {@link StripCoordinator} na mesma thread, com as passagens entregues direto às vizinhas. */
+    private static SimulationResult playStrips(int width, int height, long seed, int bandHeight) {
+        StripCoordinator coordinator = new StripCoordinator(1, width, height, seed, bandHeight);
+        StripShard[] shards = new StripShard[coordinator.stripCount()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new StripShard(1, width, height, seed, bandHeight, i, StrategyProfile.DEFAULT).placeInitialMicrobes();
+            coordinator.accept(shards[i].readyReport());
+        }
+
+        while (coordinator.nextPhase()) {
+            for (int i = 0; i < shards.length; i++) {
+                if (!coordinator.plays(i)) continue;
+                StripReport report = shards[i].play(coordinator.round());
+                for (StripHandover handover : shards[i].outgoing()) {
+                    shards[handover.to()].receive(handover);
+                }
+                coordinator.accept(report);
+            }
+        }
+        return withoutElapsed(coordinator.result());
+    }
+
+    private static SimulationResult playPartitioned(int width, int height, long seed, int bandHeight) {
+        return withoutElapsed(new PartitionedSimulation(1, width, height, seed, 1, bandHeight).placeInitialMicrobes().run());
+    }
+
+    private static SimulationResult withoutElapsed(SimulationResult result) {
+        return new SimulationResult(result.runNumber(), result.seed(), result.winner(), result.redCount(),
+                result.blueCount(), result.rounds(), result.moves(), result.traceHash(), 0);
+    }
+
+    @Test
+    void stripsPlayTheSameGameAsPartitionedSimulation() {
+        SimulationResult strips = playStrips(300, 64, 5, 16);
+
+        assertTrue(strips.moves() > 0);
+        assertEquals(playPartitioned(300, 64, 5, 16), strips);
+    }
+
+    @Test
+    void narrowStripsPlayTheSameGameAsPartitionedSimulation() {
+        assertEquals(playPartitioned(40, 45, 8, 6), playStrips(40, 45, 8, 6));
+    }
+
+    @Test
+    void singleStripPlaysTheWholeBoard() {
+        assertEquals(playPartitioned(7, 7, 9, 16), playStrips(7, 7, 9, 16));
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.eucaria.history;
+
+import br.com.eucaria.model.MicrobeColorEnum;
+import br.com.eucaria.model.MicrobeInfo;
+import br.com.eucaria.model.MicrobeStatusEnum;
+import jade.core.AID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinaryHistoryTest {
+
+    private static final MicrobeStatusEnum[] STATUSES = MicrobeStatusEnum.values();
+    private static final MicrobeColorEnum[] COLORS = MicrobeColorEnum.values();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void exportMatchesJsonAcrossBlocks() throws IOException {
+        // Cada lote vira um bloco; os mais novos trazem agentes que ainda não estão no dicionário.
+        List<List<MicrobeInfo>> batches = List.of(events(0, 1), events(1, 300), events(301, 2000), events(2301, 7));
+
+        Path binary = directory.resolve("history.ihst");
+        try (BinaryHistoryEncoder encoder = new BinaryHistoryEncoder(Files.newOutputStream(binary))) {
+            for (List<MicrobeInfo> batch : batches) {
+                encoder.writeBatch(batch);
+            }
+        }
+        Path expected = directory.resolve("expected.json");
+        try (JsonHistoryEncoder encoder = new JsonHistoryEncoder(Files.newOutputStream(expected))) {
+            for (List<MicrobeInfo> batch : batches) {
+                encoder.writeBatch(batch);
+            }
+        }
+
+        Path exported = HistoryJsonExporter.jsonPathFor(binary);
+        assertEquals(directory.resolve("history.json"), exported);
+        assertEquals(2308, HistoryJsonExporter.export(binary, exported));
+        assertEquals(Files.readString(expected), Files.readString(exported));
+    }
+
+    @Test
+    void corruptedBlockIsRejected() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryHistoryEncoder encoder = new BinaryHistoryEncoder(bytes);
+        encoder.writeBatch(events(0, 50));
+        encoder.writeBatch(events(50, 50));
+        int secondBlockEnd = bytes.size();
+        encoder.close();
+
+        byte[] file = bytes.toByteArray();
+        // Último byte do conteúdo do segundo bloco, logo antes do CRC.
+        file[secondBlockEnd - 5] ^= 0x01;
+
+        try (BinaryHistoryReader reader = new BinaryHistoryReader(new ByteArrayInputStream(file))) {
+            for (int i = 0; i < 50; i++) {
+                reader.next();
+            }
+            assertEquals(50, reader.getEventsRead());
+            IOException error = assertThrows(IOException.class, reader::next);
+            assertEquals("Checksum inválido no bloco após o evento 50", error.getMessage());
+        }
+    }
+
+    private static List<MicrobeInfo> events(int first, int count) {
+        List<MicrobeInfo> events = new ArrayList<>(count);
+        for (int i = first; i < first + count; i++) {
+            AID aid = new AID("microbe-" + (i % 400) + "@test", AID.ISGUID);
+            // Posições e instantes sobem e descem, para os deltas negativos do zigzag.
+            MicrobeStatusEnum status = i % 11 == 0 ? null : STATUSES[i % STATUSES.length];
+            MicrobeColorEnum color = i % 13 == 0 ? null : COLORS[i % COLORS.length];
+            Instant timestamp = Instant.ofEpochSecond(1_700_000_000L + (i % 3 == 0 ? -i : i), (i * 7_919L) % 1_000_000_000L);
+            events.add(new MicrobeInfo(aid, status, color, (i * 37) % 300, 299 - (i * 17) % 300, timestamp));
+        }
+        return events;
+    }
+}
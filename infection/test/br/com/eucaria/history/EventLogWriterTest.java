@@ -0,0 +1,56 @@
+package br.com.eucaria.history;
+
+import br.com.eucaria.model.MicrobeColorEnum;
+import br.com.eucaria.model.MicrobeInfo;
+import br.com.eucaria.model.MicrobeStatusEnum;
+import jade.core.AID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventLogWriterTest {
+
+    private static final int EVENTS = 20_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void fullQueueBlocksInsteadOfDropping() throws IOException {
+        Path file = directory.resolve("history.ihst");
+        EventLogWriter writer = new EventLogWriter(file, HistoryFormatEnum.BINARY, 4);
+        for (int i = 0; i < EVENTS; i++) {
+            writer.append(event(i));
+        }
+        writer.close();
+
+        assertEquals(0, writer.getDroppedCount());
+        try (BinaryHistoryReader reader = new BinaryHistoryReader(file)) {
+            int read = 0;
+            while (reader.next()) {
+                assertEquals(read % 7, reader.toMicrobeInfo().x());
+                read++;
+            }
+            assertEquals(EVENTS, read);
+        }
+    }
+
+    @Test
+    void eventsAfterCloseAreCounted() throws IOException {
+        EventLogWriter writer = new EventLogWriter(directory.resolve("history.json"));
+        writer.close();
+        writer.append(event(0));
+
+        assertEquals(1, writer.getDroppedCount());
+    }
+
+    private static MicrobeInfo event(int i) {
+        AID aid = new AID("microbe-" + (i % 50) + "@test", AID.ISGUID);
+        return new MicrobeInfo(aid, MicrobeStatusEnum.JUMPED, MicrobeColorEnum.RED, i % 7, i % 5, Instant.ofEpochMilli(i));
+    }
+}
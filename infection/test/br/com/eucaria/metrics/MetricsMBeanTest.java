@@ -0,0 +1,33 @@
+package br.com.eucaria.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MetricsMBeanTest {
+
+    @Test
+    void attributesAreReadAndOperationsAreReflectionErrors() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("test.events").add(3);
+        ObjectName name = new ObjectName("br.com.eucaria:type=MetricsTest");
+        registry.registerMBean(name.toString());
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertEquals(3L, server.getAttribute(name, "test.events.count"));
+
+            ReflectionException error = assertThrows(ReflectionException.class,
+                    () -> server.invoke(name, "reset", new Object[0], new String[0]));
+            assertInstanceOf(NoSuchMethodException.class, error.getTargetException());
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
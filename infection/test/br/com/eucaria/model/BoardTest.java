@@ -0,0 +1,135 @@
+package br.com.eucaria.model;
+
+import jade.core.AID;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardTest {
+
+    private static AID aid(String name) {
+        return new AID(name + "@test", AID.ISGUID);
+    }
+
+    @Test
+    void placeMicrobeIndexesAgentAndColor() {
+        Board board = new Board();
+        AID red = aid("red");
+        board.placeMicrobe(red, 2, 3, MicrobeColorEnum.RED);
+
+        assertEquals(red, board.getMicrobeAt(2, 3));
+        assertEquals(MicrobeColorEnum.RED, board.getColorAt(2, 3));
+        MicrobeInfo info = board.getMicrobeInfo(red);
+        assertEquals(2, info.x());
+        assertEquals(3, info.y());
+        assertEquals(1, board.countMicrobes(MicrobeColorEnum.RED));
+        board.checkConsistency();
+    }
+
+    @Test
+    void placingTheSameAgentAgainMovesIt() {
+        Board board = new Board();
+        AID blue = aid("blue");
+        board.placeMicrobe(blue, 0, 0, MicrobeColorEnum.BLUE);
+        board.placeMicrobe(blue, 2, 2, MicrobeColorEnum.BLUE);
+
+        assertNull(board.getMicrobeAt(0, 0));
+        assertEquals(MicrobeColorEnum.EMPTY, board.getColorAt(0, 0));
+        assertEquals(blue, board.getMicrobeAt(2, 2));
+        assertEquals(1, board.countMicrobes(MicrobeColorEnum.BLUE));
+        board.checkConsistency();
+    }
+
+    @Test
+    void removeMicrobeClearsCellAndIndex() {
+        Board board = new Board();
+        AID red = aid("red");
+        board.placeMicrobe(red, 4, 4, MicrobeColorEnum.RED);
+        board.removeMicrobe(4, 4);
+
+        assertNull(board.getMicrobeAt(4, 4));
+        assertNull(board.getMicrobeInfo(red));
+        assertEquals(0, board.countMicrobes(MicrobeColorEnum.RED));
+        assertEquals(49, board.countEmptyCells());
+        board.checkConsistency();
+    }
+
+    @Test
+    void infectionConvertsOnlyOpponentNeighbours() {
+        Board board = new Board();
+        board.placeMicrobe(aid("b1"), 2, 2, MicrobeColorEnum.BLUE);
+        board.placeMicrobe(aid("b2"), 4, 4, MicrobeColorEnum.BLUE);
+        board.placeMicrobe(aid("b3"), 5, 5, MicrobeColorEnum.BLUE);
+        board.placeMicrobe(aid("r1"), 3, 2, MicrobeColorEnum.RED);
+        board.placeMicrobe(aid("r2"), 3, 3, MicrobeColorEnum.RED);
+
+        List<AID> infected = board.applyInfection(3, 3, MicrobeColorEnum.RED);
+
+        assertEquals(List.of(aid("b1"), aid("b2")), infected);
+        assertEquals(MicrobeColorEnum.RED, board.getColorAt(2, 2));
+        assertEquals(MicrobeColorEnum.RED, board.getColorAt(4, 4));
+        assertEquals(MicrobeColorEnum.BLUE, board.getColorAt(5, 5));
+        assertEquals(4, board.countMicrobes(MicrobeColorEnum.RED));
+        assertEquals(1, board.countMicrobes(MicrobeColorEnum.BLUE));
+        board.checkConsistency();
+    }
+
+    @Test
+    void copyIsIndependentOfOriginal() {
+        Board board = new Board(40, 23);
+        AID red = aid("red");
+        board.placeMicrobe(red, 20, 20, MicrobeColorEnum.RED);
+        Board copy = new Board(board);
+        board.placeMicrobe(red, 1, 1, MicrobeColorEnum.RED);
+
+        assertEquals(red, copy.getMicrobeAt(20, 20));
+        assertNull(copy.getMicrobeAt(1, 1));
+        assertEquals(20, copy.getMicrobeInfo(red).x());
+        copy.checkConsistency();
+        board.checkConsistency();
+    }
+
+    @Test
+    void randomMoveSequenceStaysConsistent() {
+        Board board = new Board(40, 23);
+        SplittableRandom random = new SplittableRandom(7);
+        List<AID> agents = new ArrayList<>();
+
+        for (int step = 0; step < 5000; step++) {
+            int x = random.nextInt(board.getWidth());
+            int y = random.nextInt(board.getHeight());
+            MicrobeColorEnum color = random.nextBoolean() ? MicrobeColorEnum.RED : MicrobeColorEnum.BLUE;
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    if (board.getMicrobeAt(x, y) == null) {
+                        AID created = aid("m" + step);
+                        agents.add(created);
+                        board.placeMicrobe(created, x, y, color);
+                        board.applyInfection(x, y, color);
+                    }
+                }
+                case 1 -> board.removeMicrobe(x, y);
+                case 2 -> {
+                    if (!agents.isEmpty() && board.getMicrobeAt(x, y) == null) {
+                        AID jumper = agents.get(random.nextInt(agents.size()));
+                        MicrobeInfo from = board.getMicrobeInfo(jumper);
+                        if (from != null) {
+                            board.removeMicrobe(from.x(), from.y());
+                            board.placeMicrobe(jumper, x, y, from.color());
+                            board.applyInfection(x, y, from.color());
+                        }
+                    }
+                }
+                default -> board.applyInfection(x, y, color);
+            }
+            board.checkConsistency();
+        }
+        assertTrue(board.countMicrobes(MicrobeColorEnum.RED) + board.countMicrobes(MicrobeColorEnum.BLUE) > 0);
+    }
+}
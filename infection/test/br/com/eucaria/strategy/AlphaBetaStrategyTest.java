@@ -0,0 +1,57 @@
+package br.com.eucaria.strategy;
+
+import br.com.eucaria.engine.HeadlessSimulation;
+import br.com.eucaria.engine.ReplayPrinter;
+import br.com.eucaria.engine.SimulationResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlphaBetaStrategyTest {
+
+    private static final StrategyProfile ALPHA_BETA = StrategyProfile.parse("alphabeta");
+
+    private static SimulationResult play(int size, long seed, boolean replay) {
+        HeadlessSimulation simulation = new HeadlessSimulation(1, size, size, seed);
+        if (replay) {
+            simulation.withListener(new ReplayPrinter(new PrintStream(OutputStream.nullOutputStream()), true));
+        }
+        return simulation.withStrategies(ALPHA_BETA).placeInitialMicrobes().run();
+    }
+
+    @Test
+    void defaultSearchIsDepthBoundedAndCacheable() {
+        assertTrue(AlphaBetaStrategy.DEFAULT.isDeterministic());
+        assertNotNull(MoveStrategyEnum.ALPHA_BETA.getDecisionCache());
+        assertFalse(new AlphaBetaStrategy(3, 20, null).isDeterministic());
+    }
+
+    @Test
+    void replayOfSeedReproducesTrace() {
+        SimulationResult result = play(7, 9, true);
+
+        assertEquals(0x65fbae92bb835b0dL, result.traceHash());
+        assertEquals(63, result.moves());
+        assertEquals(7, result.rounds());
+    }
+
+    @Test
+    void coldAndWarmSearchesPlayTheSameGame() {
+        AlphaBetaStrategy.DEFAULT.clearTable();
+        SimulationResult cold = play(15, 11, false);
+        SimulationResult replayed = play(15, 11, true);
+
+        assertEquals(cold.traceHash(), replayed.traceHash());
+        assertEquals(cold.winner(), replayed.winner());
+        assertEquals(cold.redCount(), replayed.redCount());
+        assertEquals(cold.blueCount(), replayed.blueCount());
+        assertEquals(cold.rounds(), replayed.rounds());
+        assertEquals(cold.moves(), replayed.moves());
+    }
+}
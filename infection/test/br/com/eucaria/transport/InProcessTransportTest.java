@@ -0,0 +1,51 @@
+package br.com.eucaria.transport;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class InProcessTransportTest {
+
+    @Test
+    void messageReachesConnectedRecipient() {
+        InProcessTransport sender = InProcessTransport.connect("sender-1", null);
+        InProcessTransport recipient = InProcessTransport.connect("recipient-1", null);
+
+        sender.send("recipient-1", new ProtocolMessage.GameOver());
+        Envelope envelope = recipient.receive();
+
+        assertEquals("sender-1", envelope.sender());
+        assertInstanceOf(ProtocolMessage.GameOver.class, envelope.message());
+        assertNull(recipient.receive());
+        sender.close();
+        recipient.close();
+    }
+
+    @Test
+    void messageAfterCloseIsDroppedWithoutRecreatingMailbox() {
+        InProcessTransport sender = InProcessTransport.connect("sender-2", null);
+        InProcessTransport.connect("recipient-2", null).close();
+
+        sender.send("recipient-2", new ProtocolMessage.GameOver());
+
+        InProcessTransport reconnected = InProcessTransport.connect("recipient-2", null);
+        assertNull(reconnected.receive());
+        sender.close();
+        reconnected.close();
+    }
+
+    @Test
+    void openedMailboxKeepsMessagesUntilConnect() {
+        InProcessTransport sender = InProcessTransport.connect("sender-3", null);
+        InProcessTransport.open("recipient-3");
+
+        sender.send("recipient-3", new ProtocolMessage.GameOver());
+
+        InProcessTransport recipient = InProcessTransport.connect("recipient-3", null);
+        assertInstanceOf(ProtocolMessage.GameOver.class, recipient.receive().message());
+        sender.close();
+        recipient.close();
+    }
+}